@@ -21,6 +21,7 @@ import com.stockleague.backend.user.domain.UserRole;
 import com.stockleague.backend.user.dto.response.NicknameCheckResponseDto;
 import com.stockleague.backend.user.repository.UserAssetRepository;
 import com.stockleague.backend.user.repository.UserRepository;
+import com.stockleague.backend.user.service.PortfolioChangeTracker;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -45,6 +46,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final UserAssetRepository userAssetRepository;
     private final TokenRedisService redisService;
+    private final PortfolioChangeTracker portfolioChangeTracker;
     private static final Pattern nicknamePattern = Pattern.compile("^[a-zA-Z0-9가-힣]{2,10}$");
     private final TokenCookieHandler tokenCookieHandler;
 
@@ -135,6 +137,7 @@ public class AuthService {
             UserAsset savedUserAsset = userAssetRepository.save(userAsset);
 
             user.setUserAsset(savedUserAsset);
+            portfolioChangeTracker.markUserDirty(user.getId());
 
             String accessToken = issueTokens(user, response);
 
@@ -1,9 +1,13 @@
 package com.stockleague.backend.global.config;
 
+import com.stockleague.backend.infra.properties.PriceCacheProperties;
+import com.stockleague.backend.infra.redis.StockPriceUpdateSubscriber;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -23,4 +27,19 @@ public class RedisConfig {
 
         return template;
     }
+
+    /**
+     * 인스턴스 간 시세 near cache 동기화를 위한 pub/sub 리스너 컨테이너
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            StockPriceUpdateSubscriber stockPriceUpdateSubscriber,
+            PriceCacheProperties priceCacheProperties
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(stockPriceUpdateSubscriber, new ChannelTopic(priceCacheProperties.getChannel()));
+        return container;
+    }
 }
@@ -47,6 +47,8 @@ public class SecurityConfig {
                 .exceptionHandling(exception -> exception
                         .accessDeniedHandler(customAccessDeniedHandler))
                 .authorizeHttpRequests(auth -> auth
+                        // KIS 호출 한도를 소모하고 진행 위치를 지울 수 있는 백필은 openapi 공개 경로보다 먼저 관리자 전용으로 제한
+                        .requestMatchers("/api/v1/openapi/backfill").hasRole("ADMIN")
                         .requestMatchers(
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
@@ -62,8 +64,10 @@ public class SecurityConfig {
                                 "/api/v1/stocks/popular",
                                 "/api/v1/stocks/search",
                                 "/api/v1/stocks/*/candles",
+                                "/api/v1/stocks/*/indicators",
                                 "/api/v1/stocks/*/price",
                                 "/api/v1/stocks/*/orderbook",
+                                "/api/v1/stocks/*/orderbook/history",
                                 "/api/v1/openapi/**",
                                 "/ws/**",
                                 "/ws-sockjs/**",
@@ -0,0 +1,24 @@
+package com.stockleague.backend.global.util;
+
+import java.util.Set;
+
+public class CandleIntervalUtil {
+
+    /** 조회 · 캐시 대상 봉 단위 (연/월/주/일봉, 분봉) */
+    private static final Set<String> SUPPORTED = Set.of("y", "m", "w", "d", "1", "3", "5", "10", "15", "30", "60");
+
+    private CandleIntervalUtil() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * 지원하는 봉 단위인지 여부를 반환합니다.
+     * <p>캐시 키와 {@code Integer.parseInt}에 쓰이기 전에 확인해, 임의 문자열로 캐시가 늘어나거나 파싱 오류가 나지 않도록 합니다.</p>
+     *
+     * @param interval 봉 단위 ("y", "m", "w", "d", "1", "3", "5", "10", "15", "30", "60")
+     * @return true: 지원, false: 미지원 (null 포함)
+     */
+    public static boolean isSupported(String interval) {
+        return interval != null && SUPPORTED.contains(interval);
+    }
+}
@@ -0,0 +1,44 @@
+package com.stockleague.backend.global.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * 임의의 offset 을 그대로 사용하는 {@link PageRequest}
+ * <p>{@code PageRequest.of(offset / limit, limit)}는 offset 이 limit 의 배수가 아니면 다른 구간을 읽으므로,
+ * offset/limit 기반 API 는 이 클래스를 사용합니다.</p>
+ */
+public class OffsetPageRequest extends PageRequest {
+
+    private final long offset;
+
+    public OffsetPageRequest(long offset, int limit) {
+        super(0, limit, Sort.unsorted());
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset은 0 이상이어야 합니다: " + offset);
+        }
+        this.offset = offset;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / getPageSize());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof OffsetPageRequest other
+                && offset == other.offset
+                && getPageSize() == other.getPageSize();
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(offset) + getPageSize();
+    }
+}
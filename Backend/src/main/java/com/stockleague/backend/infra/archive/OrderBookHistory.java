@@ -0,0 +1,530 @@
+package com.stockleague.backend.infra.archive;
+
+import com.stockleague.backend.infra.properties.OrderBookHistoryProperties;
+import com.stockleague.backend.stock.dto.response.stock.StockOrderBookDto;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 호가 이력 저장소 (키프레임 + 단계별 델타)
+ * <p>
+ * 종목 · 일자별 로그 파일에 주기적으로 전체 호가(키프레임)를 기록하고, 그 사이에는 바뀐 단계의
+ * 가격/잔량 차이만 가변 길이 정수로 기록합니다. 키프레임 위치는 별도 인덱스 파일에 남겨
+ * 임의 시각의 호가를 "직전 키프레임 + 이후 델타 적용"으로 복원합니다.
+ * </p>
+ * <pre>
+ * KEY   : [1][time varlong][40 × value varlong]
+ * DELTA : [2][Δtime zigzag][changed mask varlong][changed 필드 수 × Δvalue zigzag]
+ * 필드 순서: 매도호가 10, 매도잔량 10, 매수호가 10, 매수잔량 10
+ * 인덱스 : [time long][offset long] × 키프레임 수
+ * </pre>
+ */
+@Slf4j
+@Component
+public class OrderBookHistory {
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final ZoneOffset KST = ZoneOffset.ofHours(9);
+    /** 일자 디렉터리 기준 시간대 - 서버 기본 시간대와 무관하게 한국 날짜로 넘김 · 정리 */
+    private static final ZoneId KST_ZONE = ZoneId.of("Asia/Seoul");
+    private static final int LEVELS = 10;
+    private static final int FIELDS = LEVELS * 4;
+    private static final byte KEYFRAME = 1;
+    private static final byte DELTA = 2;
+
+    private final OrderBookHistoryProperties properties;
+    private final Path root;
+
+    /** 기록 중인 종목별 로그 (key: yyyyMMdd/ticker) */
+    private final ConcurrentMap<String, TickerLog> logs = new ConcurrentHashMap<>();
+
+    public OrderBookHistory(OrderBookHistoryProperties properties) {
+        this.properties = properties;
+        this.root = Paths.get(properties.getDir()).toAbsolutePath();
+    }
+
+    /**
+     * 호가 프레임 1건 기록 - 이전 프레임과 같으면 기록하지 않습니다.
+     * <p>디스크 오류는 로그만 남기고 수집 경로로 전파하지 않습니다.</p>
+     */
+    public void append(StockOrderBookDto dto) {
+        if (!properties.isEnabled() || dto == null || dto.timestamp() == null) {
+            return;
+        }
+        LocalDate day = dto.timestamp().toLocalDate();
+        try {
+            TickerLog tickerLog = logs.computeIfAbsent(key(day, dto.ticker()), k -> open(day, dto.ticker()));
+            tickerLog.append(toMillis(dto.timestamp()), flatten(dto));
+        } catch (Exception e) {
+            log.warn("[OrderBookHistory] 기록 실패 - {}: {}", dto.ticker(), e.getMessage());
+        }
+    }
+
+    /**
+     * {@code at} 시점의 호가를 복원합니다.
+     *
+     * @param ticker 종목 코드
+     * @param at     조회 시각
+     * @return 해당 시각 직전에 수신한 호가, 당일 이력이 없으면 null
+     */
+    public StockOrderBookDto reconstruct(String ticker, LocalDateTime at) {
+        LocalDate day = at.toLocalDate();
+        Path data = dataPath(day, ticker);
+        Path index = indexPath(day, ticker);
+        if (!Files.exists(data) || !Files.exists(index)) {
+            return null;
+        }
+
+        TickerLog active = logs.get(key(day, ticker));
+        if (active != null) {
+            active.flush();
+        }
+
+        long atMillis = toMillis(at);
+        try {
+            long offset = findKeyframeOffset(index, atMillis);
+            if (offset < 0) {
+                return null;
+            }
+            return replay(ticker, data, offset, atMillis);
+        } catch (IOException e) {
+            log.warn("[OrderBookHistory] 복원 실패 - {} @ {}: {}", ticker, at, e.getMessage());
+            return null;
+        }
+    }
+
+    /** 기록 중인 로그를 주기적으로 디스크에 반영 */
+    @Scheduled(fixedDelay = 5_000)
+    public void flushAll() {
+        logs.values().forEach(TickerLog::flush);
+    }
+
+    /**
+     * 매일 18시: 지난 일자 로그를 닫고 보관 기간이 지난 일자 디렉터리를 삭제
+     */
+    @Scheduled(cron = "0 0 18 * * *", zone = "Asia/Seoul")
+    public void rollover() {
+        String today = LocalDate.now(KST_ZONE).format(DAY_FORMAT);
+        logs.forEach((key, tickerLog) -> {
+            if (!key.startsWith(today)) {
+                tickerLog.close();
+                logs.remove(key, tickerLog);
+            }
+        });
+        purgeExpired();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logs.values().forEach(TickerLog::close);
+        logs.clear();
+    }
+
+    private TickerLog open(LocalDate day, String ticker) {
+        try {
+            Path data = dataPath(day, ticker);
+            Files.createDirectories(data.getParent());
+            return new TickerLog(data, indexPath(day, ticker), properties.getKeyframeInterval());
+        } catch (IOException e) {
+            throw new IllegalStateException("호가 이력 파일 열기 실패: " + ticker, e);
+        }
+    }
+
+    /** 인덱스에서 atMillis 이전 마지막 키프레임의 파일 위치를 찾음 (없으면 -1) */
+    private long findKeyframeOffset(Path index, long atMillis) throws IOException {
+        long offset = -1;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(index)))) {
+            while (true) {
+                long time;
+                long position;
+                try {
+                    time = in.readLong();
+                    position = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (time > atMillis) {
+                    break;
+                }
+                offset = position;
+            }
+        }
+        return offset;
+    }
+
+    /** 키프레임부터 atMillis 까지 델타를 적용해 호가를 복원 */
+    private StockOrderBookDto replay(String ticker, Path data, long offset, long atMillis) throws IOException {
+        long[] values = new long[FIELDS];
+        long time = 0;
+        boolean found = false;
+
+        try (FileChannel channel = FileChannel.open(data, StandardOpenOption.READ)) {
+            channel.position(offset);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+            while (true) {
+                int type = in.read();
+                if (type < 0) {
+                    break;
+                }
+                try {
+                    if (type == KEYFRAME) {
+                        long keyTime = readVarLong(in);
+                        if (found && keyTime > atMillis) {
+                            break;
+                        }
+                        long[] next = new long[FIELDS];
+                        for (int i = 0; i < FIELDS; i++) {
+                            next[i] = readVarLong(in);
+                        }
+                        time = keyTime;
+                        values = next;
+                    } else if (type == DELTA) {
+                        long nextTime = time + zigzagDecode(readVarLong(in));
+                        long mask = readVarLong(in);
+                        long[] next = values.clone();
+                        for (int i = 0; i < FIELDS; i++) {
+                            if ((mask & (1L << i)) != 0) {
+                                next[i] += zigzagDecode(readVarLong(in));
+                            }
+                        }
+                        if (nextTime > atMillis) {
+                            break;
+                        }
+                        time = nextTime;
+                        values = next;
+                    } else {
+                        log.warn("[OrderBookHistory] 알 수 없는 레코드 형식 - {}: {}", data, type);
+                        break;
+                    }
+                    found = true;
+                } catch (EOFException e) {
+                    // 기록 도중 종료된 마지막 레코드는 무시
+                    break;
+                }
+            }
+        }
+
+        if (!found) {
+            return null;
+        }
+        return new StockOrderBookDto(
+                ticker,
+                Arrays.copyOfRange(values, 0, LEVELS),
+                Arrays.copyOfRange(values, LEVELS, LEVELS * 2),
+                Arrays.copyOfRange(values, LEVELS * 2, LEVELS * 3),
+                Arrays.copyOfRange(values, LEVELS * 3, FIELDS),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(time), KST),
+                false
+        );
+    }
+
+    private void purgeExpired() {
+        if (properties.getRetentionDays() <= 0 || !Files.isDirectory(root)) {
+            return;
+        }
+        String threshold = LocalDate.now(KST_ZONE).minusDays(properties.getRetentionDays()).format(DAY_FORMAT);
+        try (Stream<Path> days = Files.list(root)) {
+            for (Path dayDir : days.filter(Files::isDirectory).toList()) {
+                if (dayDir.getFileName().toString().compareTo(threshold) >= 0) {
+                    continue;
+                }
+                try (Stream<Path> files = Files.list(dayDir)) {
+                    for (Path file : files.toList()) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+                Files.deleteIfExists(dayDir);
+                log.info("[OrderBookHistory] 보관 기간 만료 삭제: {}", dayDir.getFileName());
+            }
+        } catch (IOException e) {
+            log.warn("[OrderBookHistory] 보관 기간 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private static long[] flatten(StockOrderBookDto dto) {
+        long[] values = new long[FIELDS];
+        copyLevels(dto.askPrices(), values, 0);
+        copyLevels(dto.askVolumes(), values, LEVELS);
+        copyLevels(dto.bidPrices(), values, LEVELS * 2);
+        copyLevels(dto.bidVolumes(), values, LEVELS * 3);
+        return values;
+    }
+
+    private static void copyLevels(long[] source, long[] target, int offset) {
+        if (source != null) {
+            System.arraycopy(source, 0, target, offset, Math.min(LEVELS, source.length));
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(KST).toEpochMilli();
+    }
+
+    private String key(LocalDate day, String ticker) {
+        return day.format(DAY_FORMAT) + "/" + ticker;
+    }
+
+    private Path dataPath(LocalDate day, String ticker) {
+        return root.resolve(day.format(DAY_FORMAT)).resolve(ticker + ".obk");
+    }
+
+    private Path indexPath(LocalDate day, String ticker) {
+        return root.resolve(day.format(DAY_FORMAT)).resolve(ticker + ".obi");
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("잘못된 가변 길이 정수");
+    }
+
+    private static long zigzagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long zigzagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 종목 1개 · 하루치 호가 로그 writer
+     * <p>재시작 후 같은 날 다시 열면 첫 프레임을 키프레임으로 기록하므로 이전 기록과 독립적으로 복원됩니다.</p>
+     * <p>
+     * 비정상 종료로 파일 끝이 잘렸을 수 있으므로, 열 때 데이터는 마지막 온전한 레코드까지, 인덱스는 16바이트 단위이면서
+     * 남은 데이터 안을 가리키는 항목까지만 남기고 잘라냅니다.
+     * </p>
+     */
+    private static class TickerLog {
+
+        private final OutputStream data;
+        private final DataOutputStream index;
+        private final int keyframeInterval;
+        private final ByteArrayOutputStream record = new ByteArrayOutputStream(64);
+
+        private long position;
+        private long[] previous;
+        private long previousTime;
+        private int framesSinceKeyframe;
+
+        TickerLog(Path dataPath, Path indexPath, int keyframeInterval) throws IOException {
+            this.position = recover(dataPath, indexPath);
+            this.data = new BufferedOutputStream(new FileOutputStream(dataPath.toFile(), true), 64 * 1024);
+            this.index = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexPath.toFile(), true)));
+            this.keyframeInterval = Math.max(1, keyframeInterval);
+        }
+
+        /**
+         * 잘린 꼬리 정리 - 마지막 키프레임부터 레코드를 읽어 온전한 끝 위치까지 데이터를 자르고,
+         * 그 안을 가리키는 인덱스 항목만 남깁니다.
+         *
+         * @return 정리 후 데이터 파일 크기 (다음 레코드 위치)
+         */
+        private static long recover(Path dataPath, Path indexPath) throws IOException {
+            if (!Files.exists(dataPath)) {
+                Files.deleteIfExists(indexPath);
+                return 0L;
+            }
+            long dataSize = Files.size(dataPath);
+            long[] offsets = readIndexOffsets(indexPath);
+
+            long scanFrom = 0L;
+            for (long offset : offsets) {
+                if (offset >= dataSize) {
+                    break;
+                }
+                scanFrom = offset;
+            }
+            long validEnd = completeLength(dataPath, scanFrom);
+
+            int validEntries = 0;
+            while (validEntries < offsets.length && offsets[validEntries] < validEnd) {
+                validEntries++;
+            }
+
+            if (validEnd < dataSize) {
+                truncate(dataPath, validEnd);
+                log.warn("[OrderBookHistory] 잘린 레코드 정리 - {}: {} → {} bytes", dataPath, dataSize, validEnd);
+            }
+            if (Files.exists(indexPath) && Files.size(indexPath) != validEntries * 16L) {
+                truncate(indexPath, validEntries * 16L);
+                log.warn("[OrderBookHistory] 인덱스 정리 - {}: 키프레임 {}개 유지", indexPath, validEntries);
+            }
+            return validEnd;
+        }
+
+        /** 인덱스의 온전한 항목(16바이트)의 키프레임 위치 목록 */
+        private static long[] readIndexOffsets(Path indexPath) throws IOException {
+            if (!Files.exists(indexPath)) {
+                return new long[0];
+            }
+            int count = (int) (Files.size(indexPath) / 16);
+            long[] offsets = new long[count];
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+                for (int i = 0; i < count; i++) {
+                    in.readLong();
+                    offsets[i] = in.readLong();
+                }
+            }
+            return offsets;
+        }
+
+        /** from 위치부터 레코드를 읽어, 마지막으로 끝까지 기록된 레코드의 끝 위치를 반환 */
+        private static long completeLength(Path dataPath, long from) throws IOException {
+            long[] consumed = {0L};
+            try (FileChannel channel = FileChannel.open(dataPath, StandardOpenOption.READ)) {
+                channel.position(from);
+                InputStream in = new FilterInputStream(new BufferedInputStream(Channels.newInputStream(channel))) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b >= 0) {
+                            consumed[0]++;
+                        }
+                        return b;
+                    }
+                };
+                long end = from;
+                while (true) {
+                    int type = in.read();
+                    if (type < 0) {
+                        break;
+                    }
+                    try {
+                        if (type == KEYFRAME) {
+                            for (int i = 0; i <= FIELDS; i++) {
+                                readVarLong(in);
+                            }
+                        } else if (type == DELTA) {
+                            readVarLong(in);
+                            long mask = readVarLong(in);
+                            for (int i = Long.bitCount(mask); i > 0; i--) {
+                                readVarLong(in);
+                            }
+                        } else {
+                            break;
+                        }
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    end = from + consumed[0];
+                }
+                return end;
+            }
+        }
+
+        private static void truncate(Path path, long size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(size);
+            }
+        }
+
+        synchronized void append(long time, long[] values) throws IOException {
+            record.reset();
+            boolean keyframe = previous == null || framesSinceKeyframe >= keyframeInterval;
+            if (keyframe) {
+                record.write(KEYFRAME);
+                writeVarLong(record, time);
+                for (long value : values) {
+                    writeVarLong(record, value);
+                }
+                framesSinceKeyframe = 0;
+            } else {
+                long mask = 0;
+                for (int i = 0; i < FIELDS; i++) {
+                    if (values[i] != previous[i]) {
+                        mask |= 1L << i;
+                    }
+                }
+                if (mask == 0) {
+                    return;
+                }
+                record.write(DELTA);
+                writeVarLong(record, zigzagEncode(time - previousTime));
+                writeVarLong(record, mask);
+                for (int i = 0; i < FIELDS; i++) {
+                    if ((mask & (1L << i)) != 0) {
+                        writeVarLong(record, zigzagEncode(values[i] - previous[i]));
+                    }
+                }
+                framesSinceKeyframe++;
+            }
+
+            long recordOffset = position;
+            record.writeTo(data);
+            position += record.size();
+            if (keyframe) {
+                // 인덱스가 가리키는 키프레임이 항상 읽을 수 있도록 데이터를 먼저 반영
+                data.flush();
+                index.writeLong(time);
+                index.writeLong(recordOffset);
+            }
+            previous = values;
+            previousTime = time;
+        }
+
+        synchronized void flush() {
+            try {
+                data.flush();
+                index.flush();
+            } catch (IOException e) {
+                log.warn("[OrderBookHistory] flush 실패: {}", e.getMessage());
+            }
+        }
+
+        synchronized void close() {
+            flush();
+            try {
+                data.close();
+                index.close();
+            } catch (IOException e) {
+                log.warn("[OrderBookHistory] close 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.stockleague.backend.infra.archive;
+
+import com.stockleague.backend.infra.properties.TickArchiveProperties;
+import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로컬 디스크 기반 체결 틱 아카이브
+ * <p>
+ * Redis 시세 ZSET 은 2일이 지나면 삭제되므로, 수신한 틱을 일자 · 종목별 컬럼형 세그먼트 파일에
+ * append-only 로 기록해 장기간 원본 틱을 보관합니다. 조회는 메모리 매핑된 파일에서 직접 읽습니다.
+ * </p>
+ * <ul>
+ *     <li>경로: {@code {dir}/{yyyyMMdd}/{ticker}-{seq}.col}</li>
+ *     <li>세그먼트가 가득 차면 seq 를 올려 새 파일에 이어서 기록</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class TickArchive {
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final ZoneOffset KST = ZoneOffset.ofHours(9);
+    /** 일자 디렉터리 기준 시간대 - 서버 기본 시간대와 무관하게 한국 날짜로 넘김 · 정리 */
+    private static final ZoneId KST_ZONE = ZoneId.of("Asia/Seoul");
+    private static final String SUFFIX = ".col";
+
+    private final TickArchiveProperties properties;
+    private final Path root;
+
+    /** 쓰기 중인 세그먼트 (key: yyyyMMdd/ticker) */
+    private final ConcurrentMap<String, TickSegment> writers = new ConcurrentHashMap<>();
+
+    public TickArchive(TickArchiveProperties properties) {
+        this.properties = properties;
+        this.root = Paths.get(properties.getDir()).toAbsolutePath();
+    }
+
+    /**
+     * 체결 틱 1건 기록
+     * <p>디스크 오류는 로그만 남기고 수집 경로로 전파하지 않습니다.</p>
+     */
+    public void append(StockPriceDto dto) {
+        if (!properties.isEnabled() || dto == null || dto.datetime() == null) {
+            return;
+        }
+        LocalDate day = dto.datetime().toLocalDate();
+        String key = day.format(DAY_FORMAT) + "/" + dto.ticker();
+        try {
+            TickSegment segment = writers.computeIfAbsent(key, k -> openLatest(day, dto.ticker()));
+            while (!segment.append(dto)) {
+                TickSegment full = segment;
+                segment = writers.compute(key, (k, current) ->
+                        current == full ? openNext(day, dto.ticker(), full) : current);
+            }
+        } catch (Exception e) {
+            log.warn("[TickArchive] 기록 실패 - {}: {}", dto.ticker(), e.getMessage());
+        }
+    }
+
+    /**
+     * 종목의 [from, to] 구간 틱을 시간순으로 반환
+     * <p>Redis 시세가 만료된 구간의 분봉을 다시 만들 때 사용합니다. ({@code StockMinutePriceService})</p>
+     *
+     * @param ticker 종목 코드
+     * @param from   시작 시각 (포함)
+     * @param to     종료 시각 (포함)
+     * @return 구간 내 틱 목록
+     */
+    public List<StockPriceDto> scan(String ticker, LocalDateTime from, LocalDateTime to) {
+        List<StockPriceDto> result = new ArrayList<>();
+        scan(ticker, from, to, result::add);
+        return result;
+    }
+
+    /**
+     * 종목의 [from, to] 구간 틱을 시간순으로 {@code consumer}에 전달
+     */
+    private void scan(String ticker, LocalDateTime from, LocalDateTime to, Consumer<StockPriceDto> consumer) {
+        long fromMillis = from.toInstant(KST).toEpochMilli();
+        long toMillis = to.toInstant(KST).toEpochMilli();
+
+        for (LocalDate day = from.toLocalDate(); !day.isAfter(to.toLocalDate()); day = day.plusDays(1)) {
+            for (Path path : segmentPaths(day, ticker)) {
+                TickSegment active = findWriter(day, ticker, path);
+                if (active != null) {
+                    active.scan(fromMillis, toMillis, consumer);
+                    continue;
+                }
+                try {
+                    TickSegment.openReadOnly(path, ticker).scan(fromMillis, toMillis, consumer);
+                } catch (IOException e) {
+                    log.warn("[TickArchive] 세그먼트 조회 실패 - {}: {}", path, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 매일 18시: 지난 일자 세그먼트를 닫고 보관 기간이 지난 일자 디렉터리를 삭제
+     */
+    @Scheduled(cron = "0 0 18 * * *", zone = "Asia/Seoul")
+    public void rollover() {
+        String today = LocalDate.now(KST_ZONE).format(DAY_FORMAT);
+        writers.forEach((key, segment) -> {
+            if (!key.startsWith(today)) {
+                segment.close();
+                writers.remove(key, segment);
+            } else {
+                segment.force();
+            }
+        });
+        purgeExpired();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.values().forEach(TickSegment::close);
+        writers.clear();
+    }
+
+    private TickSegment openLatest(LocalDate day, String ticker) {
+        List<Path> paths = segmentPaths(day, ticker);
+        Path path = paths.isEmpty() ? segmentPath(day, ticker, 0) : paths.get(paths.size() - 1);
+        return open(path, ticker);
+    }
+
+    private TickSegment openNext(LocalDate day, String ticker, TickSegment full) {
+        full.close();
+        int next = sequenceOf(full.path()) + 1;
+        log.info("[TickArchive] 세그먼트 가득 참 - {} → seq {}", full.path().getFileName(), next);
+        return open(segmentPath(day, ticker, next), ticker);
+    }
+
+    private TickSegment open(Path path, String ticker) {
+        try {
+            return TickSegment.openForAppend(path, ticker, properties.getSegmentCapacity());
+        } catch (IOException e) {
+            throw new IllegalStateException("틱 아카이브 세그먼트 열기 실패: " + path, e);
+        }
+    }
+
+    private TickSegment findWriter(LocalDate day, String ticker, Path path) {
+        TickSegment segment = writers.get(day.format(DAY_FORMAT) + "/" + ticker);
+        return segment != null && segment.path().equals(path) ? segment : null;
+    }
+
+    private List<Path> segmentPaths(LocalDate day, String ticker) {
+        Path dayDir = root.resolve(day.format(DAY_FORMAT));
+        if (!Files.isDirectory(dayDir)) {
+            return List.of();
+        }
+        String prefix = ticker + "-";
+        try (Stream<Path> files = Files.list(dayDir)) {
+            return files
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparingInt(TickArchive::sequenceOf))
+                    .toList();
+        } catch (IOException e) {
+            log.warn("[TickArchive] 디렉터리 조회 실패 - {}: {}", dayDir, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private Path segmentPath(LocalDate day, String ticker, int seq) {
+        return root.resolve(day.format(DAY_FORMAT)).resolve(String.format("%s-%03d%s", ticker, seq, SUFFIX));
+    }
+
+    private static int sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Integer.parseInt(name.substring(name.lastIndexOf('-') + 1, name.length() - SUFFIX.length()));
+    }
+
+    private void purgeExpired() {
+        if (properties.getRetentionDays() <= 0 || !Files.isDirectory(root)) {
+            return;
+        }
+        String threshold = LocalDate.now(KST_ZONE).minusDays(properties.getRetentionDays()).format(DAY_FORMAT);
+        try (Stream<Path> days = Files.list(root)) {
+            days.filter(Files::isDirectory)
+                    .filter(dir -> dir.getFileName().toString().compareTo(threshold) < 0)
+                    .forEach(this::deleteDayDir);
+        } catch (IOException e) {
+            log.warn("[TickArchive] 보관 기간 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void deleteDayDir(Path dayDir) {
+        try (Stream<Path> files = Files.list(dayDir)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dayDir);
+            log.info("[TickArchive] 보관 기간 만료 삭제: {}", dayDir.getFileName());
+        } catch (IOException e) {
+            log.warn("[TickArchive] 삭제 실패 - {}: {}", dayDir, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.stockleague.backend.infra.archive;
+
+import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+/**
+ * 종목 1개 · 하루치 체결 틱을 담는 고정 용량 컬럼형 세그먼트 파일
+ * <p>
+ * 파일 전체를 메모리 매핑하며, 헤더 뒤에 컬럼별로 {@code capacity}개 값이 연속 배치됩니다.
+ * 헤더의 행 수는 행의 모든 컬럼을 쓴 뒤에 갱신되므로, 비정상 종료 시에도 기록된 행 수까지만 유효합니다.
+ * </p>
+ * <pre>
+ * [header 64B: magic, version, capacity, count]
+ * [epochMillis long × cap][open int × cap][high int × cap][low int × cap][close int × cap]
+ * [current int × cap][change int × cap][percent double × cap][sign byte × cap][flags byte × cap]
+ * [accVolume long × cap]
+ * </pre>
+ */
+class TickSegment implements AutoCloseable {
+
+    private static final int MAGIC = 0x5449434B; // "TICK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int COUNT_OFFSET = 12;
+    private static final ZoneOffset KST = ZoneOffset.ofHours(9);
+    private static final byte FLAG_MARKET_OPEN = 1;
+
+    /** 컬럼 순서대로의 값 크기 (byte) */
+    private static final int[] WIDTHS = {8, 4, 4, 4, 4, 4, 4, 8, 1, 1, 8};
+    private static final int C_TIME = 0, C_OPEN = 1, C_HIGH = 2, C_LOW = 3, C_CLOSE = 4, C_CURRENT = 5,
+            C_CHANGE = 6, C_PERCENT = 7, C_SIGN = 8, C_FLAGS = 9, C_VOLUME = 10;
+
+    private final Path path;
+    private final String ticker;
+    private final int capacity;
+    private final int[] offsets = new int[WIDTHS.length];
+    private final MappedByteBuffer buffer;
+    private int count;
+
+    private TickSegment(Path path, String ticker, int capacity, MappedByteBuffer buffer, int count) {
+        this.path = path;
+        this.ticker = ticker;
+        this.capacity = capacity;
+        this.buffer = buffer;
+        this.count = count;
+
+        int offset = HEADER_BYTES;
+        for (int i = 0; i < WIDTHS.length; i++) {
+            offsets[i] = offset;
+            offset += WIDTHS[i] * capacity;
+        }
+    }
+
+    /** 쓰기용으로 열기 - 파일이 없으면 용량만큼 생성 */
+    static TickSegment openForAppend(Path path, String ticker, int capacity) throws IOException {
+        Files.createDirectories(path.getParent());
+        boolean exists = Files.exists(path);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (exists) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+                validate(path, header);
+                capacity = header.getInt(8);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+            if (!exists) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, capacity);
+                buffer.putInt(COUNT_OFFSET, 0);
+            }
+            return new TickSegment(path, ticker, capacity, buffer, buffer.getInt(COUNT_OFFSET));
+        }
+    }
+
+    /** 읽기 전용으로 열기 */
+    static TickSegment openReadOnly(Path path, String ticker) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            validate(path, header);
+            int capacity = header.getInt(8);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize(capacity));
+            return new TickSegment(path, ticker, capacity, buffer, buffer.getInt(COUNT_OFFSET));
+        }
+    }
+
+    /**
+     * 행 1개 추가
+     *
+     * @return 용량이 가득 차 기록하지 못했으면 false
+     */
+    synchronized boolean append(StockPriceDto dto) {
+        if (count >= capacity) {
+            return false;
+        }
+        int row = count;
+        buffer.putLong(at(C_TIME, row), dto.datetime().toInstant(KST).toEpochMilli());
+        buffer.putInt(at(C_OPEN, row), dto.openPrice());
+        buffer.putInt(at(C_HIGH, row), dto.highPrice());
+        buffer.putInt(at(C_LOW, row), dto.lowPrice());
+        buffer.putInt(at(C_CLOSE, row), dto.closePrice());
+        buffer.putInt(at(C_CURRENT, row), dto.currentPrice());
+        buffer.putInt(at(C_CHANGE, row), dto.priceChange());
+        buffer.putDouble(at(C_PERCENT, row), dto.pricePercent());
+        buffer.put(at(C_SIGN, row), (byte) dto.changeSign());
+        buffer.put(at(C_FLAGS, row), dto.isMarketOpen() ? FLAG_MARKET_OPEN : 0);
+        buffer.putLong(at(C_VOLUME, row), dto.accumulatedVolume());
+
+        count = row + 1;
+        buffer.putInt(COUNT_OFFSET, count);
+        return true;
+    }
+
+    /**
+     * [fromMillis, toMillis] 구간의 행을 시간순으로 전달
+     * <p>세그먼트 내 시각은 수신 순서대로 단조 증가한다고 보고 시작 위치를 이진 탐색합니다.</p>
+     */
+    void scan(long fromMillis, long toMillis, Consumer<StockPriceDto> consumer) {
+        int rows;
+        synchronized (this) {
+            rows = count;
+        }
+        int lo = 0;
+        int hi = rows;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timeAt(mid) < fromMillis) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        for (int row = lo; row < rows; row++) {
+            long time = timeAt(row);
+            if (time > toMillis) {
+                break;
+            }
+            consumer.accept(read(row, time));
+        }
+    }
+
+    synchronized void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    private StockPriceDto read(int row, long time) {
+        return new StockPriceDto(
+                ticker,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(time), KST),
+                buffer.getInt(at(C_OPEN, row)),
+                buffer.getInt(at(C_HIGH, row)),
+                buffer.getInt(at(C_LOW, row)),
+                buffer.getInt(at(C_CLOSE, row)),
+                buffer.getInt(at(C_CURRENT, row)),
+                buffer.getInt(at(C_CHANGE, row)),
+                buffer.getDouble(at(C_PERCENT, row)),
+                buffer.get(at(C_SIGN, row)),
+                buffer.getLong(at(C_VOLUME, row)),
+                (buffer.get(at(C_FLAGS, row)) & FLAG_MARKET_OPEN) != 0
+        );
+    }
+
+    private long timeAt(int row) {
+        return buffer.getLong(at(C_TIME, row));
+    }
+
+    private int at(int column, int row) {
+        return offsets[column] + row * WIDTHS[column];
+    }
+
+    private static long fileSize(int capacity) {
+        long rowBytes = 0;
+        for (int width : WIDTHS) {
+            rowBytes += width;
+        }
+        return HEADER_BYTES + rowBytes * capacity;
+    }
+
+    private static void validate(Path path, MappedByteBuffer header) throws IOException {
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("틱 아카이브 세그먼트 형식 불일치: " + path);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.stockleague.backend.infra.metrics;
+
+import com.stockleague.backend.infra.metrics.TickTrace.Stage;
+import com.stockleague.backend.infra.properties.MarketDataTracingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실시간 시세/호가 프레임의 단계별 지연 측정기
+ * <p>
+ * {@code market_data.latency} 타이머를 kind(price/orderbook) · stage 태그로 나눠 기록하고,
+ * 호가 스냅샷 생성 → 체결까지의 지연은 {@code market_data.snapshot_to_fill} 로 기록합니다.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class MarketDataLatencyTracer {
+
+    public static final String KIND_PRICE = "price";
+    public static final String KIND_ORDERBOOK = "orderbook";
+
+    private final MarketDataTracingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * 프레임 추적 시작 - 샘플링에서 제외되면 {@link TickTrace#NOOP} 반환
+     *
+     * @param kind          price / orderbook
+     * @param receivedNanos onText 수신 시각 ({@link System#nanoTime()})
+     */
+    public TickTrace start(String kind, long receivedNanos) {
+        if (!properties.isEnabled() || ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return TickTrace.NOOP;
+        }
+        return new TickTrace(this, kind, receivedNanos);
+    }
+
+    /**
+     * 스냅샷 생성 시각부터 현재까지를 체결 지연으로 기록
+     *
+     * @param snapshotAtMillis 스냅샷 생성 시각 (epoch millis)
+     */
+    public void recordSnapshotToFill(Long snapshotAtMillis) {
+        if (!properties.isEnabled() || snapshotAtMillis == null) {
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - snapshotAtMillis;
+        if (elapsed >= 0) {
+            timer("market_data.snapshot_to_fill", null, null).record(elapsed, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void record(String kind, Stage stage, long nanos) {
+        timer("market_data.latency", kind, stage.tag()).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String kind, String stage) {
+        return timers.computeIfAbsent(name + ':' + kind + ':' + stage, k -> {
+            Timer.Builder builder = Timer.builder(name)
+                    .publishPercentileHistogram(properties.isPercentileHistogram());
+            if (kind != null) {
+                builder.tag("kind", kind).tag("stage", stage);
+            }
+            return builder.register(meterRegistry);
+        });
+    }
+}
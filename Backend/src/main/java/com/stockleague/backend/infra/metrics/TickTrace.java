@@ -0,0 +1,72 @@
+package com.stockleague.backend.infra.metrics;
+
+/**
+ * 실시간 프레임 1개의 단계별 시각 기록
+ * <p>
+ * {@link MarketDataLatencyTracer#start}로 생성되며, 각 단계가 끝날 때 {@link #mark}를 호출하면
+ * 직전 단계 이후 경과 시간이 해당 단계 지연으로 기록됩니다. 샘플링되지 않은 프레임은
+ * {@link #NOOP}을 사용하므로 호출부에서 null 검사가 필요 없습니다.
+ * </p>
+ */
+public class TickTrace {
+
+    public static final TickTrace NOOP = new TickTrace(null, null, 0L);
+
+    private final MarketDataLatencyTracer tracer;
+    private final String kind;
+    private final long receivedNanos;
+    private long lastNanos;
+
+    TickTrace(MarketDataLatencyTracer tracer, String kind, long receivedNanos) {
+        this.tracer = tracer;
+        this.kind = kind;
+        this.receivedNanos = receivedNanos;
+        this.lastNanos = receivedNanos;
+    }
+
+    /** 단계 종료 기록 */
+    public void mark(Stage stage) {
+        if (tracer == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        tracer.record(kind, stage, now - lastNanos);
+        lastNanos = now;
+    }
+
+    /** 마지막 단계 종료 기록 후 수신 시점부터의 전체 지연 기록 */
+    public void finish(Stage stage) {
+        if (tracer == null) {
+            return;
+        }
+        mark(stage);
+        tracer.record(kind, Stage.END_TO_END, lastNanos - receivedNanos);
+    }
+
+    public enum Stage {
+        /** onText 수신 → 평문 파싱 완료 */
+        PARSE("parse"),
+        /** 시세 ZSET / 호가 LIVE 뷰 기록 */
+        REDIS_WRITE("redis_write"),
+        /** 호가 LIVE 뷰 + 매칭용 스냅샷 기록 */
+        SNAPSHOT_WRITE("snapshot_write"),
+        /** 틱 아카이브 / 호가 이력 디스크 기록 */
+        ARCHIVE("archive"),
+        /** 분봉 증분 갱신 + 보유 종목 평가 갱신 표시 */
+        CANDLE_UPDATE("candle_update"),
+        /** conflation 대기 + STOMP 전송 */
+        PUBLISH("publish"),
+        /** onText 수신 → STOMP 전송 완료 */
+        END_TO_END("end_to_end");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+}
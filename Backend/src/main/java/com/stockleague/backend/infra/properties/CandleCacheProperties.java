@@ -0,0 +1,26 @@
+package com.stockleague.backend.infra.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "candle-cache")
+@Getter
+@Setter
+public class CandleCacheProperties {
+
+    /** 봉 조회 캐시 사용 여부 */
+    private boolean enabled = true;
+
+    /** 종목 · 간격별로 캐시하는 최신 봉 개수 (이보다 깊은 페이지는 DB 직접 조회) */
+    private int windowSize = 300;
+
+    /** 분봉 캐시 유지 시간 - 다른 인스턴스가 저장한 봉을 반영하는 주기 */
+    private Duration minuteTtl = Duration.ofSeconds(60);
+
+    /** 일/주/월/연봉 캐시 유지 시간 */
+    private Duration periodTtl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,27 @@
+package com.stockleague.backend.infra.properties;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "candle.streaming")
+@Getter
+@Setter
+public class CandleStreamingProperties {
+
+    /** true면 실시간 틱으로 분봉을 증분 생성하고, 분봉 cron 은 대조만 수행 */
+    private boolean enabled = true;
+
+    /** 증분 생성할 분봉 간격(분) - 모두 60의 약수여야 정시 기준으로 정렬됩니다. */
+    private List<Integer> intervals = List.of(1, 3, 5, 10, 15, 30, 60);
+
+    /** 구간 종료 후 늦게 도착하는 틱을 기다리는 시간 */
+    private Duration closeGrace = Duration.ofSeconds(2);
+
+    /** 모든 종목의 Redis 틱으로 분봉을 다시 만드는 전체 대조 주기 - 그 사이에는 저장에 실패한 봉만 대조 */
+    private Duration fullReconcileInterval = Duration.ofMinutes(30);
+}
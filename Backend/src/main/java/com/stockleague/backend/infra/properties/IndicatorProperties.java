@@ -0,0 +1,40 @@
+package com.stockleague.backend.infra.properties;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "indicator")
+@Getter
+@Setter
+public class IndicatorProperties {
+
+    /** false면 기술 지표 조회 API 비활성화 (INVALID_PARAM) */
+    private boolean enabled = true;
+
+    /** 기동 시 모든 종목에 대해 미리 계산해 둘 봉 단위 - 그 외 단위는 첫 조회 시 계산 */
+    private List<String> warmUpIntervals = List.of("d", "1", "5", "15", "60");
+
+    /** 지표 상태를 만들 때 읽는 과거 봉 수 - EMA/RSI 수렴을 위해 가장 긴 기간의 몇 배 이상 권장 */
+    private int seedSize = 200;
+
+    private int smaPeriod = 20;
+
+    private int emaPeriod = 20;
+
+    private int rsiPeriod = 14;
+
+    private int macdFast = 12;
+
+    private int macdSlow = 26;
+
+    private int macdSignal = 9;
+
+    private int bollingerPeriod = 20;
+
+    /** 볼린저 밴드 표준편차 배수 */
+    private double bollingerK = 2.0;
+}
@@ -0,0 +1,29 @@
+package com.stockleague.backend.infra.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kis.rest")
+@Getter
+@Setter
+public class KisRestProperties {
+
+    /** 앱키당 REST 호출 한도 (건/초) - 모든 호출이 하나의 토큰 버킷을 공유 */
+    private double requestsPerSecond = 2;
+
+    /** 쉬고 있던 만큼 한 번에 보낼 수 있는 최대 호출 수 (버킷 크기) */
+    private int burst = 1;
+
+    /** 요청 1건의 응답 대기 한도 (재시도마다 새로 적용) */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /** 타임아웃 · 연결 오류 · 5xx/429 응답 시 재시도 횟수 */
+    private int maxRetries = 2;
+
+    /** 첫 재시도 대기 시간 (지수 백오프) */
+    private Duration retryBackoff = Duration.ofMillis(500);
+}
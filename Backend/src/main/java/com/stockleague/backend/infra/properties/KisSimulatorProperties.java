@@ -0,0 +1,43 @@
+package com.stockleague.backend.infra.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kis.simulator")
+@Getter
+@Setter
+public class KisSimulatorProperties {
+
+    /** true면 KIS 실시간 WebSocket 을 흉내내는 로컬 시뮬레이터 엔드포인트를 등록 */
+    private boolean enabled = false;
+
+    /** 시뮬레이터 WebSocket 경로 (kis.websocket.url 을 ws://localhost:{port}{path} 로 지정해 사용) */
+    private String path = "/ws/kis-sim";
+
+    /** 시뮬레이터 세션에 사용할 고정 approval_key - 실제 KIS 에서 발급받지 않음 */
+    private String approvalKey = "kis-simulator-approval-key";
+
+    /**
+     * 0보다 크면 stocks.csv 종목 대신 이 수만큼의 합성 종목 코드(900000부터)를 구독
+     * <p>세션 수와 수신 부하를 종목 목록과 무관하게 조절할 때 사용합니다. 합성 종목은 DB에 없으므로 분봉은 저장되지 않습니다.</p>
+     */
+    private int tickers = 0;
+
+    /** 구독 종목별 체결가(H0STCNT0) 프레임 전송 빈도 (Hz) */
+    private double priceRateHz = 5;
+
+    /** 구독 종목별 호가(H0STASP0) 프레임 전송 빈도 (Hz) */
+    private double orderbookRateHz = 2;
+
+    /** 체결 1회당 가격 변동 표준편차 (호가 단위 개수) */
+    private double volatilityTicks = 1.0;
+
+    /**
+     * 세션당 최대 등록 수 - 초과 시 실서버처럼 구독을 거절
+     * <p>0 이하이면 클라이언트의 세션 분할 기준인 {@code kis.websocket.max-subscriptions-per-session}과 같은 값을 사용합니다.</p>
+     */
+    private int maxSubscriptionsPerSession = 0;
+}
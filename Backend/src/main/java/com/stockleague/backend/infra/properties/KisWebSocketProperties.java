@@ -0,0 +1,29 @@
+package com.stockleague.backend.infra.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kis.websocket")
+@Getter
+@Setter
+public class KisWebSocketProperties {
+
+    /** KIS 실시간 WebSocket 주소 (로컬 시뮬레이터 사용 시 ws://localhost:8080/ws/kis-sim) */
+    private String url = "ws://ops.koreainvestment.com:31000";
+
+    /**
+     * 세션(approval_key) 1개당 최대 실시간 등록 수
+     * <p>종목 1개는 체결가 + 호가로 2건을 사용하므로 세션당 종목 수는 이 값의 절반입니다.</p>
+     */
+    private int maxSubscriptionsPerSession = 40;
+
+    /** 응답(ack)을 기다리는 구독 요청의 최대 동시 개수 */
+    private int subscribeWindow = 5;
+
+    /** 구독 응답 대기 한도 - 초과 시 응답 없이 슬롯을 해제하고 다음 요청을 보냅니다. */
+    private Duration subscribeAckTimeout = Duration.ofSeconds(2);
+}
@@ -0,0 +1,25 @@
+package com.stockleague.backend.infra.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "market-data.publish")
+@Getter
+@Setter
+public class MarketDataPublishProperties {
+
+    /** false면 conflation 없이 매 프레임 즉시 전송 */
+    private boolean conflationEnabled = true;
+
+    /** 종목별 시세 토픽(/topic/stocks/{ticker}) 최대 전송 빈도 (Hz) */
+    private double priceRateHz = 5;
+
+    /** 종목별 호가 토픽(/topic/orderbook/{ticker}) 최대 전송 빈도 (Hz) */
+    private double orderbookRateHz = 4;
+
+    /** 종목/간격별 봉 토픽(/topic/candles/{ticker}/{interval}) 진행 중 봉 최대 전송 빈도 (Hz) - 확정 이벤트는 제한 없음 */
+    private double candleRateHz = 2;
+}
@@ -0,0 +1,22 @@
+package com.stockleague.backend.infra.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "market-data.tracing")
+@Getter
+@Setter
+public class MarketDataTracingProperties {
+
+    /** false면 프레임 단계별 지연 측정을 하지 않음 */
+    private boolean enabled = true;
+
+    /** 측정 대상 프레임 비율 (0.0 ~ 1.0) */
+    private double sampleRate = 0.01;
+
+    /** true면 Prometheus 등에서 분위수를 계산할 수 있도록 히스토그램 버킷을 함께 내보냄 */
+    private boolean percentileHistogram = true;
+}
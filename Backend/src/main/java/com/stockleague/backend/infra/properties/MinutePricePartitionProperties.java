@@ -0,0 +1,43 @@
+package com.stockleague.backend.infra.properties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "candle.partition")
+@Getter
+@Setter
+public class MinutePricePartitionProperties {
+
+    /** stock_minute_prices 월 파티션 자동 생성/정리 사용 여부 */
+    private boolean enabled = true;
+
+    /** 현재 월 이후 미리 만들어 둘 월 파티션 수 */
+    private int monthsAhead = 2;
+
+    /** 보관 기간이 지난 월 파티션 처리 방식 */
+    private RetentionAction retentionAction = RetentionAction.DROP;
+
+    /** 분봉 간격별 보관 기간 - 월 파티션의 끝이 (현재 - 보관 기간)보다 이전이면 정리 */
+    private Map<Integer, Duration> retention = new LinkedHashMap<>(Map.of(
+            1, Duration.ofDays(30),
+            3, Duration.ofDays(90),
+            5, Duration.ofDays(180),
+            10, Duration.ofDays(365),
+            15, Duration.ofDays(365),
+            30, Duration.ofDays(730),
+            60, Duration.ofDays(730)
+    ));
+
+    public enum RetentionAction {
+        /** 파티션 테이블 삭제 */
+        DROP,
+        /** 부모 테이블에서 분리만 하고 독립 테이블로 남김 (보관/백업용) */
+        DETACH
+    }
+}
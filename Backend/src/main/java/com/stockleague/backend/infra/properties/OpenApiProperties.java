@@ -1,5 +1,7 @@
 package com.stockleague.backend.infra.properties;
 
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -15,4 +17,14 @@ public class OpenApiProperties {
     private String appSecret;
     private String grantType;
     private String scope;
+
+    /** 실시간 WebSocket 세션 확장을 위한 추가 계정 (계정마다 별도 approval_key 발급) */
+    private List<RealtimeAccount> realtimeAccounts = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class RealtimeAccount {
+        private String appKey;
+        private String appSecret;
+    }
 }
@@ -0,0 +1,25 @@
+package com.stockleague.backend.infra.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "orderbook-history")
+@Getter
+@Setter
+public class OrderBookHistoryProperties {
+
+    /** false면 호가 이력을 기록하지 않음 */
+    private boolean enabled = true;
+
+    /** 이력 루트 디렉터리 ({dir}/{yyyyMMdd}/{ticker}.obk, 키프레임 인덱스 {ticker}.obi) */
+    private String dir = "./data/orderbook-history";
+
+    /** 키프레임 사이에 기록할 최대 델타 프레임 수 */
+    private int keyframeInterval = 200;
+
+    /** 보관 일수 (0 이하이면 삭제하지 않음) */
+    private int retentionDays = 90;
+}
@@ -0,0 +1,16 @@
+package com.stockleague.backend.infra.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "backfill")
+@Getter
+@Setter
+public class PriceBackfillProperties {
+
+    /** 동시에 수집하는 (종목, 봉 단위) 작업 수 - 호출 빈도는 kis.rest 한도를 따름 */
+    private int parallelism = 4;
+}
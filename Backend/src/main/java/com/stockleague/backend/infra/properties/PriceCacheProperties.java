@@ -0,0 +1,23 @@
+package com.stockleague.backend.infra.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "price-cache")
+@Getter
+@Setter
+public class PriceCacheProperties {
+
+    /** 로컬 near cache 사용 여부 */
+    private boolean enabled = true;
+
+    /** 캐시 항목을 신뢰하는 최대 시간 (초과 시 Redis 재조회) */
+    private Duration maxStaleness = Duration.ofSeconds(5);
+
+    /** 노드 간 시세 갱신을 전파하는 Redis pub/sub 채널 */
+    private String channel = "stock:price:updates";
+}
@@ -0,0 +1,25 @@
+package com.stockleague.backend.infra.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "tick-archive")
+@Getter
+@Setter
+public class TickArchiveProperties {
+
+    /** false면 수신 체결 틱을 디스크에 기록하지 않음 */
+    private boolean enabled = true;
+
+    /** 아카이브 루트 디렉터리 ({dir}/{yyyyMMdd}/{ticker}-{seq}.col) */
+    private String dir = "./data/tick-archive";
+
+    /** 세그먼트 파일 1개당 최대 행 수 - 초과 시 다음 세그먼트 파일 생성 */
+    private int segmentCapacity = 65_536;
+
+    /** 보관 일수 (0 이하이면 삭제하지 않음) */
+    private int retentionDays = 365;
+}
@@ -69,6 +69,8 @@ public class AtomicOrderbookMatcher {
     end
 
     local result = { version = ver, filled = filled, matches = matches }
+    local vts = redis.call("GET", "ob:vts:"..ticker)
+    if vts then result.snapshotAt = vts end
     return cjson.encode(result)
     """;
 
@@ -122,6 +124,8 @@ public class AtomicOrderbookMatcher {
     end
 
     local result = { version = ver, filled = filled, matches = matches }
+    local vts = redis.call("GET", "ob:vts:"..ticker)
+    if vts then result.snapshotAt = vts end
     return cjson.encode(result)
     """;
 
@@ -159,6 +163,7 @@ public class AtomicOrderbookMatcher {
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class MatchResult {
         private String version;                 // 사용된 스냅샷 버전 (문자열)
+        private Long snapshotAt;                // 사용된 스냅샷 생성 시각 (epoch millis)
         private BigDecimal filled;              // 총 체결 수량
         private List<Fill> matches;             // 가격별 체결 분해
 
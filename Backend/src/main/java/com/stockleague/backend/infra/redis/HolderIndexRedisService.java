@@ -0,0 +1,109 @@
+package com.stockleague.backend.infra.redis;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * 종목 → 보유 사용자 역인덱스를 Redis SET으로 보관합니다.
+ * <ul>
+ *     <li>{@code stock:holders:{ticker}} - 해당 종목을 보유(동결 수량 포함)한 userId 집합</li>
+ *     <li>{@code stock:holders} - 인덱스에 올라간 종목 코드 집합 (전체 재구성 시 이전 키 정리용)</li>
+ * </ul>
+ * <p>여러 인스턴스가 같은 인덱스를 공유하므로, 어느 인스턴스에서 체결되어도 시세를 받는 인스턴스가 보유자를 찾을 수 있습니다.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class HolderIndexRedisService {
+
+    private static final String TICKERS_KEY = "stock:holders";
+    private static final String PREFIX = "stock:holders:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 사용자를 종목 보유자로 추가합니다.
+     *
+     * @param ticker 종목 코드
+     * @param userId 사용자 ID
+     */
+    public void add(String ticker, Long userId) {
+        redisTemplate.opsForSet().add(getKey(ticker), String.valueOf(userId));
+        redisTemplate.opsForSet().add(TICKERS_KEY, ticker);
+    }
+
+    /**
+     * 사용자를 종목 보유자에서 제외합니다.
+     *
+     * @param ticker 종목 코드
+     * @param userId 사용자 ID
+     */
+    public void remove(String ticker, Long userId) {
+        redisTemplate.opsForSet().remove(getKey(ticker), String.valueOf(userId));
+    }
+
+    /**
+     * 주어진 종목 중 하나라도 보유한 사용자 ID를 조회합니다. (SUNION)
+     *
+     * @param tickers 종목 코드 목록
+     * @return 보유 사용자 ID 집합
+     */
+    public Set<Long> findHolders(Collection<String> tickers) {
+        if (tickers.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<String> keys = tickers.stream().map(HolderIndexRedisService::getKey).toList();
+        Set<String> members = redisTemplate.opsForSet().union(keys);
+
+        Set<Long> userIds = new HashSet<>();
+        if (members != null) {
+            members.forEach(m -> userIds.add(Long.valueOf(m)));
+        }
+        return userIds;
+    }
+
+    /**
+     * 인덱스 전체를 주어진 보유 현황으로 교체합니다.
+     * <p>MULTI/EXEC로 묶어 파이프라인 1회로 보내므로, 교체 중에 조회해도 빈 인덱스를 보지 않습니다.</p>
+     *
+     * @param holdersByTicker 종목 코드 → 보유 사용자 ID 목록
+     */
+    public void replaceAll(Map<String, ? extends Collection<Long>> holdersByTicker) {
+        Set<String> previous = redisTemplate.opsForSet().members(TICKERS_KEY);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            conn.multi();
+            if (previous != null) {
+                for (String ticker : previous) {
+                    conn.del(getKey(ticker));
+                }
+            }
+            conn.del(TICKERS_KEY);
+
+            holdersByTicker.forEach((ticker, userIds) -> {
+                if (userIds.isEmpty()) {
+                    return;
+                }
+                String key = getKey(ticker);
+                conn.del(key);
+                conn.sAdd(key, userIds.stream().map(String::valueOf).toArray(String[]::new));
+                conn.sAdd(TICKERS_KEY, ticker);
+            });
+            conn.exec();
+            return null;
+        });
+    }
+
+    private static String getKey(String ticker) {
+        return PREFIX + ticker;
+    }
+}
@@ -26,6 +26,12 @@ public class OpenApiTokenRedisService {
         return Boolean.TRUE.equals(redisTemplate.hasKey(KEY));
     }
 
+    /** access_token 남은 유효 시간 (초), 키가 없으면 음수 */
+    public long getAccessTokenTtlSeconds() {
+        Long ttl = redisTemplate.getExpire(KEY);
+        return ttl == null ? -2L : ttl;
+    }
+
     public void saveRealTimeKey(String approvalKey) {
         redisTemplate.opsForValue().set(REALTIME_KEY, approvalKey);
     }
@@ -34,6 +40,16 @@ public class OpenApiTokenRedisService {
         return redisTemplate.opsForValue().get(REALTIME_KEY);
     }
 
+    /** 추가 실시간 계정(1부터 시작)의 approval_key 저장 */
+    public void saveRealTimeKey(int accountIndex, String approvalKey) {
+        redisTemplate.opsForValue().set(REALTIME_KEY + ":" + accountIndex, approvalKey);
+    }
+
+    /** 추가 실시간 계정(1부터 시작)의 approval_key 조회 */
+    public String getRealTimeKey(int accountIndex) {
+        return redisTemplate.opsForValue().get(REALTIME_KEY + ":" + accountIndex);
+    }
+
     public boolean hasRealTimeKey() {
         return Boolean.TRUE.equals(redisTemplate.hasKey(REALTIME_KEY));
     }
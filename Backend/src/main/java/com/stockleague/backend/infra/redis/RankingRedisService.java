@@ -0,0 +1,193 @@
+package com.stockleague.backend.infra.redis;
+
+import com.stockleague.backend.user.domain.RankingSort;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+
+/**
+ * 장중 실시간 랭킹을 Redis ZSET으로 보관합니다.
+ * <ul>
+ *     <li>{@code ranking:live:profit} - member: userId, score: 수익률(%)</li>
+ *     <li>{@code ranking:live:asset} - member: userId, score: 총자산(원)</li>
+ * </ul>
+ * <p>점수가 같으면 Redis 규칙대로 member(userId 문자열) 역순으로 정렬됩니다.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class RankingRedisService {
+
+    private static final String PROFIT_KEY = "ranking:live:profit";
+    private static final String ASSET_KEY = "ranking:live:asset";
+    private static final String REBUILD_SUFFIX = ":rebuild";
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 랭킹 1건
+     *
+     * @param rank 1부터 시작하는 순위 (갱신용으로 만들 때는 {@code null})
+     */
+    public record RankingEntry(Long userId, BigDecimal profitRate, BigDecimal totalAsset, Integer rank) {
+
+        public static RankingEntry of(Long userId, BigDecimal profitRate, BigDecimal totalAsset) {
+            return new RankingEntry(userId, profitRate, totalAsset, null);
+        }
+    }
+
+    /**
+     * 여러 사용자의 수익률/총자산을 한 번에 반영합니다. (ZADD 2회)
+     *
+     * @param entries 반영할 랭킹 값
+     */
+    public void updateAll(Collection<RankingEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForZSet().add(PROFIT_KEY, toTuples(entries, RankingSort.PROFIT_RATE_DESC));
+        redisTemplate.opsForZSet().add(ASSET_KEY, toTuples(entries, RankingSort.TOTAL_ASSET_DESC));
+    }
+
+    /**
+     * 랭킹 전체를 주어진 값으로 교체합니다.
+     * <p>임시 키에 채운 뒤 RENAME으로 바꿔 끼우므로, 교체 중에도 조회는 이전 랭킹을 그대로 봅니다.</p>
+     *
+     * @param entries 전체 사용자의 랭킹 값
+     */
+    public void replaceAll(Collection<RankingEntry> entries) {
+        if (entries.isEmpty()) {
+            redisTemplate.delete(List.of(PROFIT_KEY, ASSET_KEY));
+            return;
+        }
+        swap(PROFIT_KEY, toTuples(entries, RankingSort.PROFIT_RATE_DESC));
+        swap(ASSET_KEY, toTuples(entries, RankingSort.TOTAL_ASSET_DESC));
+    }
+
+    /**
+     * 사용자를 랭킹에서 제거합니다.
+     *
+     * @param userId 사용자 ID
+     */
+    public void remove(Long userId) {
+        String member = String.valueOf(userId);
+        redisTemplate.opsForZSet().remove(PROFIT_KEY, member);
+        redisTemplate.opsForZSet().remove(ASSET_KEY, member);
+    }
+
+    /** 랭킹이 만들어져 있는지 여부 */
+    public boolean exists() {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(PROFIT_KEY));
+    }
+
+    /** 랭킹에 포함된 사용자 수 (ZCARD) */
+    public long count() {
+        Long size = redisTemplate.opsForZSet().zCard(PROFIT_KEY);
+        return size == null ? 0L : size;
+    }
+
+    /**
+     * 정렬 기준의 상위 구간을 조회합니다. (ZREVRANGE WITHSCORES + 다른 기준 점수 ZSCORE 파이프라인)
+     *
+     * @param sort  정렬 기준
+     * @param start 시작 인덱스 (0부터)
+     * @param end   끝 인덱스 (포함, -1이면 끝까지)
+     * @return 순위가 채워진 랭킹 목록
+     */
+    public List<RankingEntry> range(RankingSort sort, long start, long end) {
+        Set<TypedTuple<String>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(keyOf(sort), start, end);
+        if (tuples == null || tuples.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> members = tuples.stream().map(TypedTuple::getValue).toList();
+        List<Double> otherScores = scores(otherKeyOf(sort), members);
+
+        List<RankingEntry> result = new ArrayList<>(members.size());
+        int rank = (int) start + 1;
+        int i = 0;
+        for (TypedTuple<String> tuple : tuples) {
+            result.add(toEntry(sort, tuple.getValue(), tuple.getScore(), otherScores.get(i++), rank++));
+        }
+        return result;
+    }
+
+    /**
+     * 한 사용자의 순위와 점수를 조회합니다. (ZREVRANK + ZSCORE)
+     *
+     * @param sort   정렬 기준
+     * @param userId 사용자 ID
+     * @return 랭킹 정보, 랭킹에 없으면 {@code null}
+     */
+    public RankingEntry find(RankingSort sort, Long userId) {
+        String member = String.valueOf(userId);
+        Long rank = redisTemplate.opsForZSet().reverseRank(keyOf(sort), member);
+        if (rank == null) {
+            return null;
+        }
+        Double score = redisTemplate.opsForZSet().score(keyOf(sort), member);
+        Double other = redisTemplate.opsForZSet().score(otherKeyOf(sort), member);
+        return toEntry(sort, member, score, other, rank.intValue() + 1);
+    }
+
+    private void swap(String key, Set<TypedTuple<String>> tuples) {
+        String tmpKey = key + REBUILD_SUFFIX;
+        redisTemplate.delete(tmpKey);
+        redisTemplate.opsForZSet().add(tmpKey, tuples);
+        redisTemplate.rename(tmpKey, key);
+    }
+
+    /** Redis 6.0 에는 ZMSCORE 가 없어 ZSCORE 를 파이프라인으로 묶어 조회 */
+    private List<Double> scores(String key, List<String> members) {
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            for (String member : members) {
+                conn.zScore(key, member);
+            }
+            return null;
+        });
+        List<Double> scores = new ArrayList<>(members.size());
+        for (Object result : results) {
+            scores.add(result instanceof Double d ? d : null);
+        }
+        return scores;
+    }
+
+    private static Set<TypedTuple<String>> toTuples(Collection<RankingEntry> entries, RankingSort sort) {
+        Set<TypedTuple<String>> tuples = new HashSet<>(entries.size() * 2);
+        for (RankingEntry e : entries) {
+            BigDecimal value = sort == RankingSort.TOTAL_ASSET_DESC ? e.totalAsset() : e.profitRate();
+            tuples.add(TypedTuple.of(String.valueOf(e.userId()), value == null ? 0d : value.doubleValue()));
+        }
+        return tuples;
+    }
+
+    private static RankingEntry toEntry(RankingSort sort, String member, Double score, Double other, int rank) {
+        Double profit = sort == RankingSort.TOTAL_ASSET_DESC ? other : score;
+        Double asset = sort == RankingSort.TOTAL_ASSET_DESC ? score : other;
+        return new RankingEntry(
+                Long.valueOf(member),
+                profit == null ? null : BigDecimal.valueOf(profit).setScale(2, RoundingMode.HALF_UP),
+                asset == null ? null : BigDecimal.valueOf(asset).setScale(0, RoundingMode.HALF_UP),
+                rank
+        );
+    }
+
+    private static String keyOf(RankingSort sort) {
+        return sort == RankingSort.TOTAL_ASSET_DESC ? ASSET_KEY : PROFIT_KEY;
+    }
+
+    private static String otherKeyOf(RankingSort sort) {
+        return sort == RankingSort.TOTAL_ASSET_DESC ? PROFIT_KEY : ASSET_KEY;
+    }
+}
@@ -1,14 +1,14 @@
 package com.stockleague.backend.infra.redis;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stockleague.backend.stock.dto.response.stock.StockOrderBookDto;
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.BoundHashOperations;
-import org.springframework.data.redis.core.BoundZSetOperations;
-import org.springframework.data.redis.core.RedisOperations;
-import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -16,97 +16,120 @@ import org.springframework.stereotype.Service;
 public class StockOrderBookSnapshotRedisService {
 
     private final StringRedisTemplate redis;
+    private final ObjectMapper mapper;
 
     private static final Duration SNAP_TTL = Duration.ofSeconds(10);
+    private static final Duration LIVE_TTL = Duration.ofSeconds(3);
+    private static final int LEVELS = 10;
+
+    /**
+     * 호가 1프레임을 원자적으로 기록하는 스크립트
+     * <ul>
+     *   <li>ARGV[1] ticker, ARGV[2] 호가 JSON, ARGV[3] LIVE TTL(초), ARGV[4] 스냅샷 TTL(초), ARGV[5] 스냅샷 기록 여부("1"/"0")</li>
+     *   <li>ARGV[6..15] 매도호가, ARGV[16..25] 매도잔량, ARGV[26..35] 매수호가, ARGV[36..45] 매수잔량</li>
+     *   <li>ARGV[46] 스냅샷 생성 시각(epoch millis)</li>
+     * </ul>
+     * LIVE/LAST JSON 뷰를 갱신하고, 스냅샷 기록 시 버전을 올린 뒤 hash/zset 인덱스를 모두 채운 다음에만
+     * {@code ob:ver}(와 생성 시각 {@code ob:vts})를 새 버전으로 바꿉니다. 스냅샷을 건너뛰면 0을 반환합니다.
+     */
+    private static final String LUA_WRITE_FRAME = """
+    local ticker  = ARGV[1]
+    local json    = ARGV[2]
+    local liveTtl = tonumber(ARGV[3])
+    local snapTtl = tonumber(ARGV[4])
+
+    redis.call("SET", "stock:orderbook:"..ticker, json, "EX", liveTtl)
+    redis.call("SET", "stock:orderbook:last:"..ticker, json)
+
+    if ARGV[5] ~= "1" then
+      return 0
+    end
+
+    local ver = redis.call("INCR", "ob:verseq:"..ticker)
+
+    local askSnap = "ob:snap:"..ticker..":"..ver..":ASK"
+    local askIdx  = "ob:idx:" ..ticker..":"..ver..":ASK"
+    local bidSnap = "ob:snap:"..ticker..":"..ver..":BID"
+    local bidIdx  = "ob:idx:" ..ticker..":"..ver..":BID"
+
+    for i = 0, 9 do
+      local askPrice  = ARGV[6 + i]
+      local askVolume = ARGV[16 + i]
+      if tonumber(askVolume) > 0 then
+        redis.call("HSET", askSnap, askPrice, askVolume)
+        redis.call("ZADD", askIdx, askPrice, askPrice)
+      end
+
+      local bidPrice  = ARGV[26 + i]
+      local bidVolume = ARGV[36 + i]
+      if tonumber(bidVolume) > 0 then
+        redis.call("HSET", bidSnap, bidPrice, bidVolume)
+        redis.call("ZADD", bidIdx, bidPrice, bidPrice)
+      end
+    end
+
+    redis.call("EXPIRE", askSnap, snapTtl)
+    redis.call("EXPIRE", askIdx,  snapTtl)
+    redis.call("EXPIRE", bidSnap, snapTtl)
+    redis.call("EXPIRE", bidIdx,  snapTtl)
+
+    redis.call("SET", "ob:ver:"..ticker, ver, "EX", snapTtl)
+    redis.call("SET", "ob:vts:"..ticker, ARGV[46], "EX", snapTtl)
+    return ver
+    """;
+
+    private static final DefaultRedisScript<Long> WRITE_FRAME_SCRIPT =
+            new DefaultRedisScript<>(LUA_WRITE_FRAME, Long.class);
+
+    /**
+     * 호가 1프레임을 단일 Lua 호출로 기록합니다.
+     * <ul>
+     *   <li>LIVE(3초 TTL) / LAST(영구) JSON 뷰 갱신</li>
+     *   <li>{@code withSnapshot}이면 매칭용 스냅샷(hash) + 인덱스(zset) 작성 후 버전 갱신</li>
+     * </ul>
+     * 스크립트 안에서 처리되므로 {@code ob:ver}가 작성 중인 스냅샷을 가리키는 구간이 없습니다.
+     *
+     * @param dto          호가 데이터
+     * @param withSnapshot 매칭용 스냅샷까지 기록할지 여부
+     * @return 새 스냅샷 버전, 스냅샷을 기록하지 않았으면 0
+     */
+    public long writeFrame(StockOrderBookDto dto, boolean withSnapshot) {
+        String json;
+        try {
+            json = mapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("호가 직렬화 실패: " + dto.ticker(), e);
+        }
 
-    private static String seqKey(String ticker) {
-        return "ob:verseq:" + ticker;
-    }
-
-    private static String verKey(String ticker) {
-        return "ob:ver:" + ticker;
-    }
-
-    private static String askSnapshotKey(String ticker, Long ver) {
-        return "ob:snap:" + ticker + ":" + ver + ":ASK";
-    }
-
-    private static String bidSnapshotKey(String ticker, Long ver) {
-        return "ob:snap:" + ticker + ":" + ver + ":BID";
-    }
-
-    private static String askIdxKey(String ticker, Long ver) {
-        return "ob:idx:" + ticker + ":" + ver + ":ASK";
-    }
-
-    private static String bidIdxKey(String ticker, Long ver) {
-        return "ob:idx:" + ticker + ":" + ver + ":BID";
+        List<String> args = new ArrayList<>(6 + LEVELS * 4);
+        args.add(dto.ticker());
+        args.add(json);
+        args.add(String.valueOf(LIVE_TTL.getSeconds()));
+        args.add(String.valueOf(SNAP_TTL.getSeconds()));
+        args.add(withSnapshot ? "1" : "0");
+        addLevels(args, dto.askPrices());
+        addLevels(args, dto.askVolumes());
+        addLevels(args, dto.bidPrices());
+        addLevels(args, dto.bidVolumes());
+        args.add(String.valueOf(System.currentTimeMillis()));
+
+        Long ver = redis.execute(WRITE_FRAME_SCRIPT, List.of(), args.toArray());
+        return ver == null ? 0L : ver;
     }
 
+    /**
+     * 매칭용 스냅샷을 기록합니다. (LIVE/LAST 뷰도 함께 갱신)
+     *
+     * @param dto 호가 데이터
+     * @return 새 스냅샷 버전
+     */
     public long writeSnapshot(StockOrderBookDto dto) {
-        String ticker = dto.ticker();
+        return writeFrame(dto, true);
+    }
 
-        String seqKey = seqKey(ticker);
-        Long ver = redis.opsForValue().increment(seqKey);
-        if (ver == null) {
-            return 1L;
+    private static void addLevels(List<String> args, long[] values) {
+        for (int i = 0; i < LEVELS; i++) {
+            args.add(values != null && i < values.length ? Long.toString(values[i]) : "0");
         }
-
-        String verKey = verKey(ticker);
-        String askSnapshotKey = askSnapshotKey(ticker, ver);
-        String bidSnapshotKey = bidSnapshotKey(ticker, ver);
-        String askIdxKey = askIdxKey(ticker, ver);
-        String bidIdxKey = bidIdxKey(ticker, ver);
-
-        long[] askPrices = dto.askPrices();
-        long[] askVolumes = dto.askVolumes();
-        long[] bidPrices = dto.bidPrices();
-        long[] bidVolumes = dto.bidVolumes();
-
-        long ttlSec = SNAP_TTL.getSeconds();
-
-        redis.executePipelined(new SessionCallback<Object>() {
-            @Override
-            public Object execute(RedisOperations operations) {
-
-                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
-
-                BoundHashOperations<String, String, String> askSnapshot = ops.boundHashOps(askSnapshotKey);
-                BoundZSetOperations<String, String> askIdx = ops.boundZSetOps(askIdxKey);
-
-                for (int i = 0; i < askPrices.length; i++) {
-                    if (askVolumes[i] <= 0) {
-                        continue;
-                    }
-                    String price = Long.toString(askPrices[i]);
-                    String volume = Long.toString(askVolumes[i]);
-                    askSnapshot.put(price, volume);
-                    askIdx.add(price, (double) askPrices[i]);
-                }
-
-                BoundHashOperations<String, String, String> bidSnapshot = ops.boundHashOps(bidSnapshotKey);
-                BoundZSetOperations<String, String> bidIdx = ops.boundZSetOps(bidIdxKey);
-
-                for (int i = 0; i < bidPrices.length; i++) {
-                    if (bidVolumes[i] <= 0) {
-                        continue;
-                    }
-                    String price = Long.toString(bidPrices[i]);
-                    String volume = Long.toString(bidVolumes[i]);
-                    bidSnapshot.put(price, volume);
-                    bidIdx.add(price, (double) bidPrices[i]);
-                }
-
-                ops.expire(askSnapshotKey, ttlSec, TimeUnit.SECONDS);
-                ops.expire(askIdxKey, ttlSec, TimeUnit.SECONDS);
-                ops.expire(bidSnapshotKey, ttlSec, TimeUnit.SECONDS);
-                ops.expire(bidIdxKey, ttlSec, TimeUnit.SECONDS);
-
-                ops.boundValueOps(verKey).set(String.valueOf(ver), ttlSec, TimeUnit.SECONDS);
-
-                return null;
-            }
-        });
-        return ver;
     }
 }
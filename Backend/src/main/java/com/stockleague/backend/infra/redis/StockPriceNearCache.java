@@ -0,0 +1,111 @@
+package com.stockleague.backend.infra.redis;
+
+import com.stockleague.backend.infra.properties.PriceCacheProperties;
+import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * 종목별 최신 시세({@link StockPriceDto})를 JVM 메모리에 보관하는 near cache
+ * <p>수집 경로({@link StockPriceRedisService#save})에서 채워지며,
+ * 다른 인스턴스의 갱신은 Redis pub/sub({@link StockPriceUpdateSubscriber})으로 전달받습니다.</p>
+ * <p>pub/sub 메시지 유실에 대비해 {@code price-cache.max-staleness}보다 오래된 항목은 miss로 취급합니다.</p>
+ */
+@Component
+public class StockPriceNearCache {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final PriceCacheProperties properties;
+
+    /** pub/sub 메시지의 발행 노드 식별자 (자기 자신이 보낸 메시지 무시용) */
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter staleCounter;
+
+    public StockPriceNearCache(PriceCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hitCounter = Counter.builder("stock.price.near_cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("stock.price.near_cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.staleCounter = Counter.builder("stock.price.near_cache")
+                .tag("result", "stale")
+                .register(meterRegistry);
+        Gauge.builder("stock.price.near_cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 캐시된 최신 시세를 조회합니다.
+     *
+     * @param ticker 종목 코드
+     * @return 허용 staleness 이내의 시세, 없거나 오래된 경우 {@code null}
+     */
+    public StockPriceDto get(String ticker) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        Entry entry = entries.get(ticker);
+        if (entry == null) {
+            missCounter.increment();
+            return null;
+        }
+
+        long ageMillis = System.currentTimeMillis() - entry.cachedAtMillis();
+        if (ageMillis > properties.getMaxStaleness().toMillis()) {
+            staleCounter.increment();
+            return null;
+        }
+
+        hitCounter.increment();
+        return entry.price();
+    }
+
+    /**
+     * 시세를 캐시에 반영합니다.
+     * <p>이미 더 최신 시각의 시세가 있으면 덮어쓰지 않습니다. (pub/sub 순서 역전 대비)</p>
+     *
+     * @param dto 반영할 시세
+     */
+    public void put(StockPriceDto dto) {
+        if (!isEnabled() || dto == null || dto.ticker() == null || dto.datetime() == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        entries.compute(dto.ticker(), (ticker, current) -> {
+            if (current != null && current.price().datetime().isAfter(dto.datetime())) {
+                return current;
+            }
+            return new Entry(dto, now);
+        });
+    }
+
+    public void evict(String ticker) {
+        entries.remove(ticker);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private record Entry(StockPriceDto price, long cachedAtMillis) {
+    }
+}
@@ -2,16 +2,23 @@ package com.stockleague.backend.infra.redis;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockleague.backend.infra.properties.PriceCacheProperties;
 import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
@@ -22,6 +29,8 @@ public class StockPriceRedisService {
 
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper;
+    private final StockPriceNearCache nearCache;
+    private final PriceCacheProperties priceCacheProperties;
 
     private static final String PREFIX = "stock:price:";
 
@@ -30,6 +39,7 @@ public class StockPriceRedisService {
      * <p>key: stock:price:{ticker}</p>
      * <p>score: LocalDateTime을 epochSecond로 변환한 값</p>
      * <p>value: JSON 직렬화된 StockPriceDto</p>
+     * <p>저장 후 로컬 near cache를 갱신하고, 다른 인스턴스에 pub/sub으로 전파합니다.</p>
      *
      * @param dto 저장할 실시간 시세 데이터
      */
@@ -53,6 +63,9 @@ public class StockPriceRedisService {
             double score = dto.datetime().toEpochSecond(ZoneOffset.ofHours(9));
             redisTemplate.opsForZSet().add(key, value, score);
 
+            nearCache.put(dto);
+            publishUpdate(dto);
+
         } catch (JsonProcessingException e) {
             log.error("[Redis] 시세 저장 실패 (직렬화 오류): {}", e.getMessage());
         }
@@ -104,6 +117,24 @@ public class StockPriceRedisService {
         log.info("[Redis] 오래된 시세 제거 완료 - {}: {}건 삭제 (기준 시각: {})", ticker, removed, threshold);
     }
 
+    /**
+     * 다른 인스턴스의 near cache가 갱신되도록 최신 시세를 pub/sub 채널에 발행
+     *
+     * @param dto 최신 시세
+     */
+    private void publishUpdate(StockPriceDto dto) {
+        if (!nearCache.isEnabled()) {
+            return;
+        }
+        try {
+            String message = objectMapper.writeValueAsString(
+                    new StockPriceUpdateMessage(nearCache.getNodeId(), dto));
+            redisTemplate.convertAndSend(priceCacheProperties.getChannel(), message);
+        } catch (Exception e) {
+            log.warn("[Redis] 시세 갱신 메시지 발행 실패 - {}: {}", dto.ticker(), e.getMessage());
+        }
+    }
+
     /**
      * 시세 Redis 키를 생성
      * <p>형식: stock:price:{ticker}</p>
@@ -134,6 +165,9 @@ public class StockPriceRedisService {
      * Redis ZSET에서 가장 높은 score(=최신 시각)를 가진 1개의 데이터를 가져와
      * JSON을 파싱한 {@link StockPriceDto} 객체로 반환합니다.
      * </p>
+     * <p>
+     * 로컬 near cache에 허용 staleness 이내의 값이 있으면 Redis를 조회하지 않습니다.
+     * </p>
      *
      * <ul>
      *     <li>Key 형식: {@code stock:price:{ticker}}</li>
@@ -144,6 +178,11 @@ public class StockPriceRedisService {
      * @return {@link StockPriceDto} 객체, 시세가 없거나 오류 발생 시 {@code null} 반환
      */
     public StockPriceDto getLatest(String ticker) {
+        StockPriceDto cached = nearCache.get(ticker);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
             String key = getKey(ticker);
 
@@ -154,12 +193,59 @@ public class StockPriceRedisService {
             }
 
             String latestJson = latestSet.iterator().next();
-            return objectMapper.readValue(latestJson, StockPriceDto.class);
+            StockPriceDto latest = objectMapper.readValue(latestJson, StockPriceDto.class);
+            nearCache.put(latest);
+            return latest;
 
         } catch (Exception e) {
             log.error("[Redis] 최신 시세 조회 실패: {}", e.getMessage());
             return null;
         }
     }
-}
 
+    /**
+     * 여러 종목의 최신 시세를 한 번에 조회합니다.
+     * <p>near cache에 있는 종목은 그대로 쓰고, 나머지는 ZREVRANGE를 파이프라인으로 묶어 한 번에 조회합니다.</p>
+     *
+     * @param tickers 종목 코드 목록
+     * @return 종목 코드 → 최신 시세 (시세가 없는 종목은 제외)
+     */
+    public Map<String, StockPriceDto> getLatestAll(Collection<String> tickers) {
+        Map<String, StockPriceDto> result = new HashMap<>(tickers.size() * 2);
+        List<String> misses = new ArrayList<>();
+        for (String ticker : tickers) {
+            StockPriceDto cached = nearCache.get(ticker);
+            if (cached != null) {
+                result.put(ticker, cached);
+            } else {
+                misses.add(ticker);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        try {
+            List<Object> latestSets = redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                for (String ticker : misses) {
+                    conn.zRevRange(getKey(ticker), 0, 0);
+                }
+                return null;
+            });
+
+            for (int i = 0; i < misses.size() && i < latestSets.size(); i++) {
+                if (!(latestSets.get(i) instanceof Set<?> latestSet) || latestSet.isEmpty()) {
+                    continue;
+                }
+                StockPriceDto latest = objectMapper.readValue(
+                        String.valueOf(latestSet.iterator().next()), StockPriceDto.class);
+                nearCache.put(latest);
+                result.put(misses.get(i), latest);
+            }
+        } catch (Exception e) {
+            log.error("[Redis] 최신 시세 일괄 조회 실패: {}", e.getMessage());
+        }
+        return result;
+    }
+}
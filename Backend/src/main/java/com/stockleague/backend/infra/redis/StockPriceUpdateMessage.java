@@ -0,0 +1,15 @@
+package com.stockleague.backend.infra.redis;
+
+import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+
+/**
+ * 노드 간 시세 갱신 전파용 pub/sub 메시지
+ *
+ * @param origin 발행한 노드 식별자
+ * @param price  최신 시세
+ */
+public record StockPriceUpdateMessage(
+        String origin,
+        StockPriceDto price
+) {
+}
@@ -0,0 +1,37 @@
+package com.stockleague.backend.infra.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 다른 인스턴스가 발행한 시세 갱신 메시지를 수신하여 로컬 {@link StockPriceNearCache}에 반영합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockPriceUpdateSubscriber implements MessageListener {
+
+    private final StockPriceNearCache nearCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String json = new String(message.getBody(), StandardCharsets.UTF_8);
+            StockPriceUpdateMessage update = objectMapper.readValue(json, StockPriceUpdateMessage.class);
+
+            if (nearCache.getNodeId().equals(update.origin())) {
+                return;
+            }
+
+            nearCache.put(update.price());
+        } catch (Exception e) {
+            log.warn("[Redis] 시세 갱신 메시지 처리 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -26,16 +26,19 @@ public class UserRedisCleanupService {
     private final StringRedisTemplate redisTemplate;
     private final OrderRepository orderRepository;
     private final OrderQueueRedisService orderQueueRedisService;
+    private final RankingRedisService rankingRedisService;
 
     /**
      * 유저 삭제 전에 Redis 흔적을 모두 제거한다.
      * - 실시간 체결을 막기 위해 대기/부분체결 주문을 시스템 취소 + 대기 큐에서 제거
      * - 장마감 스냅샷 키(user:asset:closing:*:{userId}) 전부 삭제
+     * - 실시간 랭킹 ZSET에서 제거
      */
     @Transactional
     public void purgeAllForUser(Long userId) {
         cancelAndRemovePendingOrdersFromQueues(userId);
         deleteAllSnapshotKeys(userId);
+        rankingRedisService.remove(userId);
     }
 
     /** 대기/부분체결 주문을 시스템 취소하고 Redis 대기 큐에서 제거 */
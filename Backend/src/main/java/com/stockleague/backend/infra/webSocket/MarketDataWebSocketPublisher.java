@@ -0,0 +1,224 @@
+package com.stockleague.backend.infra.webSocket;
+
+import com.stockleague.backend.infra.metrics.TickTrace;
+import com.stockleague.backend.infra.metrics.TickTrace.Stage;
+import com.stockleague.backend.infra.properties.MarketDataPublishProperties;
+import com.stockleague.backend.stock.dto.response.stock.CandleUpdateDto;
+import com.stockleague.backend.stock.dto.response.stock.StockOrderBookDto;
+import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실시간 시세/호가 STOMP 브로드캐스트를 destination 단위로 conflation 하는 퍼블리셔
+ * <p>
+ * 수신 프레임은 destination별 최신 값 1개만 보관하고, 토픽 종류별로 설정된 최대 빈도에 맞춰 주기적으로 전송합니다.
+ * 중간 프레임은 버려지며, 클라이언트는 항상 마지막 값을 받습니다.
+ * 봉 토픽의 진행 중(FORMING) 이벤트도 같은 방식으로 conflation 되지만, 구간 확정(CLOSED) 이벤트는 버리지 않고 즉시 전송합니다.
+ * 봉 토픽은 destination별 잠금 안에서 꺼내고 전송하므로, 확정 이벤트 뒤에 같은 구간의 진행 중 이벤트가 도착하지 않습니다.
+ * </p>
+ */
+@Slf4j
+@Component
+public class MarketDataWebSocketPublisher {
+
+    private static final String DEST_STOCK_PREFIX = "/topic/stocks/";
+    private static final String DEST_ORDERBOOK_PREFIX = "/topic/orderbook/";
+    private static final String DEST_CANDLE_PREFIX = "/topic/candles/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MarketDataPublishProperties properties;
+
+    private final ConcurrentMap<String, Pending> pendingPrices = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Pending> pendingOrderBooks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Pending> pendingCandles = new ConcurrentHashMap<>();
+    /** 봉 destination별 전송 잠금 (종목 수 × 간격 수만큼만 생성) */
+    private final ConcurrentMap<String, Object> candleLocks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newScheduledThreadPool(3, r -> {
+        Thread t = new Thread(r, "market-data-flush");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Counter priceSent;
+    private final Counter priceConflated;
+    private final Counter orderBookSent;
+    private final Counter orderBookConflated;
+    private final Counter candleSent;
+    private final Counter candleConflated;
+
+    public MarketDataWebSocketPublisher(
+            SimpMessagingTemplate messagingTemplate,
+            MarketDataPublishProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.messagingTemplate = messagingTemplate;
+        this.properties = properties;
+        this.priceSent = counter(meterRegistry, "price", "sent");
+        this.priceConflated = counter(meterRegistry, "price", "conflated");
+        this.orderBookSent = counter(meterRegistry, "orderbook", "sent");
+        this.orderBookConflated = counter(meterRegistry, "orderbook", "conflated");
+        this.candleSent = counter(meterRegistry, "candle", "sent");
+        this.candleConflated = counter(meterRegistry, "candle", "conflated");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isConflationEnabled()) {
+            log.info("[MarketData] conflation 비활성화 - 프레임 즉시 전송");
+            return;
+        }
+        long pricePeriodMs = periodMillis(properties.getPriceRateHz());
+        long orderBookPeriodMs = periodMillis(properties.getOrderbookRateHz());
+        long candlePeriodMs = periodMillis(properties.getCandleRateHz());
+
+        flusher.scheduleAtFixedRate(() -> flush(pendingPrices, priceSent),
+                pricePeriodMs, pricePeriodMs, TimeUnit.MILLISECONDS);
+        flusher.scheduleAtFixedRate(() -> flush(pendingOrderBooks, orderBookSent),
+                orderBookPeriodMs, orderBookPeriodMs, TimeUnit.MILLISECONDS);
+        flusher.scheduleAtFixedRate(this::flushCandles,
+                candlePeriodMs, candlePeriodMs, TimeUnit.MILLISECONDS);
+
+        log.info("[MarketData] conflation 시작 - 시세 {}ms, 호가 {}ms, 봉 {}ms 주기",
+                pricePeriodMs, orderBookPeriodMs, candlePeriodMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdownNow();
+    }
+
+    /** 시세 전송 요청: /topic/stocks/{ticker} */
+    public void publishPrice(StockPriceDto dto) {
+        publishPrice(dto, TickTrace.NOOP);
+    }
+
+    /** 시세 전송 요청 - 실제 전송 시점에 {@code trace}의 전송/전체 지연을 기록 */
+    public void publishPrice(StockPriceDto dto, TickTrace trace) {
+        enqueue(pendingPrices, DEST_STOCK_PREFIX + dto.ticker(), new Pending(dto, trace), priceSent, priceConflated);
+    }
+
+    /** 호가 전송 요청: /topic/orderbook/{ticker} */
+    public void publishOrderBook(StockOrderBookDto dto) {
+        publishOrderBook(dto, TickTrace.NOOP);
+    }
+
+    /** 호가 전송 요청 - 실제 전송 시점에 {@code trace}의 전송/전체 지연을 기록 */
+    public void publishOrderBook(StockOrderBookDto dto, TickTrace trace) {
+        enqueue(pendingOrderBooks, DEST_ORDERBOOK_PREFIX + dto.ticker(), new Pending(dto, trace),
+                orderBookSent, orderBookConflated);
+    }
+
+    /** 진행 중인 봉 전송 요청: /topic/candles/{ticker}/{interval} */
+    public void publishFormingCandle(CandleUpdateDto dto) {
+        String destination = candleDestination(dto);
+        if (!properties.isConflationEnabled()) {
+            synchronized (candleLock(destination)) {
+                send(destination, new Pending(dto, TickTrace.NOOP), candleSent);
+            }
+            return;
+        }
+        enqueue(pendingCandles, destination, new Pending(dto, TickTrace.NOOP), candleSent, candleConflated);
+    }
+
+    /**
+     * 확정된 봉 즉시 전송: /topic/candles/{ticker}/{interval}
+     * <p>
+     * 같은 구간의 진행 중 이벤트가 아직 대기 중이면 버리고, 주기 전송과 같은 destination 잠금 안에서 보내므로
+     * 이미 꺼내져 전송 중이던 진행 중 이벤트도 확정 이벤트보다 먼저 도착합니다.
+     * </p>
+     */
+    public void publishClosedCandle(CandleUpdateDto dto) {
+        String destination = candleDestination(dto);
+        synchronized (candleLock(destination)) {
+            pendingCandles.computeIfPresent(destination, (key, pending) ->
+                    pending.payload() instanceof CandleUpdateDto forming
+                            && forming.candle().dateTime().equals(dto.candle().dateTime()) ? null : pending);
+            send(destination, new Pending(dto, TickTrace.NOOP), candleSent);
+        }
+    }
+
+    private Object candleLock(String destination) {
+        return candleLocks.computeIfAbsent(destination, key -> new Object());
+    }
+
+    private static String candleDestination(CandleUpdateDto dto) {
+        return DEST_CANDLE_PREFIX + dto.candle().ticker() + "/" + dto.interval();
+    }
+
+    private void enqueue(ConcurrentMap<String, Pending> pending, String destination, Pending payload,
+                         Counter sent, Counter conflated) {
+        if (!properties.isConflationEnabled()) {
+            messagingTemplate.convertAndSend(destination, payload.payload());
+            payload.trace().finish(Stage.PUBLISH);
+            sent.increment();
+            return;
+        }
+        if (pending.put(destination, payload) != null) {
+            conflated.increment();
+        }
+    }
+
+    /**
+     * 보류 중인 destination별 최신 값을 전송
+     * <p>전송 직전에 제거하므로, 전송 도중 들어온 값은 다음 주기에 전송됩니다.</p>
+     */
+    private void flush(ConcurrentMap<String, Pending> pending, Counter sent) {
+        for (String destination : pending.keySet()) {
+            Pending payload = pending.remove(destination);
+            if (payload != null) {
+                send(destination, payload, sent);
+            }
+        }
+    }
+
+    /** 봉 토픽 주기 전송 - 확정 이벤트와 순서가 섞이지 않도록 destination 잠금 안에서 꺼내고 전송 */
+    private void flushCandles() {
+        for (String destination : pendingCandles.keySet()) {
+            synchronized (candleLock(destination)) {
+                Pending payload = pendingCandles.remove(destination);
+                if (payload != null) {
+                    send(destination, payload, candleSent);
+                }
+            }
+        }
+    }
+
+    private void send(String destination, Pending payload, Counter sent) {
+        try {
+            messagingTemplate.convertAndSend(destination, payload.payload());
+            payload.trace().finish(Stage.PUBLISH);
+            sent.increment();
+        } catch (Exception e) {
+            log.warn("[MarketData] 전송 실패 - destination={}, err={}", destination, e.getMessage());
+        }
+    }
+
+    private static long periodMillis(double rateHz) {
+        if (rateHz <= 0) {
+            throw new IllegalArgumentException("전송 빈도는 0보다 커야 합니다: " + rateHz);
+        }
+        return Math.max(1L, Math.round(1000.0 / rateHz));
+    }
+
+    /** 전송 대기 값 - conflation 으로 덮어써진 값의 trace 는 기록되지 않습니다. */
+    private record Pending(Object payload, TickTrace trace) {
+    }
+
+    private static Counter counter(MeterRegistry registry, String kind, String result) {
+        return Counter.builder("market_data.publish")
+                .tag("kind", kind)
+                .tag("result", result)
+                .register(registry);
+    }
+}
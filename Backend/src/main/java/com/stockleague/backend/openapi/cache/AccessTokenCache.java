@@ -0,0 +1,37 @@
+package com.stockleague.backend.openapi.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.stereotype.Component;
+
+/**
+ * REST API access_token 메모리 캐시
+ * <p>만료 {@link #REFRESH_MARGIN} 전부터는 없는 것으로 보고 다시 발급/조회하게 합니다.</p>
+ */
+@Component
+public class AccessTokenCache {
+
+    private static final Duration REFRESH_MARGIN = Duration.ofMinutes(5);
+
+    private final AtomicReference<CachedToken> token = new AtomicReference<>();
+
+    public void set(String accessToken, Duration expiresIn) {
+        token.set(new CachedToken(accessToken, Instant.now().plus(expiresIn).minus(REFRESH_MARGIN)));
+    }
+
+    /**
+     * @return 유효한 토큰, 없거나 곧 만료되면 null
+     */
+    public String get() {
+        CachedToken cached = token.get();
+        return cached != null && Instant.now().isBefore(cached.refreshAt()) ? cached.value() : null;
+    }
+
+    public void clear() {
+        token.set(null);
+    }
+
+    private record CachedToken(String value, Instant refreshAt) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.stockleague.backend.openapi.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockleague.backend.infra.properties.KisRestProperties;
 import com.stockleague.backend.infra.properties.OpenApiProperties;
 import com.stockleague.backend.openapi.dto.response.KisDailyPriceResponseDto;
 import com.stockleague.backend.openapi.dto.response.KisMonthlyPriceResponseDto;
@@ -11,239 +12,136 @@ import com.stockleague.backend.stock.dto.response.stock.StockDailyPriceDto;
 import com.stockleague.backend.stock.dto.response.stock.StockMonthlyPriceDto;
 import com.stockleague.backend.stock.dto.response.stock.StockWeeklyPriceDto;
 import com.stockleague.backend.stock.dto.response.stock.StockYearlyPriceDto;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
-import java.util.List;
-
+import reactor.util.retry.Retry;
+
+/**
+ * KIS 기간별 시세(연/월/주/일봉) REST 클라이언트
+ * <p>
+ * 요청마다 {@link KisRateLimiter} 한도 대기 → 토큰 조회 → 호출(응답 대기 {@code kis.rest.timeout}) 순으로 진행하고,
+ * 타임아웃 · 연결 오류 · 5xx/429 응답은 지수 백오프로 재시도합니다.
+ * 호출부({@code PriceBatchService})가 작업 스레드에서 응답을 바로 일괄 저장하므로 결과를 기다려 반환하며,
+ * 재시도 후에도 실패하면 예외를 던집니다.
+ * </p>
+ */
 @Slf4j
 @Component
 public class KisApiClient {
 
+    private static final String CHART_URI = "/uapi/domestic-stock/v1/quotations/inquire-daily-itemchartprice";
+    private static final String TR_ID = "FHKST03010100";
+
     private final WebClient kisWebClient;
     private final OpenApiService openApiService;
     private final OpenApiProperties openApiProperties;
+    private final KisRestProperties restProperties;
+    private final KisRateLimiter rateLimiter;
     private final ObjectMapper objectMapper;
 
-    private static final String TR_ID = "FHKST03010100";
-
     public KisApiClient(
             @Qualifier("kisApiWebClient") WebClient kisWebClient,
             OpenApiService openApiService,
             OpenApiProperties openApiProperties,
+            KisRestProperties restProperties,
+            KisRateLimiter rateLimiter,
             ObjectMapper objectMapper
     ) {
         this.kisWebClient = kisWebClient;
         this.openApiService = openApiService;
         this.openApiProperties = openApiProperties;
+        this.restProperties = restProperties;
+        this.rateLimiter = rateLimiter;
         this.objectMapper = objectMapper;
     }
 
     public List<StockYearlyPriceDto> getYearlyPrices(String ticker, int year) {
-        return getYearlyDtos(ticker, year + "0101", year + "1231", true);
+        return fetchChart(ticker, "Y", year + "0101", year + "1231", KisYearlyPriceResponseDto.class)
+                .map(response -> response.toDtoList(ticker))
+                .blockOptional()
+                .orElse(List.of());
     }
 
     public List<StockMonthlyPriceDto> getMonthlyPrices(String ticker, String fromDate, String toDate) {
-        return getMonthlyDtos(ticker, fromDate, toDate);
+        return fetchChart(ticker, "M", fromDate, toDate, KisMonthlyPriceResponseDto.class)
+                .map(response -> response.toMonthlyDtoList(ticker))
+                .blockOptional()
+                .orElse(List.of());
     }
 
-    public List<StockDailyPriceDto> getDailyPrices(String ticker, String fromDate, String toDate) {
-        return getDailyDtos(ticker, fromDate, toDate);
+    public List<StockWeeklyPriceDto> getWeeklyPrices(String ticker, String fromDate, String toDate) {
+        return fetchChart(ticker, "W", fromDate, toDate, KisWeeklyPriceResponseDto.class)
+                .map(response -> response.toDtoList(ticker))
+                .blockOptional()
+                .orElse(List.of());
     }
 
-    private List<StockYearlyPriceDto> getYearlyDtos(String ticker, String fromDate, String toDate, boolean isYearly) {
-        String uri = "/uapi/domestic-stock/v1/quotations/inquire-daily-itemchartprice";
-        String accessToken = openApiService.getValidAccessToken().block();
-        if (accessToken == null) {
-            log.warn("[KIS API] AccessToken 획득 실패 - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-            return List.of();
-        }
-
-        try {
-            log.debug("[KIS API] 시세 요청 시작 - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-
-            String rawJson = kisWebClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path(uri)
-                            .queryParam("fid_cond_mrkt_div_code", "J")
-                            .queryParam("fid_input_iscd", ticker)
-                            .queryParam("fid_period_div_code", isYearly ? "Y" : "M")
-                            .queryParam("fid_org_adj_prc", "0")
-                            .queryParam("fid_input_date_1", fromDate)
-                            .queryParam("fid_input_date_2", toDate)
-                            .build())
-                    .header("authorization", "Bearer " + accessToken)
-                    .header("appkey", openApiProperties.getAppKey())
-                    .header("appsecret", openApiProperties.getAppSecret())
-                    .header("tr_id", TR_ID)
-                    .retrieve()
-                    .onStatus(status -> status.isError(), response ->
-                            response.bodyToMono(String.class)
-                                    .doOnNext(errorBody -> log.error("[KIS API] 에러 응답 바디: {}", errorBody))
-                                    .flatMap(body -> Mono.error(new RuntimeException("KIS API 오류 응답"))))
-                    .bodyToMono(String.class)
-                    .doOnNext(raw -> log.warn("[KIS API] 원문 응답: {}", raw))
-                    .block();
-
-            if (rawJson == null) {
-                log.warn("[KIS API] 응답이 null - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-                return List.of();
-            }
-
-            KisYearlyPriceResponseDto response = objectMapper.readValue(rawJson, KisYearlyPriceResponseDto.class);
-            return response.toDtoList(ticker);
-
-        } catch (Exception e) {
-            log.error("[KIS API] 시세 조회 예외 발생 - ticker: {}, 기간: {}~{}, exception: {}", ticker, fromDate, toDate, e.getMessage(), e);
-            return List.of();
-        }
+    public List<StockDailyPriceDto> getDailyPrices(String ticker, String fromDate, String toDate) {
+        return fetchChart(ticker, "D", fromDate, toDate, KisDailyPriceResponseDto.class)
+                .map(response -> response.toDailyDtoList(ticker))
+                .blockOptional()
+                .orElse(List.of());
     }
 
-    private List<StockMonthlyPriceDto> getMonthlyDtos(String ticker, String fromDate, String toDate) {
-        String uri = "/uapi/domestic-stock/v1/quotations/inquire-daily-itemchartprice";
-        String accessToken = openApiService.getValidAccessToken().block();
-        if (accessToken == null) {
-            log.warn("[KIS API] AccessToken 획득 실패 - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-            return List.of();
-        }
-
-        try {
-            log.debug("[KIS API] 월봉 시세 요청 시작 - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-
-            String rawJson = kisWebClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path(uri)
-                            .queryParam("fid_cond_mrkt_div_code", "J")
-                            .queryParam("fid_input_iscd", ticker)
-                            .queryParam("fid_period_div_code", "M")
-                            .queryParam("fid_org_adj_prc", "0")
-                            .queryParam("fid_input_date_1", fromDate)
-                            .queryParam("fid_input_date_2", toDate)
-                            .build())
-                    .header("authorization", "Bearer " + accessToken)
-                    .header("appkey", openApiProperties.getAppKey())
-                    .header("appsecret", openApiProperties.getAppSecret())
-                    .header("tr_id", TR_ID)
-                    .retrieve()
-                    .onStatus(status -> status.isError(), response ->
-                            response.bodyToMono(String.class)
-                                    .doOnNext(errorBody -> log.error("[KIS API] 에러 응답 바디: {}", errorBody))
-                                    .flatMap(body -> Mono.error(new RuntimeException("KIS API 오류 응답"))))
-                    .bodyToMono(String.class)
-                    .doOnNext(raw -> log.warn("[KIS API] 월봉 원문 응답: {}", raw))
-                    .block();
-
-            if (rawJson == null) {
-                log.warn("[KIS API] 월봉 응답이 null - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-                return List.of();
-            }
-
-            KisMonthlyPriceResponseDto response = objectMapper.readValue(rawJson, KisMonthlyPriceResponseDto.class);
-            return response.toMonthlyDtoList(ticker);
-
-        } catch (Exception e) {
-            log.error("[KIS API] 월봉 조회 예외 - ticker: {}, 기간: {}~{}, exception: {}", ticker, fromDate, toDate, e.getMessage(), e);
-            return List.of();
-        }
+    /**
+     * 기간별 시세 조회 1건
+     *
+     * @param periodCode fid_period_div_code (Y: 연, M: 월, W: 주, D: 일)
+     */
+    private <R> Mono<R> fetchChart(String ticker, String periodCode, String fromDate, String toDate,
+                                   Class<R> responseType) {
+        return rateLimiter.permit()
+                .then(Mono.defer(openApiService::getValidAccessToken))
+                .flatMap(accessToken -> kisWebClient.get()
+                        .uri(uriBuilder -> uriBuilder
+                                .path(CHART_URI)
+                                .queryParam("fid_cond_mrkt_div_code", "J")
+                                .queryParam("fid_input_iscd", ticker)
+                                .queryParam("fid_period_div_code", periodCode)
+                                .queryParam("fid_org_adj_prc", "0")
+                                .queryParam("fid_input_date_1", fromDate)
+                                .queryParam("fid_input_date_2", toDate)
+                                .build())
+                        .header("authorization", "Bearer " + accessToken)
+                        .header("appkey", openApiProperties.getAppKey())
+                        .header("appsecret", openApiProperties.getAppSecret())
+                        .header("tr_id", TR_ID)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .timeout(restProperties.getTimeout()))
+                .retryWhen(Retry.backoff(restProperties.getMaxRetries(), restProperties.getRetryBackoff())
+                        .filter(KisApiClient::isRetryable)
+                        .doBeforeRetry(signal -> log.warn("[KIS API] 재시도 {}회 - ticker: {}, 구분: {}, 기간: {}~{}, 원인: {}",
+                                signal.totalRetries() + 1, ticker, periodCode, fromDate, toDate,
+                                signal.failure().toString()))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .flatMap(rawJson -> Mono.fromCallable(() -> objectMapper.readValue(rawJson, responseType)))
+                .doOnSuccess(response -> log.debug("[KIS API] 시세 조회 완료 - ticker: {}, 구분: {}, 기간: {}~{}",
+                        ticker, periodCode, fromDate, toDate))
+                .doOnError(e -> logFailure(ticker, periodCode, fromDate, toDate, e));
     }
 
-    public List<StockWeeklyPriceDto> getWeeklyPrices(String ticker, String fromDate, String toDate) {
-        String uri = "/uapi/domestic-stock/v1/quotations/inquire-daily-itemchartprice";
-        String accessToken = openApiService.getValidAccessToken().block();
-        if (accessToken == null) {
-            log.warn("[KIS API] AccessToken 획득 실패 - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-            return List.of();
-        }
-
-        try {
-            log.debug("[KIS API] 주봉 시세 요청 시작 - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-
-            String rawJson = kisWebClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path(uri)
-                            .queryParam("fid_cond_mrkt_div_code", "J")
-                            .queryParam("fid_input_iscd", ticker)
-                            .queryParam("fid_period_div_code", "W") // 주봉
-                            .queryParam("fid_org_adj_prc", "0")
-                            .queryParam("fid_input_date_1", fromDate)
-                            .queryParam("fid_input_date_2", toDate)
-                            .build())
-                    .header("authorization", "Bearer " + accessToken)
-                    .header("appkey", openApiProperties.getAppKey())
-                    .header("appsecret", openApiProperties.getAppSecret())
-                    .header("tr_id", TR_ID)
-                    .retrieve()
-                    .onStatus(HttpStatusCode::isError, response ->
-                            response.bodyToMono(String.class)
-                                    .doOnNext(errorBody -> log.error("[KIS API] 에러 응답 바디: {}", errorBody))
-                                    .flatMap(body -> Mono.error(new RuntimeException("KIS API 오류 응답"))))
-                    .bodyToMono(String.class)
-                    .doOnNext(raw -> log.warn("[KIS API] 주봉 원문 응답: {}", raw))
-                    .block();
-
-            if (rawJson == null) {
-                log.warn("[KIS API] 주봉 응답이 null - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-                return List.of();
-            }
-
-            KisWeeklyPriceResponseDto response = objectMapper.readValue(rawJson, KisWeeklyPriceResponseDto.class);
-            return response.toDtoList(ticker);
-
-        } catch (Exception e) {
-            log.error("[KIS API] 주봉 조회 예외 - ticker: {}, 기간: {}~{}, exception: {}", ticker, fromDate, toDate, e.getMessage(), e);
-            return List.of();
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
         }
+        return e instanceof TimeoutException || e instanceof WebClientRequestException;
     }
 
-    public List<StockDailyPriceDto> getDailyDtos(String ticker, String fromDate, String toDate) {
-        String uri = "/uapi/domestic-stock/v1/quotations/inquire-daily-itemchartprice";
-        String accessToken = openApiService.getValidAccessToken().block();
-        if (accessToken == null) {
-            log.warn("[KIS API] AccessToken 획득 실패 - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-            return List.of();
-        }
-
-        try {
-            log.debug("[KIS API] 일봉 시세 요청 시작 - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-
-            String rawJson = kisWebClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path(uri)
-                            .queryParam("fid_cond_mrkt_div_code", "J")
-                            .queryParam("fid_input_iscd", ticker)
-                            .queryParam("fid_period_div_code", "D")  // 일별
-                            .queryParam("fid_org_adj_prc", "0")
-                            .queryParam("fid_input_date_1", fromDate)
-                            .queryParam("fid_input_date_2", toDate)
-                            .build())
-                    .header("authorization", "Bearer " + accessToken)
-                    .header("appkey", openApiProperties.getAppKey())
-                    .header("appsecret", openApiProperties.getAppSecret())
-                    .header("tr_id", TR_ID)
-                    .retrieve()
-                    .onStatus(HttpStatusCode::isError, response ->
-                            response.bodyToMono(String.class)
-                                    .doOnNext(errorBody -> log.error("[KIS API] 에러 응답 바디: {}", errorBody))
-                                    .flatMap(body -> Mono.error(new RuntimeException("KIS API 오류 응답"))))
-                    .bodyToMono(String.class)
-                    .doOnNext(raw -> log.warn("[KIS API] 일봉 원문 응답: {}", raw))
-                    .block();
-
-            if (rawJson == null) {
-                log.warn("[KIS API] 일봉 응답이 null - ticker: {}, 기간: {}~{}", ticker, fromDate, toDate);
-                return List.of();
-            }
-
-            KisDailyPriceResponseDto response = objectMapper.readValue(rawJson, KisDailyPriceResponseDto.class);
-            return response.toDailyDtoList(ticker);
-
-        } catch (Exception e) {
-            log.error("[KIS API] 일봉 조회 예외 - ticker: {}, 기간: {}~{}, exception: {}", ticker, fromDate, toDate, e.getMessage(), e);
-            return List.of();
+    private static void logFailure(String ticker, String periodCode, String fromDate, String toDate, Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            log.error("[KIS API] 에러 응답 - ticker: {}, 구분: {}, 기간: {}~{}, status: {}, body: {}",
+                    ticker, periodCode, fromDate, toDate, response.getStatusCode(), response.getResponseBodyAsString());
+            return;
         }
+        log.error("[KIS API] 시세 조회 실패 - ticker: {}, 구분: {}, 기간: {}~{}, exception: {}",
+                ticker, periodCode, fromDate, toDate, e.toString());
     }
-
 }
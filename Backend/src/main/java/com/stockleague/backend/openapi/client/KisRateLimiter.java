@@ -0,0 +1,56 @@
+package com.stockleague.backend.openapi.client;
+
+import com.stockleague.backend.infra.properties.KisRestProperties;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * KIS REST 호출 한도를 지키기 위한 토큰 버킷
+ * <p>
+ * 초당 {@code requests-per-second}개씩 토큰이 채워지고 최대 {@code burst}개까지 쌓입니다.
+ * 토큰이 없으면 미리 예약(음수 잔량)한 뒤 차례가 올 때까지 대기하므로, 여러 스레드가 동시에 호출해도
+ * 요청 순서대로 한도에 맞춰 분산됩니다.
+ * </p>
+ */
+@Component
+public class KisRateLimiter {
+
+    private final double permitsPerNano;
+    private final double maxPermits;
+
+    private double permits;
+    private long lastRefillNanos;
+
+    public KisRateLimiter(KisRestProperties properties) {
+        if (properties.getRequestsPerSecond() <= 0) {
+            throw new IllegalArgumentException("호출 한도는 0보다 커야 합니다: " + properties.getRequestsPerSecond());
+        }
+        this.permitsPerNano = properties.getRequestsPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        this.maxPermits = Math.max(1, properties.getBurst());
+        this.permits = maxPermits;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 호출 1건 허가 - 대기가 필요하면 스레드를 막지 않고 지연 후 완료되는 Mono
+     * <p>구독할 때마다 토큰을 예약하므로 재시도도 한도에 포함됩니다.</p>
+     */
+    public Mono<Void> permit() {
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            return waitNanos > 0 ? Mono.delay(Duration.ofNanos(waitNanos)).then() : Mono.empty();
+        });
+    }
+
+    /** 토큰 1개를 예약하고, 사용 가능해질 때까지의 대기 시간을 반환 */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        permits = Math.min(maxPermits, permits + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+
+        permits -= 1;
+        return permits >= 0 ? 0L : (long) Math.ceil(-permits / permitsPerNano);
+    }
+}
@@ -0,0 +1,144 @@
+package com.stockleague.backend.openapi.client;
+
+import static com.stockleague.backend.global.util.MarketTimeUtil.shouldCollectOrderbookNow;
+
+import com.stockleague.backend.infra.archive.OrderBookHistory;
+import com.stockleague.backend.infra.archive.TickArchive;
+import com.stockleague.backend.infra.metrics.MarketDataLatencyTracer;
+import com.stockleague.backend.infra.metrics.TickTrace;
+import com.stockleague.backend.infra.metrics.TickTrace.Stage;
+import com.stockleague.backend.infra.properties.KisSimulatorProperties;
+import com.stockleague.backend.infra.redis.StockOrderBookSnapshotRedisService;
+import com.stockleague.backend.infra.redis.StockPriceRedisService;
+import com.stockleague.backend.infra.webSocket.MarketDataWebSocketPublisher;
+import com.stockleague.backend.openapi.parser.KisWebSocketResponseParser;
+import com.stockleague.backend.stock.dto.response.stock.StockOrderBookDto;
+import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+import com.stockleague.backend.stock.service.StreamingCandleService;
+import com.stockleague.backend.user.service.PortfolioChangeTracker;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * KIS 실시간 평문 프레임 처리기
+ * <p>여러 WebSocket 세션이 동시에 호출하므로 내부 상태는 모두 thread-safe 하게 유지합니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KisRealtimeMessageHandler {
+
+    private final StockPriceRedisService stockPriceRedisService;
+    private final KisWebSocketResponseParser parser;
+    private final MarketDataWebSocketPublisher marketDataPublisher;
+    private final StockOrderBookSnapshotRedisService snapshotRedisService;
+    private final MarketDataLatencyTracer latencyTracer;
+    private final TickArchive tickArchive;
+    private final OrderBookHistory orderBookHistory;
+    private final StreamingCandleService streamingCandleService;
+    private final PortfolioChangeTracker portfolioChangeTracker;
+    private final KisSimulatorProperties simulatorProperties;
+
+    private final ConcurrentMap<String, Long> lastSnapshotMillis = new ConcurrentHashMap<>();
+
+    /**
+     * <p>평문 메시지를 파싱</p>
+     * <p>주가는 {@link StockPriceDto}로 파싱</p>
+     * <p>호가는 {@link StockOrderBookDto}로 파싱</p>
+     * <p>샘플링된 프레임은 파싱 → Redis 기록 → 디스크 기록 → (체결가) 분봉 갱신 → STOMP 전송 단계별 지연을 기록합니다.</p>
+     *
+     * @param message       평문 메시지
+     * @param receivedNanos onText 수신 시각 ({@link System#nanoTime()})
+     */
+    public void handle(String message, long receivedNanos) {
+        try {
+            String[] parts = message.split("\\|");
+            if (parts.length < 4) {
+                log.warn("잘못된 평문 메시지: {}", message);
+                return;
+            }
+
+            String trId = parts[1];
+            String body = parts[3];
+
+            if (trId.startsWith("H0STCNT0")) {
+                TickTrace trace = latencyTracer.start(MarketDataLatencyTracer.KIND_PRICE, receivedNanos);
+                List<StockPriceDto> dtos = parser.parsePlainText(trId, body);
+                trace.mark(Stage.PARSE);
+
+                for (StockPriceDto dto : dtos) {
+                    stockPriceRedisService.save(dto);
+                }
+                trace.mark(Stage.REDIS_WRITE);
+
+                for (StockPriceDto dto : dtos) {
+                    tickArchive.append(dto);
+                }
+                trace.mark(Stage.ARCHIVE);
+
+                for (StockPriceDto dto : dtos) {
+                    streamingCandleService.onTick(dto);
+                    portfolioChangeTracker.markTickerDirty(dto.ticker());
+                }
+                trace.mark(Stage.CANDLE_UPDATE);
+
+                for (int i = 0; i < dtos.size(); i++) {
+                    // 한 프레임에 여러 블록이 오면 마지막 블록으로만 전송 지연을 측정
+                    marketDataPublisher.publishPrice(dtos.get(i), i == dtos.size() - 1 ? trace : TickTrace.NOOP);
+                }
+            } else if (trId.startsWith("H0STASP0")) {
+                if (!simulatorProperties.isEnabled() && !shouldCollectOrderbookNow()) {
+                    log.debug("호가 프레임 무시(15:00 이후)");
+                    return;
+                }
+
+                TickTrace trace = latencyTracer.start(MarketDataLatencyTracer.KIND_ORDERBOOK, receivedNanos);
+                StockOrderBookDto orderBookDto = parser.parseOrderBook(body);
+                trace.mark(Stage.PARSE);
+                if (orderBookDto != null) {
+                    boolean snapshotWritten = writeOrderBookFrame(orderBookDto);
+                    trace.mark(snapshotWritten ? Stage.SNAPSHOT_WRITE : Stage.REDIS_WRITE);
+                    orderBookHistory.append(orderBookDto);
+                    trace.mark(Stage.ARCHIVE);
+                    marketDataPublisher.publishOrderBook(orderBookDto, trace);
+                }
+            }
+        } catch (Exception e) {
+            log.error("평문 메시지 처리 중 예외 발생", e);
+        }
+    }
+
+    /** 호가 구독 해제 시 종목별 스냅샷 기록 시각 초기화 */
+    public void resetSnapshotThrottle() {
+        lastSnapshotMillis.clear();
+    }
+
+    /**
+     * 호가 1프레임을 Redis에 단일 호출로 기록
+     * <p>LIVE/LAST 뷰는 매 프레임 갱신하고, 매칭용 스냅샷은 종목당 1초에 1번만 함께 기록합니다.</p>
+     *
+     * @return 매칭용 스냅샷까지 기록했으면 true
+     */
+    private boolean writeOrderBookFrame(StockOrderBookDto orderBookDto) {
+        final String ticker = orderBookDto.ticker();
+        long now = System.currentTimeMillis();
+        Long lastMs = lastSnapshotMillis.get(ticker);
+        boolean snapshotDue = lastMs == null || (now - lastMs) >= 1000L;
+
+        try {
+            long ver = snapshotRedisService.writeFrame(orderBookDto, snapshotDue);
+            if (snapshotDue) {
+                lastSnapshotMillis.put(ticker, now);
+                log.debug("[Snapshot] {} ver={} (throttled <= 1/sec)", ticker, ver);
+            }
+            return snapshotDue;
+        } catch (Exception e) {
+            log.warn("[Snapshot] write 실패: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+}
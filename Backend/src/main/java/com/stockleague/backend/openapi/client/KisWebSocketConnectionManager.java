@@ -0,0 +1,168 @@
+package com.stockleague.backend.openapi.client;
+
+import com.stockleague.backend.infra.properties.KisSimulatorProperties;
+import com.stockleague.backend.infra.properties.KisWebSocketProperties;
+import com.stockleague.backend.infra.properties.OpenApiProperties;
+import com.stockleague.backend.infra.properties.OpenApiProperties.RealtimeAccount;
+import com.stockleague.backend.infra.redis.OpenApiTokenRedisService;
+import com.stockleague.backend.openapi.service.OpenApiService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * KIS 실시간 WebSocket 다중 세션 관리자
+ * <p>
+ * approval_key 1개당 실시간 등록 수가 제한되므로, 종목을 세션당 허용량 단위로 나눠
+ * 기본 계정 + {@code openapi.realtime-accounts}의 추가 계정에 세션별로 할당합니다.
+ * 각 세션은 독립적으로 재연결/재구독합니다.
+ * </p>
+ */
+@Slf4j
+@Component
+public class KisWebSocketConnectionManager {
+
+    /** 종목 1개당 등록 수 (체결가 H0STCNT0 + 호가 H0STASP0) */
+    private static final int SUBSCRIPTIONS_PER_TICKER = 2;
+    private static final Duration APPROVAL_KEY_TIMEOUT = Duration.ofSeconds(5);
+
+    private final KisWebSocketProperties properties;
+    private final KisSimulatorProperties simulatorProperties;
+    private final OpenApiProperties openApiProperties;
+    private final OpenApiTokenRedisService openApiTokenRedisService;
+    private final OpenApiService openApiService;
+    private final KisRealtimeMessageHandler messageHandler;
+    private final List<String> tickers;
+    private final MeterRegistry meterRegistry;
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, r -> {
+        Thread t = new Thread(r, "kis-ws-session");
+        t.setDaemon(true);
+        return t;
+    });
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<KisWebSocketSession> sessions = new CopyOnWriteArrayList<>();
+
+    public KisWebSocketConnectionManager(
+            KisWebSocketProperties properties,
+            KisSimulatorProperties simulatorProperties,
+            OpenApiProperties openApiProperties,
+            OpenApiTokenRedisService openApiTokenRedisService,
+            OpenApiService openApiService,
+            KisRealtimeMessageHandler messageHandler,
+            List<String> tickers,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.simulatorProperties = simulatorProperties;
+        this.openApiProperties = openApiProperties;
+        this.openApiTokenRedisService = openApiTokenRedisService;
+        this.openApiService = openApiService;
+        this.messageHandler = messageHandler;
+        this.tickers = simulatorProperties.isEnabled() && simulatorProperties.getTickers() > 0
+                ? syntheticTickers(simulatorProperties.getTickers())
+                : tickers;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 모든 세션 연결 (세션이 없으면 종목 분할 후 생성)
+     */
+    public synchronized void connectAll() {
+        if (sessions.isEmpty()) {
+            sessions.addAll(buildSessions());
+        }
+        sessions.forEach(KisWebSocketSession::connect);
+    }
+
+    /**
+     * 모든 세션 종료 - 다음 연결 시 종목 분할을 다시 수행합니다.
+     */
+    public synchronized void disconnectAll() {
+        sessions.forEach(KisWebSocketSession::disconnect);
+        sessions.clear();
+    }
+
+    /** 모든 세션의 호가 구독 해지 */
+    public void unsubscribeOrderbookAll() {
+        sessions.forEach(KisWebSocketSession::unsubscribeOrderbook);
+    }
+
+    public List<KisWebSocketSession.Health> getSessionHealth() {
+        return sessions.stream().map(KisWebSocketSession::health).toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        disconnectAll();
+        scheduler.shutdownNow();
+    }
+
+    private List<KisWebSocketSession> buildSessions() {
+        int perSession = Math.max(1, properties.getMaxSubscriptionsPerSession() / SUBSCRIPTIONS_PER_TICKER);
+        int needed = (tickers.size() + perSession - 1) / perSession;
+        List<Supplier<String>> keySuppliers = approvalKeySuppliers(needed);
+
+        int count = Math.min(needed, keySuppliers.size());
+        if (needed > count) {
+            log.warn("[WebSocket] 실시간 계정 부족 - 필요 세션 {}개, 사용 가능 {}개. {}개 종목은 구독되지 않습니다.",
+                    needed, count, tickers.size() - count * perSession);
+        }
+
+        URI uri = URI.create(properties.getUrl());
+        List<KisWebSocketSession> built = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> shard = tickers.subList(i * perSession, Math.min((i + 1) * perSession, tickers.size()));
+            built.add(new KisWebSocketSession(
+                    i, uri, shard, keySuppliers.get(i), messageHandler::handle, scheduler, httpClient,
+                    properties, simulatorProperties.isEnabled(), meterRegistry));
+        }
+        log.info("[WebSocket] 세션 {}개 구성 (세션당 최대 {}종목, 전체 {}종목)", count, perSession, tickers.size());
+        return built;
+    }
+
+    /** 시뮬레이터 부하 테스트용 합성 종목 코드 (900000, 900001, ...) */
+    private static List<String> syntheticTickers(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> String.format("%06d", 900_000 + i))
+                .toList();
+    }
+
+    /**
+     * 세션 번호별 approval_key 공급자
+     * <p>0번은 기본 계정 키, 1번부터는 추가 계정 키를 조회/발급합니다.</p>
+     * <p>시뮬레이터 사용 시에는 KIS 를 호출하지 않고 필요한 세션 수만큼 고정 키를 사용합니다.</p>
+     */
+    private List<Supplier<String>> approvalKeySuppliers(int needed) {
+        List<Supplier<String>> suppliers = new ArrayList<>();
+        if (simulatorProperties.isEnabled()) {
+            String key = simulatorProperties.getApprovalKey();
+            for (int i = 0; i < needed; i++) {
+                suppliers.add(() -> key);
+            }
+            return suppliers;
+        }
+
+        suppliers.add(openApiTokenRedisService::getRealTimeKey);
+
+        List<RealtimeAccount> accounts = openApiProperties.getRealtimeAccounts();
+        for (int i = 0; i < accounts.size(); i++) {
+            final int accountIndex = i + 1;
+            final RealtimeAccount account = accounts.get(i);
+            suppliers.add(() -> openApiService.getOrCreateApprovalKey(accountIndex, account)
+                    .block(APPROVAL_KEY_TIMEOUT));
+        }
+        return suppliers;
+    }
+}
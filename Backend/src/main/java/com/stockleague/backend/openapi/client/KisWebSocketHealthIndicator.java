@@ -0,0 +1,40 @@
+package com.stockleague.backend.openapi.client;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * KIS 실시간 WebSocket 세션별 상태를 actuator health 에 노출합니다.
+ * <p>장외 시간(세션 없음)은 UP, 일부 세션만 연결된 경우 DEGRADED, 세션이 있는데 모두 끊긴 경우 DOWN 으로 표시합니다.</p>
+ */
+@Component("kisWebSocket")
+@RequiredArgsConstructor
+public class KisWebSocketHealthIndicator implements HealthIndicator {
+
+    private static final Status DEGRADED = new Status("DEGRADED");
+
+    private final KisWebSocketConnectionManager connectionManager;
+
+    @Override
+    public Health health() {
+        List<KisWebSocketSession.Health> sessions = connectionManager.getSessionHealth();
+        long connected = sessions.stream().filter(KisWebSocketSession.Health::connected).count();
+
+        Health.Builder builder;
+        if (connected == sessions.size()) {
+            builder = Health.up();
+        } else if (connected == 0) {
+            builder = Health.down();
+        } else {
+            builder = Health.status(DEGRADED);
+        }
+        return builder
+                .withDetail("sessions", sessions)
+                .withDetail("connected", connected)
+                .build();
+    }
+}
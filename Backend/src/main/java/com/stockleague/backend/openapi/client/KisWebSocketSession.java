@@ -0,0 +1,503 @@
+package com.stockleague.backend.openapi.client;
+
+import static com.stockleague.backend.global.util.MarketTimeUtil.shouldCollectOrderbookNow;
+
+import com.stockleague.backend.infra.properties.KisWebSocketProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * approval_key 1개에 대응하는 KIS 실시간 WebSocket 세션
+ * <p>
+ * 할당된 종목 묶음만 구독하며, 연결이 끊기면 같은 묶음으로 백오프 재연결 후 재구독합니다.
+ * 상태 값은 수신 스레드/스케줄러 스레드에서 동시에 접근하므로 모두 atomic 으로 관리합니다.
+ * </p>
+ * <p>
+ * 구독 요청은 고정 지연 없이 ack 기반 슬라이딩 윈도우로 전송합니다. 응답 대기 중인 요청이
+ * {@code subscribe-window} 개 미만이면 즉시 다음 요청을 보내고, {@code subscribe-ack-timeout} 안에
+ * 응답이 없으면 슬롯을 해제하고 요청을 대기열 끝에 다시 넣습니다. (최대 3회 전송)
+ * </p>
+ */
+@Slf4j
+public class KisWebSocketSession {
+
+    private static final long MAX_BACKOFF_SECONDS = 300;
+    /** 응답 시간 초과 시 같은 구독 요청을 보내는 최대 횟수 */
+    private static final int MAX_SUBSCRIBE_ATTEMPTS = 3;
+    private static final String SUBSCRIBE_SUCCESS = "\"msg1\":\"SUBSCRIBE SUCCESS\"";
+    private static final Pattern ACK_HEADER =
+            Pattern.compile("\"tr_id\"\\s*:\\s*\"(\\w+)\".*?\"tr_key\"\\s*:\\s*\"(\\w+)\"");
+
+    private final int sessionId;
+    private final URI uri;
+    private final List<String> tickers;
+    private final Supplier<String> approvalKeySupplier;
+    private final ObjLongConsumer<String> frameHandler;
+    private final ScheduledExecutorService scheduler;
+    private final HttpClient httpClient;
+    private final int subscribeWindow;
+    private final Duration ackTimeout;
+    /** true면 장 시간과 무관하게 호가도 구독 (시뮬레이터) */
+    private final boolean ignoreMarketHours;
+
+    private final AtomicReference<WebSocket> webSocket = new AtomicReference<>();
+    private final AtomicBoolean active = new AtomicBoolean(false);
+    private final AtomicBoolean connecting = new AtomicBoolean(false);
+    private final AtomicInteger reconnectAttempts = new AtomicInteger();
+    private final AtomicInteger totalReconnects = new AtomicInteger();
+    private final AtomicInteger expectedSubscribeCount = new AtomicInteger();
+    private final AtomicInteger subscribeSuccessCount = new AtomicInteger();
+    private final AtomicLong lastMessageAtMillis = new AtomicLong();
+    private final AtomicLong subscribeStartedNanos = new AtomicLong();
+    private final AtomicLong lastCoverageMillis = new AtomicLong(-1);
+    private volatile String approvalKey;
+
+    /** 전송 대기 중인 구독 요청 */
+    private final Queue<SubscribeRequest> pendingSubscribes = new ConcurrentLinkedQueue<>();
+    /** 응답 대기 중인 구독 요청 (trId|ticker → 요청, 전송 시각) */
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Object pumpLock = new Object();
+    private volatile ScheduledFuture<?> ackWatchdog;
+
+    private final Timer coverageTimer;
+    private final Timer ackLatencyTimer;
+    private final Counter ackTimeoutCounter;
+    private final Counter rejectedCounter;
+
+    public KisWebSocketSession(
+            int sessionId,
+            URI uri,
+            List<String> tickers,
+            Supplier<String> approvalKeySupplier,
+            ObjLongConsumer<String> frameHandler,
+            ScheduledExecutorService scheduler,
+            HttpClient httpClient,
+            KisWebSocketProperties properties,
+            boolean ignoreMarketHours,
+            MeterRegistry meterRegistry
+    ) {
+        this.sessionId = sessionId;
+        this.uri = uri;
+        this.tickers = List.copyOf(tickers);
+        this.approvalKeySupplier = approvalKeySupplier;
+        this.frameHandler = frameHandler;
+        this.scheduler = scheduler;
+        this.httpClient = httpClient;
+        this.subscribeWindow = Math.max(1, properties.getSubscribeWindow());
+        this.ackTimeout = properties.getSubscribeAckTimeout();
+        this.ignoreMarketHours = ignoreMarketHours;
+
+        String session = String.valueOf(sessionId);
+        this.coverageTimer = Timer.builder("kis.websocket.subscribe.coverage")
+                .description("연결 후 모든 구독 응답 수신까지 걸린 시간")
+                .tag("session", session)
+                .register(meterRegistry);
+        this.ackLatencyTimer = Timer.builder("kis.websocket.subscribe.ack")
+                .description("구독 요청 전송 후 응답 수신까지 걸린 시간")
+                .tag("session", session)
+                .register(meterRegistry);
+        this.ackTimeoutCounter = Counter.builder("kis.websocket.subscribe.timeout")
+                .tag("session", session)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("kis.websocket.subscribe.rejected")
+                .tag("session", session)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 세션 연결 (이미 연결 중이거나 연결 상태면 무시)
+     */
+    public void connect() {
+        active.set(true);
+        doConnect();
+    }
+
+    /**
+     * 세션 종료 - 이후 재연결하지 않습니다.
+     */
+    public void disconnect() {
+        active.set(false);
+        stopSubscribing();
+        WebSocket ws = webSocket.getAndSet(null);
+        if (ws == null) {
+            log.info("[WebSocket#{}] 연결 없음 → 종료 요청 생략", sessionId);
+            return;
+        }
+        try {
+            ws.sendClose(WebSocket.NORMAL_CLOSURE, "Market closed");
+            log.info("[WebSocket#{}] 정상 종료 요청 전송", sessionId);
+        } catch (Exception e) {
+            log.warn("[WebSocket#{}] 종료 중 예외", sessionId, e);
+        }
+    }
+
+    /** 할당된 종목의 호가(H0STASP0)만 해지 */
+    public void unsubscribeOrderbook() {
+        WebSocket ws = webSocket.get();
+        if (ws == null) {
+            log.info("[WebSocket#{}] 호가 해제: 연결 없음 → 스킵", sessionId);
+            return;
+        }
+        for (String ticker : tickers) {
+            send(ws, buildMessage("2", "H0STASP0", ticker));
+        }
+        log.info("[WebSocket#{}] 호가 해제 요청 완료 ({}종목)", sessionId, tickers.size());
+    }
+
+    public Health health() {
+        long lastAt = lastMessageAtMillis.get();
+        long coverage = lastCoverageMillis.get();
+        return new Health(
+                sessionId,
+                webSocket.get() != null,
+                tickers.size(),
+                subscribeSuccessCount.get(),
+                expectedSubscribeCount.get(),
+                reconnectAttempts.get(),
+                totalReconnects.get(),
+                lastAt == 0 ? null : System.currentTimeMillis() - lastAt,
+                coverage < 0 ? null : coverage
+        );
+    }
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    private void doConnect() {
+        if (!active.get() || webSocket.get() != null || !connecting.compareAndSet(false, true)) {
+            return;
+        }
+
+        String key;
+        try {
+            key = approvalKeySupplier.get();
+        } catch (Exception e) {
+            log.error("[WebSocket#{}] 실시간 키 조회 실패: {}", sessionId, e.getMessage());
+            key = null;
+        }
+        if (key == null || key.isBlank()) {
+            connecting.set(false);
+            log.error("[WebSocket#{}] 실시간 키가 존재하지 않습니다. 재연결 대기", sessionId);
+            scheduleReconnect();
+            return;
+        }
+        this.approvalKey = key;
+
+        httpClient.newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .buildAsync(uri, new Listener())
+                .whenComplete((ws, ex) -> {
+                    connecting.set(false);
+                    if (ex != null) {
+                        log.error("[WebSocket#{}] 연결 예외 발생", sessionId, ex);
+                        scheduleReconnect();
+                        return;
+                    }
+                    if (!active.get()) {
+                        ws.sendClose(WebSocket.NORMAL_CLOSURE, "Market closed");
+                        return;
+                    }
+                    webSocket.set(ws);
+                    reconnectAttempts.set(0);
+                });
+    }
+
+    /**
+     * 재연결을 위한 백오프 전략 (최대 5분 지연)
+     */
+    private void scheduleReconnect() {
+        if (!active.get()) {
+            return;
+        }
+        int attempt = reconnectAttempts.incrementAndGet();
+        long delay = Math.min(1L << Math.min(attempt, 16), MAX_BACKOFF_SECONDS);
+        log.warn("[WebSocket#{}] 재연결 시도 예정 ({}회차, {}초 후)", sessionId, attempt, delay);
+        scheduler.schedule(() -> {
+            totalReconnects.incrementAndGet();
+            doConnect();
+        }, delay, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 할당 종목 전체를 구독 대기열에 넣고 윈도우 크기만큼 전송을 시작합니다.
+     */
+    private void subscribeAll(WebSocket ws) {
+        final boolean collectOrderbookNow = ignoreMarketHours || shouldCollectOrderbookNow();
+
+        stopSubscribing();
+        for (String ticker : tickers) {
+            pendingSubscribes.add(new SubscribeRequest("H0STCNT0", ticker, 1));
+            if (collectOrderbookNow) {
+                pendingSubscribes.add(new SubscribeRequest("H0STASP0", ticker, 1));
+            }
+        }
+        expectedSubscribeCount.set(pendingSubscribes.size());
+        subscribeSuccessCount.set(0);
+        subscribeStartedNanos.set(System.nanoTime());
+
+        long checkMillis = Math.max(100L, ackTimeout.toMillis() / 2);
+        ackWatchdog = scheduler.scheduleWithFixedDelay(
+                () -> expireInFlight(ws), checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        pump(ws);
+    }
+
+    /**
+     * 응답 대기 중인 요청이 윈도우보다 적으면 대기열에서 꺼내 전송
+     */
+    private void pump(WebSocket ws) {
+        synchronized (pumpLock) {
+            while (inFlight.size() < subscribeWindow && active.get()) {
+                WebSocket current = webSocket.get();
+                if (current != null && current != ws) {
+                    return;
+                }
+                SubscribeRequest next = pendingSubscribes.poll();
+                if (next == null) {
+                    break;
+                }
+                inFlight.put(next.key(), new InFlight(next, System.nanoTime()));
+                send(ws, buildMessage("1", next.trId(), next.ticker()));
+                log.debug("[WebSocket#{}] 구독 요청 전송: {} / {} ({}회차)",
+                        sessionId, next.trId(), next.ticker(), next.attempt());
+            }
+        }
+        if (pendingSubscribes.isEmpty() && inFlight.isEmpty()) {
+            finishSubscribing();
+        }
+    }
+
+    /**
+     * ack 타임아웃이 지난 요청의 슬롯을 해제하고 다음 요청을 전송
+     * <p>시간 초과된 요청은 {@code MAX_SUBSCRIBE_ATTEMPTS}회까지 대기열 끝에 다시 넣고, 소진되면 에러로 남깁니다.</p>
+     */
+    private void expireInFlight(WebSocket ws) {
+        long deadline = System.nanoTime() - ackTimeout.toNanos();
+        inFlight.forEach((key, pending) -> {
+            if (pending.sentAt() < deadline && inFlight.remove(key, pending)) {
+                ackTimeoutCounter.increment();
+                SubscribeRequest request = pending.request();
+                if (request.attempt() < MAX_SUBSCRIBE_ATTEMPTS) {
+                    pendingSubscribes.add(request.retry());
+                    log.warn("[WebSocket#{}] 구독 응답 시간 초과 - 재시도 예정 ({}/{}): {}",
+                            sessionId, request.attempt(), MAX_SUBSCRIBE_ATTEMPTS, key);
+                } else {
+                    log.error("[WebSocket#{}] 구독 응답 시간 초과 - 재시도 소진, 구독 누락: {}", sessionId, key);
+                }
+            }
+        });
+        pump(ws);
+    }
+
+    /**
+     * 구독 응답(JSON) 처리 - 일치하는 요청의 슬롯을 해제합니다.
+     *
+     * @return 구독 응답으로 처리했으면 true
+     */
+    private boolean handleSubscribeResponse(WebSocket ws, String message) {
+        Matcher matcher = ACK_HEADER.matcher(message);
+        InFlight pending = matcher.find() ? inFlight.remove(matcher.group(1) + "|" + matcher.group(2)) : null;
+        boolean success = message.contains(SUBSCRIBE_SUCCESS);
+
+        if (pending == null && !success) {
+            return false;
+        }
+        if (pending != null) {
+            ackLatencyTimer.record(System.nanoTime() - pending.sentAt(), TimeUnit.NANOSECONDS);
+        }
+        if (success) {
+            onSubscribeAck();
+        } else {
+            rejectedCounter.increment();
+            log.warn("[WebSocket#{}] 구독 거절 응답: {}", sessionId, message);
+        }
+        pump(ws);
+        return true;
+    }
+
+    private void onSubscribeAck() {
+        int success = subscribeSuccessCount.incrementAndGet();
+        int expected = expectedSubscribeCount.get();
+        log.debug("[WebSocket#{}] 구독 성공 응답 수신 ({}/{})", sessionId, success, expected);
+        if (success == expected) {
+            long elapsedNanos = System.nanoTime() - subscribeStartedNanos.get();
+            coverageTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            lastCoverageMillis.set(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            log.info("[WebSocket#{}] 모든 종목 구독 성공 완료 ({}건, {}ms)",
+                    sessionId, expected, lastCoverageMillis.get());
+        }
+    }
+
+    /** 대기열 소진 시 watchdog 정리 및 결과 로그 */
+    private void finishSubscribing() {
+        ScheduledFuture<?> watchdog = ackWatchdog;
+        if (watchdog == null) {
+            return;
+        }
+        ackWatchdog = null;
+        watchdog.cancel(false);
+
+        int success = subscribeSuccessCount.get();
+        int expected = expectedSubscribeCount.get();
+        if (success < expected) {
+            log.warn("[WebSocket#{}] 구독 요청 전송 종료 - 성공 {}/{}", sessionId, success, expected);
+        }
+    }
+
+    /** 진행 중인 구독 절차 중단 */
+    private void stopSubscribing() {
+        ScheduledFuture<?> watchdog = ackWatchdog;
+        ackWatchdog = null;
+        if (watchdog != null) {
+            watchdog.cancel(false);
+        }
+        pendingSubscribes.clear();
+        inFlight.clear();
+    }
+
+    private void send(WebSocket ws, String message) {
+        try {
+            ws.sendText(message, true);
+        } catch (Exception e) {
+            log.warn("[WebSocket#{}] 메시지 전송 실패: {}", sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * 구독(tr_type=1) / 해지(tr_type=2) 메시지 JSON 생성
+     */
+    private String buildMessage(String trType, String trId, String trKey) {
+        return String.format("""
+                {
+                  "header": {
+                    "approval_key": "%s",
+                    "custtype": "P",
+                    "tr_type": "%s",
+                    "content-type": "utf-8"
+                  },
+                  "body": {
+                    "input": {
+                      "tr_id": "%s",
+                      "tr_key": "%s"
+                    }
+                  }
+                }
+                """, this.approvalKey, trType, trId, trKey);
+    }
+
+    private class Listener implements WebSocket.Listener {
+
+        private final StringBuilder partialMessage = new StringBuilder();
+        private long receivedNanos;
+
+        @Override
+        public void onOpen(WebSocket ws) {
+            log.info("[WebSocket#{}] 연결 성공 ({}종목)", sessionId, tickers.size());
+            subscribeAll(ws);
+            WebSocket.Listener.super.onOpen(ws);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            if (partialMessage.isEmpty()) {
+                receivedNanos = System.nanoTime();
+            }
+            partialMessage.append(data);
+            if (last) {
+                String fullMessage = partialMessage.toString();
+                partialMessage.setLength(0);
+                lastMessageAtMillis.set(System.currentTimeMillis());
+                try {
+                    if (!fullMessage.startsWith("{") || !handleSubscribeResponse(ws, fullMessage)) {
+                        frameHandler.accept(fullMessage, receivedNanos);
+                    }
+                } catch (Exception e) {
+                    log.error("[WebSocket#{}] 평문 처리 예외", sessionId, e);
+                }
+            }
+            return WebSocket.Listener.super.onText(ws, data, last);
+        }
+
+        @Override
+        public void onError(WebSocket ws, Throwable error) {
+            log.error("[WebSocket#{}] 오류", sessionId, error);
+            webSocket.compareAndSet(ws, null);
+            stopSubscribing();
+            scheduleReconnect();
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+            log.info("[WebSocket#{}] 종료: [{}] {}", sessionId, statusCode, reason);
+            webSocket.compareAndSet(ws, null);
+            stopSubscribing();
+            scheduleReconnect();
+            return WebSocket.Listener.super.onClose(ws, statusCode, reason);
+        }
+    }
+
+    /**
+     * 세션 상태
+     *
+     * @param sessionId             세션 번호 (0 = 기본 계정)
+     * @param connected             연결 여부
+     * @param tickerCount           할당 종목 수
+     * @param subscribeSuccessCount 구독 성공 응답 수
+     * @param expectedSubscribeCount 기대 구독 응답 수
+     * @param reconnectAttempts     현재 연속 재연결 시도 횟수
+     * @param totalReconnects       누적 재연결 횟수
+     * @param lastMessageAgeMillis  마지막 수신 후 경과 시간 (수신 이력 없으면 null)
+     * @param lastCoverageMillis    최근 연결에서 전체 구독 완료까지 걸린 시간 (미완료면 null)
+     */
+    public record Health(
+            int sessionId,
+            boolean connected,
+            int tickerCount,
+            int subscribeSuccessCount,
+            int expectedSubscribeCount,
+            int reconnectAttempts,
+            int totalReconnects,
+            Long lastMessageAgeMillis,
+            Long lastCoverageMillis
+    ) {
+    }
+
+    /**
+     * @param attempt 이 요청을 보내는 회차 (1부터)
+     */
+    private record SubscribeRequest(String trId, String ticker, int attempt) {
+        String key() {
+            return trId + "|" + ticker;
+        }
+
+        SubscribeRequest retry() {
+            return new SubscribeRequest(trId, ticker, attempt + 1);
+        }
+    }
+
+    private record InFlight(SubscribeRequest request, long sentAt) {
+    }
+}
@@ -40,10 +40,14 @@ public class OpenApiClient {
     }
 
     public Mono<RealtimeKeyResponseDto> requestRealtimeKey() {
+        return requestRealtimeKey(openApiProperties.getAppKey(), openApiProperties.getAppSecret());
+    }
+
+    public Mono<RealtimeKeyResponseDto> requestRealtimeKey(String appKey, String appSecret) {
         RealtimeKeyRequestDto request = new RealtimeKeyRequestDto(
                 openApiProperties.getGrantType(),
-                openApiProperties.getAppKey(),
-                openApiProperties.getAppSecret()
+                appKey,
+                appSecret
         );
 
         return openApiWebClient.post()
@@ -1,12 +1,15 @@
 package com.stockleague.backend.openapi.controller;
 
 import com.stockleague.backend.openapi.service.PriceBatchService;
+import com.stockleague.backend.openapi.service.PriceBatchService.Period;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -64,4 +67,24 @@ public class OpenApiController {
                     .body("일별 시세 저장 실패: " + e.getMessage());
         }
     }
+
+    /**
+     * 여러 종목 · 봉 단위 백필을 백그라운드로 실행 (진행 위치부터 이어서 수집)
+     * <p>관리자 전용 ({@code SecurityConfig})</p>
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<String> startBackfill(
+            @RequestParam(required = false) List<String> tickers,
+            @RequestParam(required = false) List<Period> periods,
+            @RequestParam(defaultValue = "false") boolean restart
+    ) {
+        try {
+            int tasks = priceBatchService.startBackfill(tickers, periods, restart);
+            return ResponseEntity.accepted().body("백필 시작 - 작업 " + tasks + "건");
+        } catch (Exception e) {
+            log.error("백필 시작 실패 - tickers: {}, error: {}", tickers, e.getMessage());
+            return ResponseEntity.internalServerError()
+                    .body("백필 시작 실패: " + e.getMessage());
+        }
+    }
 }
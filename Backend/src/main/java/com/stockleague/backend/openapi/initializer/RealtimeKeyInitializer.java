@@ -4,10 +4,16 @@ import com.stockleague.backend.openapi.service.OpenApiService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+/**
+ * 서버 시작 시 실시간 접속키(approval_key) 발급
+ * <p>시뮬레이터 사용 시에는 고정 키를 쓰므로 KIS 를 호출하지 않습니다.</p>
+ */
 @Slf4j
 @Component
+@ConditionalOnProperty(prefix = "kis.simulator", name = "enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 public class RealtimeKeyInitializer {
 
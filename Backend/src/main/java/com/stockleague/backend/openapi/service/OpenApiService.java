@@ -1,13 +1,18 @@
 package com.stockleague.backend.openapi.service;
 
+import com.stockleague.backend.infra.properties.OpenApiProperties.RealtimeAccount;
 import com.stockleague.backend.infra.redis.OpenApiTokenRedisService;
+import com.stockleague.backend.openapi.cache.AccessTokenCache;
 import com.stockleague.backend.openapi.cache.RealtimeKeyCache;
 import com.stockleague.backend.openapi.client.OpenApiClient;
 import com.stockleague.backend.openapi.dto.response.RealtimeKeyResponseDto;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Service
 @Slf4j
@@ -17,21 +22,46 @@ public class OpenApiService {
     private final OpenApiTokenRedisService redisService;
     private final OpenApiClient openApiClient;
     private final RealtimeKeyCache realtimeKeyCache;
+    private final AccessTokenCache accessTokenCache;
 
+    /** 진행 중인 토큰 조회/발급 - 동시에 만료를 발견한 요청들이 한 번의 조회를 공유 */
+    private final AtomicReference<Mono<String>> pendingAccessToken = new AtomicReference<>();
+
+    /**
+     * access_token 조회
+     * <p>메모리 캐시 → Redis → 신규 발급 순으로 찾으며, 메모리에 있으면 Redis 를 조회하지 않습니다.</p>
+     */
     public Mono<String> getValidAccessToken() {
-        if (redisService.hasValidAccessToken()) {
-            String cachedToken = redisService.getAccessToken();
-            return Mono.just(cachedToken);
+        String cached = accessTokenCache.get();
+        if (cached != null) {
+            return Mono.just(cached);
         }
+        return pendingAccessToken.updateAndGet(pending -> pending != null ? pending
+                : loadAccessToken()
+                        .doFinally(signal -> pendingAccessToken.set(null))
+                        .cache());
+    }
+
+    private Mono<String> loadAccessToken() {
+        Mono<String> fromRedis = Mono.fromCallable(() -> {
+                    long ttl = redisService.getAccessTokenTtlSeconds();
+                    String token = ttl > 0 ? redisService.getAccessToken() : null;
+                    if (token != null) {
+                        accessTokenCache.set(token, Duration.ofSeconds(ttl));
+                    }
+                    return token;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
 
-        return openApiClient.requestAccessToken()
+        return fromRedis.switchIfEmpty(Mono.defer(() -> openApiClient.requestAccessToken()
                 .map(tokenResponse -> {
                     redisService.saveAccessToken(
                             tokenResponse.accessToken(),
                             tokenResponse.expiresIn()
                     );
+                    accessTokenCache.set(tokenResponse.accessToken(), Duration.ofSeconds(tokenResponse.expiresIn()));
                     return tokenResponse.accessToken();
-                });
+                })));
     }
 
     public Mono<String> getOrCreateApprovalKey() {
@@ -54,4 +84,26 @@ public class OpenApiService {
                     return key;
                 });
     }
+
+    /**
+     * 추가 실시간 계정의 approval_key를 조회하거나 새로 발급합니다.
+     *
+     * @param accountIndex 추가 계정 번호 (1부터 시작)
+     * @param account      계정 appKey/appSecret
+     * @return approval_key
+     */
+    public Mono<String> getOrCreateApprovalKey(int accountIndex, RealtimeAccount account) {
+        String cached = redisService.getRealTimeKey(accountIndex);
+        if (cached != null && !cached.isBlank()) {
+            return Mono.just(cached);
+        }
+
+        return openApiClient.requestRealtimeKey(account.getAppKey(), account.getAppSecret())
+                .map((RealtimeKeyResponseDto response) -> {
+                    String key = response.approvalKey();
+                    redisService.saveRealTimeKey(accountIndex, key);
+                    log.info("추가 실시간 접속키 발급 완료: account={}", accountIndex);
+                    return key;
+                });
+    }
 }
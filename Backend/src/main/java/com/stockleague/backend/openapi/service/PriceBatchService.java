@@ -1,225 +1,297 @@
 package com.stockleague.backend.openapi.service;
 
+import com.stockleague.backend.infra.properties.PriceBackfillProperties;
 import com.stockleague.backend.openapi.client.KisApiClient;
+import com.stockleague.backend.openapi.client.KisRateLimiter;
 import com.stockleague.backend.stock.domain.Stock;
 import com.stockleague.backend.stock.domain.StockDailyPrice;
 import com.stockleague.backend.stock.domain.StockMonthlyPrice;
 import com.stockleague.backend.stock.domain.StockWeeklyPrice;
 import com.stockleague.backend.stock.domain.StockYearlyPrice;
-import com.stockleague.backend.stock.dto.response.stock.StockDailyPriceDto;
-import com.stockleague.backend.stock.dto.response.stock.StockMonthlyPriceDto;
-import com.stockleague.backend.stock.dto.response.stock.StockWeeklyPriceDto;
-import com.stockleague.backend.stock.dto.response.stock.StockYearlyPriceDto;
-import com.stockleague.backend.stock.repository.StockDailyPriceRepository;
-import com.stockleague.backend.stock.repository.StockMonthlyPriceRepository;
+import com.stockleague.backend.stock.repository.CandleBulkWriter;
+import com.stockleague.backend.stock.repository.PriceBackfillCheckpointRepository;
 import com.stockleague.backend.stock.repository.StockRepository;
-import com.stockleague.backend.stock.repository.StockWeeklyPriceRepository;
-import com.stockleague.backend.stock.repository.StockYearlyPriceRepository;
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.util.List;
-
+/**
+ * KIS 과거 시세(연/월/주/일봉) 백필
+ * <ul>
+ *   <li>모든 호출은 {@link KisApiClient}에서 {@link KisRateLimiter}의 한도를 공유하므로, 여러 종목·봉 단위를 동시에 수집해도 한도를 넘지 않습니다.</li>
+ *   <li>구간(chunk)마다 응답 전체를 {@link CandleBulkWriter}로 한 번에 저장하며, 이미 있는 봉은 유니크 제약으로 건너뜁니다.</li>
+ *   <li>구간 저장 후 종목·봉 단위별 진행 위치를 기록하므로, 중단 후 다시 실행하면 상장일이 아니라 그 위치부터 이어서 수집합니다.</li>
+ * </ul>
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PriceBatchService {
 
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.ofPattern("yyyyMMdd");
+
     private final StockRepository stockRepository;
-    private final StockYearlyPriceRepository yearlyPriceRepository;
-    private final StockMonthlyPriceRepository monthlyPriceRepository;
-    private final StockWeeklyPriceRepository weeklyPriceRepository;
-    private final StockDailyPriceRepository dailyPriceRepository;
+    private final CandleBulkWriter candleBulkWriter;
+    private final PriceBackfillCheckpointRepository checkpointRepository;
     private final KisApiClient kisApiClient;
+    private final PriceBackfillProperties properties;
+
+    /** 실행 중인 작업 (stockId:period) - 같은 작업의 중복 실행 방지 */
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    /** 모든 백필 요청이 함께 쓰는 작업 스레드 풀 (backfill.parallelism 개) */
+    private ExecutorService executor;
+
+    @PostConstruct
+    void initExecutor() {
+        AtomicInteger seq = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), r -> {
+            Thread t = new Thread(r, "price-backfill-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
 
-    public void saveYearlyPricesByTicker(String ticker) {
-        Stock stock = stockRepository.findByStockTicker(ticker)
-                .orElseThrow(() -> new IllegalArgumentException("해당 티커를 가진 종목이 존재하지 않습니다: " + ticker));
-
-        int listYear = stock.getListDate().getYear();
-        int currentYear = LocalDate.now().getYear();
-
-        for (int year = listYear; year <= currentYear; year++) {
-            try {
-                List<StockYearlyPriceDto> yearlyPrices = kisApiClient.getYearlyPrices(ticker, year);
-
-                for (StockYearlyPriceDto dto : yearlyPrices) {
-                    if (dto.year() == year) {
-                        StockYearlyPrice entity = StockYearlyPrice.builder()
-                                .stock(stock)
-                                .year(dto.year())
-                                .openPrice(dto.openPrice())
-                                .highPrice(dto.highPrice())
-                                .lowPrice(dto.lowPrice())
-                                .closePrice(dto.closePrice())
-                                .volume(dto.volume())
-                                .build();
-
-                        yearlyPriceRepository.save(entity);
-                    }
-                }
-
-                log.info("[{}] {}년 데이터 저장 완료", ticker, year);
+    @PreDestroy
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
 
-                Thread.sleep(1000L);
+    /** 백필 봉 단위 */
+    public enum Period {
+        YEARLY, MONTHLY, WEEKLY, DAILY
+    }
 
-            } catch (Exception e) {
-                log.warn("{}년 {} 연봉 데이터 저장 실패: {}", year, ticker, e.getMessage());
-            }
-        }
+    public void saveYearlyPricesByTicker(String ticker) {
+        backfill(findStock(ticker), Period.YEARLY);
     }
 
     public void saveMonthlyPricesByTicker(String ticker) {
-        Stock stock = stockRepository.findByStockTicker(ticker)
-                .orElseThrow(() -> new IllegalArgumentException("해당 티커를 가진 종목이 존재하지 않습니다: " + ticker));
-
-        LocalDate startDate = stock.getListDate().withDayOfMonth(1);
-        LocalDate endDate = LocalDate.now().withDayOfMonth(1);
-
-        while (!startDate.isAfter(endDate)) {
-            LocalDate chunkEndDate = startDate.plusMonths(99);
-            if (chunkEndDate.isAfter(endDate)) chunkEndDate = endDate;
-
-            String fromDate = startDate.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-            String toDate = chunkEndDate.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-
-            try {
-                List<StockMonthlyPriceDto> dtos = kisApiClient.getMonthlyPrices(ticker, fromDate, toDate);
-                int savedCount = 0;
-
-                for (StockMonthlyPriceDto dto : dtos) {
-                    if (monthlyPriceRepository.existsByStockAndYearAndMonth(stock, dto.year(), dto.month())) {
-                        log.debug("이미 존재: {}년 {}월 - 건너뜀", dto.year(), dto.month());
-                        continue;
-                    }
-
-                    StockMonthlyPrice entity = StockMonthlyPrice.builder()
-                            .stock(stock)
-                            .year(dto.year())
-                            .month(dto.month())
-                            .openPrice(dto.openPrice())
-                            .highPrice(dto.highPrice())
-                            .lowPrice(dto.lowPrice())
-                            .closePrice(dto.closePrice())
-                            .volume(dto.volume())
-                            .build();
-
-                    monthlyPriceRepository.save(entity);
-                    savedCount++;
-                }
-
-                log.info("[{}] {} ~ {} 월봉 데이터 저장 완료 ({}건)", ticker, fromDate, toDate, savedCount);
-                Thread.sleep(1000L);
-
-            } catch (Exception e) {
-                log.warn("[{}] {} ~ {} 월봉 데이터 저장 실패: {}", ticker, fromDate, toDate, e.getMessage());
-            }
-
-            startDate = startDate.plusMonths(100);
-        }
+        backfill(findStock(ticker), Period.MONTHLY);
     }
 
     public void saveWeeklyPricesByTicker(String ticker) {
-        Stock stock = stockRepository.findByStockTicker(ticker)
-                .orElseThrow(() -> new IllegalArgumentException("해당 티커를 가진 종목이 존재하지 않습니다: " + ticker));
-
-        LocalDate startDate = stock.getListDate().with(DayOfWeek.MONDAY);
-        LocalDate endDate = LocalDate.now().with(DayOfWeek.MONDAY);
-
-        while (!startDate.isAfter(endDate)) {
-            LocalDate chunkEndDate = startDate.plusWeeks(99);
-            if (chunkEndDate.isAfter(endDate)) chunkEndDate = endDate;
-
-            String fromDate = startDate.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-            String toDate = chunkEndDate.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-
-            try {
-                List<StockWeeklyPriceDto> dtos = kisApiClient.getWeeklyPrices(ticker, fromDate, toDate);
-                int savedCount = 0;
+        backfill(findStock(ticker), Period.WEEKLY);
+    }
 
-                for (StockWeeklyPriceDto dto : dtos) {
-                    if (weeklyPriceRepository.existsByStockAndYearAndWeek(stock, dto.year(), dto.week())) {
-                        log.debug("이미 존재: {}년 {}주차 - 건너뜀", dto.year(), dto.week());
-                        continue;
-                    }
+    public void saveDailyPricesByTicker(String ticker) {
+        backfill(findStock(ticker), Period.DAILY);
+    }
 
-                    StockWeeklyPrice entity = StockWeeklyPrice.builder()
-                            .stock(stock)
-                            .year(dto.year())
-                            .week(dto.week())
-                            .openPrice(dto.openPrice())
-                            .highPrice(dto.highPrice())
-                            .lowPrice(dto.lowPrice())
-                            .closePrice(dto.closePrice())
-                            .volume(dto.volume())
-                            .build();
-
-                    weeklyPriceRepository.save(entity);
-                    savedCount++;
+    /**
+     * 여러 종목 · 봉 단위 백필을 백그라운드에서 병렬 실행
+     * <p>
+     * 작업은 공용 스레드 풀에 쌓이므로 요청을 여러 번 보내도 동시 실행 수는 {@code backfill.parallelism}을 넘지 않으며,
+     * 이미 대기 · 실행 중인 종목 · 봉 단위는 건너뜁니다. (restart여도 그 작업의 진행 위치는 지우지 않음)
+     * </p>
+     *
+     * @param tickers 대상 종목 (비어 있으면 전체 종목)
+     * @param periods 대상 봉 단위 (비어 있으면 전체)
+     * @param restart true 면 진행 위치를 지우고 상장일부터 다시 수집
+     * @return 새로 예약된 작업 수
+     */
+    public int startBackfill(List<String> tickers, List<Period> periods, boolean restart) {
+        List<Stock> stocks = tickers == null || tickers.isEmpty()
+                ? stockRepository.findAll()
+                : tickers.stream().map(this::findStock).toList();
+        List<Period> targets = periods == null || periods.isEmpty() ? List.of(Period.values()) : periods;
+
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        int skipped = 0;
+        for (Stock stock : stocks) {
+            for (Period period : targets) {
+                String key = jobKey(stock, period);
+                // 대기 중이거나 실행 중인 작업은 다시 넣지 않고, 그 작업의 진행 위치도 건드리지 않음
+                if (!running.add(key)) {
+                    skipped++;
+                    continue;
                 }
+                if (restart) {
+                    checkpointRepository.delete(stock.getId(), period.name());
+                }
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        runBackfill(stock, period);
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        log.warn("[백필] {} {} 중단: {}", stock.getStockTicker(), period, e.getMessage());
+                    } finally {
+                        running.remove(key);
+                    }
+                }, executor));
+            }
+        }
 
-                log.info("[{}] {} ~ {} 주봉 데이터 저장 완료 ({}건)", ticker, fromDate, toDate, savedCount);
-                Thread.sleep(1000L);
+        long startedAt = System.currentTimeMillis();
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, e) -> log.info("[백필] 완료 - 작업 {}건, 실패 {}건, {}ms",
+                        tasks.size(), failed.get(), System.currentTimeMillis() - startedAt));
 
-            } catch (Exception e) {
-                log.warn("[{}] {} ~ {} 주봉 데이터 저장 실패: {}", ticker, fromDate, toDate, e.getMessage());
-            }
+        log.info("[백필] 시작 - 종목 {}개, 봉 단위 {}, 작업 {}건 (이미 대기/실행 중 {}건 제외), 동시 작업 {}개",
+                stocks.size(), targets, tasks.size(), skipped, properties.getParallelism());
+        return tasks.size();
+    }
 
-            startDate = startDate.plusWeeks(100);
+    /**
+     * 한 종목 · 봉 단위 백필 - 진행 위치부터 오늘까지 구간 단위로 수집
+     * <p>
+     * 구간 수집에 실패하면 진행 위치를 그 구간에 둔 채 중단하므로 다음 실행 때 다시 시도합니다.
+     * 마지막(진행 중인) 구간은 다음 실행 때 다시 수집하도록 진행 위치를 넘기지 않으며, 이미 저장된 봉을 새 값으로 덮어써 보정합니다.
+     * </p>
+     */
+    private void backfill(Stock stock, Period period) {
+        String key = jobKey(stock, period);
+        if (!running.add(key)) {
+            log.info("[백필] {} {} 이미 실행 중 - 건너뜀", stock.getStockTicker(), period);
+            return;
+        }
+        try {
+            runBackfill(stock, period);
+        } finally {
+            running.remove(key);
         }
     }
 
-    public void saveDailyPricesByTicker(String ticker) {
-        Stock stock = stockRepository.findByStockTicker(ticker)
-                .orElseThrow(() -> new IllegalArgumentException("해당 티커를 가진 종목이 존재하지 않습니다: " + ticker));
-
-        LocalDate startDate = stock.getListDate();
-        LocalDate endDate = LocalDate.now();
-
-        while (!startDate.isAfter(endDate)) {
-            LocalDate chunkEndDate = startDate.plusDays(99);
-            if (chunkEndDate.isAfter(endDate)) chunkEndDate = endDate;
+    /** {@link #running}에 작업을 등록한 호출자만 실행 */
+    private void runBackfill(Stock stock, Period period) {
+        LocalDate end = align(period, LocalDate.now());
+        LocalDate from = checkpointRepository.findNextFrom(stock.getId(), period.name())
+                .orElseGet(() -> align(period, stock.getListDate()));
+
+        int saved = 0;
+        while (!from.isAfter(end)) {
+            LocalDate chunkEnd = chunkEnd(period, from);
+            if (chunkEnd.isAfter(end)) {
+                chunkEnd = end;
+            }
 
-            String fromDate = startDate.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-            String toDate = chunkEndDate.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+            // 오늘이 속한 구간은 아직 끝나지 않아 이전에 저장한 봉을 새 값으로 덮어씀
+            int count = fetchAndSave(stock, period, from, chunkEnd, !chunkEnd.isBefore(end));
+            saved += count;
+            log.info("[{}] {} ~ {} {} 저장 완료 ({}건)", stock.getStockTicker(), from, chunkEnd, period, count);
 
-            try {
-                List<StockDailyPriceDto> dtos = kisApiClient.getDailyPrices(ticker, fromDate, toDate);
-                int savedCount = 0;
+            LocalDate next = next(period, chunkEnd);
+            checkpointRepository.save(stock.getId(), period.name(), next.isAfter(end) ? chunkEnd : next);
+            from = next;
+        }
+        log.info("[백필] {} {} 완료 - {}건 저장", stock.getStockTicker(), period, saved);
+    }
 
-                for (StockDailyPriceDto dto : dtos) {
-                    if (dailyPriceRepository.existsByStockAndDate(stock, dto.date())) {
-                        log.debug("이미 존재: {} - 건너뜀", dto.date());
-                        continue;
-                    }
+    /**
+     * 구간 조회 후 일괄 저장
+     *
+     * @param overwrite true 면 이미 저장된 봉도 받은 값으로 갱신 (진행 중인 구간)
+     * @return 저장 또는 갱신된 봉 수
+     */
+    private int fetchAndSave(Stock stock, Period period, LocalDate from, LocalDate to, boolean overwrite) {
+        String ticker = stock.getStockTicker();
+        String fromDate = from.format(YYYYMMDD);
+        String toDate = to.format(YYYYMMDD);
+
+        return switch (period) {
+            case YEARLY -> candleBulkWriter.insertYearlyCandles(
+                    kisApiClient.getYearlyPrices(ticker, from.getYear()).stream()
+                            .filter(dto -> dto.year() == from.getYear())
+                            .map(dto -> StockYearlyPrice.builder()
+                                    .stock(stock)
+                                    .year(dto.year())
+                                    .openPrice(dto.openPrice())
+                                    .highPrice(dto.highPrice())
+                                    .lowPrice(dto.lowPrice())
+                                    .closePrice(dto.closePrice())
+                                    .volume(dto.volume())
+                                    .build())
+                            .toList(), overwrite);
+            case MONTHLY -> candleBulkWriter.insertMonthlyCandles(
+                    kisApiClient.getMonthlyPrices(ticker, fromDate, toDate).stream()
+                            .map(dto -> StockMonthlyPrice.builder()
+                                    .stock(stock)
+                                    .year(dto.year())
+                                    .month(dto.month())
+                                    .openPrice(dto.openPrice())
+                                    .highPrice(dto.highPrice())
+                                    .lowPrice(dto.lowPrice())
+                                    .closePrice(dto.closePrice())
+                                    .volume(dto.volume())
+                                    .build())
+                            .toList(), overwrite);
+            case WEEKLY -> candleBulkWriter.insertWeeklyCandles(
+                    kisApiClient.getWeeklyPrices(ticker, fromDate, toDate).stream()
+                            .map(dto -> StockWeeklyPrice.builder()
+                                    .stock(stock)
+                                    .year(dto.year())
+                                    .week(dto.week())
+                                    .openPrice(dto.openPrice())
+                                    .highPrice(dto.highPrice())
+                                    .lowPrice(dto.lowPrice())
+                                    .closePrice(dto.closePrice())
+                                    .volume(dto.volume())
+                                    .build())
+                            .toList(), overwrite);
+            case DAILY -> candleBulkWriter.insertDailyCandles(
+                    kisApiClient.getDailyPrices(ticker, fromDate, toDate).stream()
+                            .map(dto -> StockDailyPrice.builder()
+                                    .stock(stock)
+                                    .date(dto.date())
+                                    .openPrice(dto.openPrice())
+                                    .highPrice(dto.highPrice())
+                                    .lowPrice(dto.lowPrice())
+                                    .closePrice(dto.closePrice())
+                                    .volume(dto.volume())
+                                    .build())
+                            .toList(), overwrite);
+        };
+    }
 
-                    StockDailyPrice entity = StockDailyPrice.builder()
-                            .stock(stock)
-                            .date(dto.date())
-                            .openPrice(dto.openPrice())
-                            .highPrice(dto.highPrice())
-                            .lowPrice(dto.lowPrice())
-                            .closePrice(dto.closePrice())
-                            .volume(dto.volume())
-                            .build();
-
-                    dailyPriceRepository.save(entity);
-                    savedCount++;
-                }
+    private static String jobKey(Stock stock, Period period) {
+        return stock.getId() + ":" + period;
+    }
 
-                log.info("[{}] {} ~ {} 일봉 데이터 저장 완료 ({}건)", ticker, fromDate, toDate, savedCount);
-                Thread.sleep(1000L);
+    /** 봉 단위 시작일로 정렬 (연: 1월 1일, 월: 1일, 주: 월요일) */
+    private static LocalDate align(Period period, LocalDate date) {
+        return switch (period) {
+            case YEARLY -> date.withDayOfYear(1);
+            case MONTHLY -> date.withDayOfMonth(1);
+            case WEEKLY -> date.with(DayOfWeek.MONDAY);
+            case DAILY -> date;
+        };
+    }
 
-            } catch (Exception e) {
-                log.warn("[{}] {} ~ {} 일봉 데이터 저장 실패: {}", ticker, fromDate, toDate, e.getMessage());
-            }
+    /** 한 번의 호출로 조회하는 구간의 마지막 시작일 (연봉 1년, 그 외 응답 한도 100건) */
+    private static LocalDate chunkEnd(Period period, LocalDate from) {
+        return switch (period) {
+            case YEARLY -> from;
+            case MONTHLY -> from.plusMonths(99);
+            case WEEKLY -> from.plusWeeks(99);
+            case DAILY -> from.plusDays(99);
+        };
+    }
 
-            startDate = startDate.plusDays(100);
-        }
+    private static LocalDate next(Period period, LocalDate chunkEnd) {
+        return switch (period) {
+            case YEARLY -> chunkEnd.plusYears(1);
+            case MONTHLY -> chunkEnd.plusMonths(1);
+            case WEEKLY -> chunkEnd.plusWeeks(1);
+            case DAILY -> chunkEnd.plusDays(1);
+        };
     }
 
-}
\ No newline at end of file
+    private Stock findStock(String ticker) {
+        return stockRepository.findByStockTicker(ticker)
+                .orElseThrow(() -> new IllegalArgumentException("해당 티커를 가진 종목이 존재하지 않습니다: " + ticker));
+    }
+}
@@ -0,0 +1,37 @@
+package com.stockleague.backend.openapi.simulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockleague.backend.infra.properties.KisSimulatorProperties;
+import com.stockleague.backend.infra.properties.KisWebSocketProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * {@code kis.simulator.enabled=true}일 때만 KIS 시뮬레이터 엔드포인트를 등록합니다.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "kis.simulator", name = "enabled", havingValue = "true")
+public class KisSimulatorConfig implements WebSocketConfigurer {
+
+    private final KisSimulatorProperties properties;
+    private final KisWebSocketProperties webSocketProperties;
+    private final ObjectMapper objectMapper;
+
+    @Bean
+    public KisSimulatorWebSocketHandler kisSimulatorWebSocketHandler() {
+        return new KisSimulatorWebSocketHandler(properties, webSocketProperties, objectMapper);
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(kisSimulatorWebSocketHandler(), properties.getPath())
+                .setAllowedOriginPatterns("*");
+    }
+}
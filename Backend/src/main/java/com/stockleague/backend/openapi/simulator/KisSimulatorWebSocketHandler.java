@@ -0,0 +1,207 @@
+package com.stockleague.backend.openapi.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockleague.backend.infra.properties.KisSimulatorProperties;
+import com.stockleague.backend.infra.properties.KisWebSocketProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+/**
+ * KIS 실시간 WebSocket 시뮬레이터
+ * <p>
+ * 실서버와 같은 구독/해지 JSON 을 받아 응답하고, 구독된 종목마다 랜덤워크 체결가/호가를
+ * {@code 0|H0STCNT0|001|...} / {@code 0|H0STASP0|001|...} 평문 프레임으로 전송합니다.
+ * 장시간/네트워크와 무관하게 수집 → 캔들 → 매칭 경로에 부하를 줄 때 사용합니다.
+ * </p>
+ */
+@Slf4j
+public class KisSimulatorWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String TR_PRICE = "H0STCNT0";
+    private static final String TR_ORDERBOOK = "H0STASP0";
+    private static final int SEND_TIME_LIMIT_MS = 5_000;
+    private static final int SEND_BUFFER_LIMIT = 1024 * 1024;
+
+    private final KisSimulatorProperties properties;
+    private final ObjectMapper objectMapper;
+    private final int maxSubscriptionsPerSession;
+
+    private final ConcurrentMap<String, SimClient> clients = new ConcurrentHashMap<>();
+    /** 종목별 시세 상태 - 틱 스레드에서만 갱신 */
+    private final Map<String, SimulatedTicker> tickers = new HashMap<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "kis-simulator");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public KisSimulatorWebSocketHandler(
+            KisSimulatorProperties properties,
+            KisWebSocketProperties webSocketProperties,
+            ObjectMapper objectMapper
+    ) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.maxSubscriptionsPerSession = properties.getMaxSubscriptionsPerSession() > 0
+                ? properties.getMaxSubscriptionsPerSession()
+                : webSocketProperties.getMaxSubscriptionsPerSession();
+    }
+
+    @PostConstruct
+    public void start() {
+        long pricePeriodMs = periodMillis(properties.getPriceRateHz());
+        long orderBookPeriodMs = periodMillis(properties.getOrderbookRateHz());
+
+        ticker.scheduleAtFixedRate(() -> broadcast(TR_PRICE, SimClient::priceTickers,
+                t -> t.nextTrade(properties.getVolatilityTicks())), pricePeriodMs, pricePeriodMs, TimeUnit.MILLISECONDS);
+        ticker.scheduleAtFixedRate(() -> broadcast(TR_ORDERBOOK, SimClient::orderBookTickers,
+                SimulatedTicker::nextOrderBook), orderBookPeriodMs, orderBookPeriodMs, TimeUnit.MILLISECONDS);
+
+        log.info("[KIS-SIM] 시뮬레이터 시작 - path={}, 체결 {}ms, 호가 {}ms 주기",
+                properties.getPath(), pricePeriodMs, orderBookPeriodMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        WebSocketSession concurrent =
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT);
+        clients.put(session.getId(), new SimClient(concurrent));
+        log.info("[KIS-SIM] 클라이언트 연결: {}", session.getId());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        clients.remove(session.getId());
+        log.info("[KIS-SIM] 클라이언트 종료: {} ({})", session.getId(), status);
+    }
+
+    /**
+     * 구독(tr_type=1) / 해지(tr_type=2) 요청 처리
+     */
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        SimClient client = clients.get(session.getId());
+        if (client == null) {
+            return;
+        }
+
+        JsonNode root = objectMapper.readTree(message.getPayload());
+        JsonNode header = root.path("header");
+        JsonNode input = root.path("body").path("input");
+        String trType = header.path("tr_type").asText();
+        String trId = input.path("tr_id").asText();
+        String trKey = input.path("tr_key").asText();
+
+        if (header.path("approval_key").asText().isBlank()) {
+            reply(client, trId, trKey, "1", "OPSP8996", "invalid approval : NOT FOUND");
+            return;
+        }
+
+        Set<String> target = switch (trId) {
+            case TR_PRICE -> client.priceTickers();
+            case TR_ORDERBOOK -> client.orderBookTickers();
+            default -> null;
+        };
+        if (target == null) {
+            reply(client, trId, trKey, "1", "OPSP0011", "invalid tr_id");
+            return;
+        }
+
+        if ("1".equals(trType)) {
+            if (!target.contains(trKey) && client.subscriptionCount() >= maxSubscriptionsPerSession) {
+                reply(client, trId, trKey, "1", "OPSP0008", "MAX SUBSCRIBE OVER");
+                return;
+            }
+            target.add(trKey);
+            reply(client, trId, trKey, "0", "OPSP0000", "SUBSCRIBE SUCCESS");
+        } else if ("2".equals(trType)) {
+            target.remove(trKey);
+            reply(client, trId, trKey, "0", "OPSP0001", "UNSUBSCRIBE SUCCESS");
+        } else {
+            reply(client, trId, trKey, "1", "OPSP0010", "invalid tr_type");
+        }
+    }
+
+    /**
+     * 구독 중인 종목마다 프레임 1개씩 생성해 해당 종목 구독자 전원에게 전송
+     */
+    private void broadcast(String trId, Function<SimClient, Set<String>> subscriptions,
+                           Function<SimulatedTicker, String> frameBody) {
+        try {
+            Map<String, TextMessage> frames = new HashMap<>();
+            for (SimClient client : clients.values()) {
+                for (String code : subscriptions.apply(client)) {
+                    TextMessage frame = frames.computeIfAbsent(code, c -> new TextMessage(
+                            "0|" + trId + "|001|" + frameBody.apply(tickers.computeIfAbsent(c, SimulatedTicker::new))));
+                    send(client, frame);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("[KIS-SIM] {} 프레임 전송 중 예외: {}", trId, e.getMessage());
+        }
+    }
+
+    private void reply(SimClient client, String trId, String trKey, String rtCd, String msgCd, String msg1)
+            throws IOException {
+        Map<String, Object> response = Map.of(
+                "header", Map.of("tr_id", trId, "tr_key", trKey, "encrypt", "N"),
+                "body", Map.of("rt_cd", rtCd, "msg_cd", msgCd, "msg1", msg1)
+        );
+        send(client, new TextMessage(objectMapper.writeValueAsString(response)));
+    }
+
+    private void send(SimClient client, TextMessage message) {
+        WebSocketSession session = client.session();
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(message);
+        } catch (Exception e) {
+            log.warn("[KIS-SIM] 전송 실패 - session={}, err={}", session.getId(), e.getMessage());
+        }
+    }
+
+    private static long periodMillis(double rateHz) {
+        if (rateHz <= 0) {
+            throw new IllegalArgumentException("전송 빈도는 0보다 커야 합니다: " + rateHz);
+        }
+        return Math.max(1L, Math.round(1000.0 / rateHz));
+    }
+
+    private record SimClient(
+            WebSocketSession session,
+            Set<String> priceTickers,
+            Set<String> orderBookTickers
+    ) {
+        SimClient(WebSocketSession session) {
+            this(session, ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet());
+        }
+
+        int subscriptionCount() {
+            return priceTickers.size() + orderBookTickers.size();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.stockleague.backend.openapi.simulator;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 시뮬레이터 종목 1개의 랜덤워크 시세 상태
+ * <p>시뮬레이터 틱 스레드 1개에서만 갱신합니다.</p>
+ */
+class SimulatedTicker {
+
+    private static final int PRICE_FIELD_COUNT = 46;
+    private static final int ORDERBOOK_FIELD_COUNT = 43;
+    private static final int LEVELS = 10;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmmss");
+
+    private final String ticker;
+    private final long prevClose;
+    private long open;
+    private long high;
+    private long low;
+    private long price;
+    private long accVolume;
+    private long accAmount;
+
+    SimulatedTicker(String ticker) {
+        this.ticker = ticker;
+        // 종목 코드 기반 고정 시작가 (10,000 ~ 200,000원)
+        long base = 10_000L + Math.floorMod(ticker.hashCode(), 190_000);
+        this.prevClose = roundToTick(base);
+        this.open = prevClose;
+        this.high = prevClose;
+        this.low = prevClose;
+        this.price = prevClose;
+    }
+
+    /**
+     * 가격을 한 걸음 이동시키고 체결가(H0STCNT0) 본문을 반환
+     */
+    String nextTrade(double volatilityTicks) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long step = Math.round(random.nextGaussian() * volatilityTicks);
+        price = Math.max(tickSize(price), price + step * tickSize(price));
+        high = Math.max(high, price);
+        low = Math.min(low, price);
+
+        long volume = 1 + random.nextLong(500);
+        accVolume += volume;
+        accAmount += volume * price;
+
+        long change = price - prevClose;
+        String[] f = new String[PRICE_FIELD_COUNT];
+        Arrays.fill(f, "0");
+        f[0] = ticker;
+        f[1] = LocalTime.now().format(TIME_FORMATTER);
+        f[2] = Long.toString(price);
+        f[3] = change > 0 ? "2" : change < 0 ? "5" : "3";
+        f[4] = Long.toString(change);
+        f[5] = String.format("%.2f", change * 100.0 / prevClose);
+        f[6] = Long.toString(accVolume == 0 ? price : accAmount / accVolume);
+        f[7] = Long.toString(open);
+        f[8] = Long.toString(high);
+        f[9] = Long.toString(low);
+        f[10] = Long.toString(price);
+        f[12] = Long.toString(volume);
+        f[13] = Long.toString(accVolume);
+        f[14] = Long.toString(accAmount);
+        return String.join("^", f);
+    }
+
+    /**
+     * 현재가 기준 10단계 호가(H0STASP0) 본문을 반환
+     * <p>매도호가 [3..12], 매수호가 [13..22], 매도잔량 [23..32], 매수잔량 [33..42]</p>
+     */
+    String nextOrderBook() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long tick = tickSize(price);
+
+        String[] f = new String[ORDERBOOK_FIELD_COUNT];
+        Arrays.fill(f, "0");
+        f[0] = ticker;
+        f[1] = LocalTime.now().format(TIME_FORMATTER);
+        for (int i = 0; i < LEVELS; i++) {
+            f[3 + i] = Long.toString(price + (long) (i + 1) * tick);
+            f[13 + i] = Long.toString(Math.max(tick, price - (long) i * tick));
+            f[23 + i] = Long.toString(100 + random.nextLong(5_000));
+            f[33 + i] = Long.toString(100 + random.nextLong(5_000));
+        }
+        return String.join("^", f);
+    }
+
+    /** 유가증권시장 호가 단위 */
+    private static long tickSize(long price) {
+        if (price < 2_000) return 1;
+        if (price < 5_000) return 5;
+        if (price < 20_000) return 10;
+        if (price < 50_000) return 50;
+        if (price < 200_000) return 100;
+        if (price < 500_000) return 500;
+        return 1_000;
+    }
+
+    private static long roundToTick(long price) {
+        long tick = tickSize(price);
+        return price / tick * tick;
+    }
+}
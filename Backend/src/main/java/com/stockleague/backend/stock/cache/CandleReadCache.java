@@ -0,0 +1,162 @@
+package com.stockleague.backend.stock.cache;
+
+import com.stockleague.backend.global.util.CandleIntervalUtil;
+import com.stockleague.backend.infra.properties.CandleCacheProperties;
+import com.stockleague.backend.stock.dto.response.stock.CandleDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * 종목 · 간격별 최신 봉 구간(head window)을 JVM 메모리에 보관하는 조회 캐시
+ * <p>
+ * 닫힌 봉은 바뀌지 않으므로 최신 {@code window-size}개를 캐시해 차트 첫 페이지들을 DB 없이 응답합니다.
+ * 이 인스턴스가 저장한 봉은 {@link #appendClosed}로 즉시 앞에 붙이고, cron 집계처럼 일괄 생성된 경우는
+ * {@link #evictInterval}로 비웁니다. 다른 인스턴스가 저장한 봉은 TTL 만료 후 다시 읽어 반영합니다.
+ * 캐시 항목이 임의로 늘지 않도록 지원하는 봉 단위({@link CandleIntervalUtil})만 캐시합니다.
+ * </p>
+ */
+@Component
+public class CandleReadCache {
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final CandleCacheProperties properties;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter bypassCounter;
+
+    public CandleReadCache(CandleCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hitCounter = counter(meterRegistry, "hit");
+        this.missCounter = counter(meterRegistry, "miss");
+        this.bypassCounter = counter(meterRegistry, "bypass");
+        Gauge.builder("stock.candle.cache.size", windows, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 구간 안의 페이지면 캐시에서, 아니면 {@code null}을 반환합니다.
+     *
+     * @param ticker     종목 코드
+     * @param interval   봉 간격 ("d", "w", "m", "y" 또는 "1", "3", "5", "10", "15", "30", "60")
+     * @param offset     조회 시작 위치 (최신 봉 = 0)
+     * @param limit      조회 개수
+     * @param headLoader 최신 {@code window-size}개 봉을 최신 순으로 읽어오는 함수 (miss 시 호출)
+     * @return 최신 순 봉 목록, 캐시 구간을 벗어나면 {@code null}
+     */
+    public List<CandleDto> getPage(String ticker, String interval, int offset, int limit,
+                                   Supplier<List<CandleDto>> headLoader) {
+        if (!properties.isEnabled() || !CandleIntervalUtil.isSupported(interval)
+                || offset + limit > properties.getWindowSize()) {
+            bypassCounter.increment();
+            return null;
+        }
+
+        List<CandleDto> candles = window(ticker, interval, headLoader).candles();
+        if (offset >= candles.size()) {
+            return List.of();
+        }
+        return candles.subList(offset, Math.min(offset + limit, candles.size()));
+    }
+
+    /**
+     * {@code before} 이전 limit 개가 캐시 구간 안에 있으면 캐시에서, 아니면 {@code null}을 반환합니다. (keyset 페이징)
+     *
+     * @param before     정규화된 봉 시각 커서 (CandleDto.dateTime 형식, 미포함)
+     * @param headLoader 최신 {@code window-size}개 봉을 최신 순으로 읽어오는 함수 (miss 시 호출)
+     * @return 최신 순 봉 목록, 캐시 구간을 벗어나면 {@code null}
+     */
+    public List<CandleDto> getPageBefore(String ticker, String interval, String before, int limit,
+                                         Supplier<List<CandleDto>> headLoader) {
+        if (!properties.isEnabled() || !CandleIntervalUtil.isSupported(interval)) {
+            bypassCounter.increment();
+            return null;
+        }
+
+        List<CandleDto> candles = window(ticker, interval, headLoader).candles();
+        boolean complete = candles.size() < properties.getWindowSize();
+
+        int from = 0;
+        while (from < candles.size() && candles.get(from).dateTime().compareTo(before) >= 0) {
+            from++;
+        }
+        if (from + limit > candles.size() && !complete) {
+            bypassCounter.increment();
+            return null;
+        }
+        return candles.subList(from, Math.min(from + limit, candles.size()));
+    }
+
+    /**
+     * 새로 닫힌 봉을 캐시 구간 맨 앞에 붙입니다.
+     * <p>캐시가 없거나 이미 같은 시각 이후의 봉이 있으면 무시합니다.</p>
+     *
+     * @param interval 봉 간격
+     * @param candle   닫힌 봉 (dateTime 이 기존 최신 봉보다 나중이어야 함)
+     */
+    public void appendClosed(String interval, CandleDto candle) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        windows.computeIfPresent(key(candle.ticker(), interval), (key, window) -> {
+            List<CandleDto> candles = window.candles();
+            if (!candles.isEmpty() && candles.get(0).dateTime().compareTo(candle.dateTime()) >= 0) {
+                return window;
+            }
+            List<CandleDto> updated = new ArrayList<>(Math.min(candles.size() + 1, properties.getWindowSize()));
+            updated.add(candle);
+            updated.addAll(candles.subList(0, Math.min(candles.size(), properties.getWindowSize() - 1)));
+            return new Window(List.copyOf(updated), window.loadedAtMillis());
+        });
+    }
+
+    /**
+     * 해당 간격의 모든 종목 캐시를 비웁니다. (일괄 생성 직후 호출)
+     */
+    public void evictInterval(String interval) {
+        String suffix = ":" + interval;
+        windows.keySet().removeIf(key -> key.endsWith(suffix));
+    }
+
+    private Window window(String ticker, String interval, Supplier<List<CandleDto>> headLoader) {
+        String key = key(ticker, interval);
+        long now = System.currentTimeMillis();
+        Window window = windows.get(key);
+        if (window == null || now - window.loadedAtMillis() > ttlMillis(interval)) {
+            missCounter.increment();
+            window = new Window(List.copyOf(headLoader.get()), now);
+            windows.put(key, window);
+        } else {
+            hitCounter.increment();
+        }
+        return window;
+    }
+
+    private long ttlMillis(String interval) {
+        return Character.isDigit(interval.charAt(0))
+                ? properties.getMinuteTtl().toMillis()
+                : properties.getPeriodTtl().toMillis();
+    }
+
+    private static String key(String ticker, String interval) {
+        return ticker + ":" + interval;
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("stock.candle.cache")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /** 최신 순 봉 목록 (불변) */
+    private record Window(List<CandleDto> candles, long loadedAtMillis) {
+    }
+}
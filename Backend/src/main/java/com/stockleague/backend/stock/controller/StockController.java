@@ -2,9 +2,12 @@ package com.stockleague.backend.stock.controller;
 
 import com.stockleague.backend.global.exception.ErrorResponse;
 import com.stockleague.backend.stock.dto.response.stock.CandleDto;
+import com.stockleague.backend.stock.dto.response.stock.CandleSeriesDto;
+import com.stockleague.backend.stock.dto.response.stock.IndicatorDto;
 import com.stockleague.backend.stock.dto.response.stock.StockListResponseDto;
 import com.stockleague.backend.stock.dto.response.stock.StockOrderBookDto;
 import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+import com.stockleague.backend.stock.service.IndicatorService;
 import com.stockleague.backend.stock.service.StockService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,11 +16,16 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -29,6 +37,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class StockController {
 
     private final StockService stockService;
+    private final IndicatorService indicatorService;
 
     @GetMapping
     @Operation(
@@ -254,6 +263,22 @@ public class StockController {
                     예시:
                     - offset = 0, limit = 20 → 1페이지
                     - offset = 20, limit = 20 → 2페이지
+                    
+                    무한 스크롤에는 offset 대신 before(이전 응답의 마지막 dateTime)를 사용하세요.
+                    - before = 2025-06-18T13:35, limit = 20 → 해당 봉 이전 20개
+                    
+                    첫 페이지(offset = 0, before 없음)에는 아직 확정되지 않은 진행 중인 분봉/일봉이 맨 앞에 1개 더 포함될 수 있습니다.
+                    
+                    format=columnar 또는 Accept: application/vnd.stockleague.candles.columnar+json 이면
+                    필드별 병렬 배열(CandleSeriesDto)로 응답합니다. delta=true 면 시각/가격을 직전 값과의 차이로 인코딩합니다.
+                    
+                    긴 구간을 그릴 때는 downsample 과 maxPoints 로 조회한 limit 개를 최대 maxPoints 개로 줄일 수 있습니다.
+                    이때 limit 은 줄이기 전에 읽는 원본 봉 개수이며 최대 20,000 입니다.
+                    - downsample = ohlc → 연속한 봉을 묶어 시가/고가/저가/종가/거래량을 보존 (캔들 차트)
+                    - downsample = lttb → 종가 곡선 모양을 유지하는 원본 봉만 선택 (라인 차트)
+                    
+                    분봉의 실시간 갱신은 폴링 대신 STOMP /topic/candles/{ticker}/{interval} 을 구독하세요.
+                    진행 중인 봉(FORMING)과 구간 확정(CLOSED) 이벤트가 CandleUpdateDto 로 전송됩니다.
                     """,
             responses = {
                     @ApiResponse(
@@ -304,7 +329,7 @@ public class StockController {
                     )
             }
     )
-    public ResponseEntity<List<CandleDto>> getCandles(
+    public ResponseEntity<?> getCandles(
             @PathVariable String ticker,
 
             @Parameter(
@@ -313,14 +338,125 @@ public class StockController {
             )
             @RequestParam String interval,
 
-            @Parameter(description = "조회 오프셋 (건 단위)", example = "0")
-            @RequestParam int offset,
+            @Parameter(description = "조회 오프셋 (건 단위, before 사용 시 무시)", example = "0")
+            @RequestParam(defaultValue = "0") int offset,
+
+            @Parameter(description = "가져올 데이터 수 (limit, downsample 사용 시 다운샘플링 전 원본 봉 개수, 최대 20000)",
+                    example = "10")
+            @RequestParam int limit,
+
+            @Parameter(description = "이 봉 시각 이전 데이터만 조회 (이전 응답의 마지막 dateTime, 미포함)",
+                    example = "2025-06-18T13:35")
+            @RequestParam(required = false) String before,
 
-            @Parameter(description = "가져올 데이터 수 (limit)", example = "10")
-            @RequestParam int limit
+            @Parameter(description = "응답 형식 (json: 객체 배열, columnar: 필드별 병렬 배열)", example = "columnar")
+            @RequestParam(defaultValue = "json") String format,
+
+            @Parameter(description = "columnar 형식에서 시각/가격 delta 인코딩 여부", example = "false")
+            @RequestParam(defaultValue = "false") boolean delta,
+
+            @Parameter(description = "다운샘플링 방식 (ohlc: 봉 묶음 합성, lttb: 라인 차트용 대표 봉 선택)", example = "ohlc")
+            @RequestParam(required = false) String downsample,
+
+            @Parameter(description = "다운샘플링 시 최대 반환 개수 (2 이상)", example = "500")
+            @RequestParam(required = false) Integer maxPoints,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
     ) {
-        List<CandleDto> candles = stockService.getCandles(ticker, interval, offset, limit);
-        return ResponseEntity.ok(candles);
+        List<CandleDto> candles = stockService.getCandles(
+                ticker, interval, offset, limit, before, downsample, maxPoints);
+
+        boolean columnar = "columnar".equalsIgnoreCase(format)
+                || (accept != null && accept.contains(CandleSeriesDto.MEDIA_TYPE));
+        if (!columnar) {
+            return ResponseEntity.ok(candles);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(CandleSeriesDto.MEDIA_TYPE))
+                .body(CandleSeriesDto.from(ticker, interval, candles, delta));
+    }
+
+    @GetMapping("/{ticker}/indicators")
+    @Operation(
+            summary = "기술 지표 조회",
+            description = """
+                    특정 종목의 봉 데이터 기준 기술 지표(SMA, EMA, RSI, MACD, 볼린저 밴드)를 조회합니다.
+                    서버가 봉이 확정될 때마다 갱신해 둔 값을 반환하며, 진행 중인 봉은 포함하지 않습니다.
+                    
+                    - SMA/볼린저 밴드 20, EMA 20, RSI 14, MACD 12/26/9 (기본 설정)
+                    - 계산에 필요한 봉 수가 부족한 지표는 null
+                    """,
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "기술 지표 조회 성공",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = IndicatorDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "ticker": "005930",
+                                              "interval": "d",
+                                              "dateTime": "2025-07-22",
+                                              "candleCount": 200,
+                                              "close": 72800,
+                                              "sma": 71950.0,
+                                              "ema": 72103.4,
+                                              "rsi": 58.3,
+                                              "macd": 312.5,
+                                              "macdSignal": 280.1,
+                                              "macdHistogram": 32.4,
+                                              "bollingerUpper": 74120.7,
+                                              "bollingerMiddle": 71950.0,
+                                              "bollingerLower": 69779.3
+                                            }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "지원하지 않는 봉 데이터 단위",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    examples = @ExampleObject(
+                                            name = "InvalidParam",
+                                            summary = "잘못된 interval",
+                                            value = """
+                                                    {
+                                                      "success": false,
+                                                      "message": "잘못된 요청 파라미터입니다.",
+                                                      "errorCode": "INVALID_PARAM"
+                                                    }
+                                                    """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(responseCode = "404", description = "종목 정보가 존재하지 않음",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    examples = @ExampleObject(
+                                            name = "StockNotFound",
+                                            summary = "해당 티커에 대한 주식 정보가 존재하지 않을 경우",
+                                            value = """
+                                                    {
+                                                      "success": false,
+                                                      "message": "해당 종목을 찾을 수 없습니다.",
+                                                      "errorCode": "STOCK_NOT_FOUND"
+                                                    }
+                                                    """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<IndicatorDto> getIndicators(
+            @PathVariable String ticker,
+
+            @Parameter(
+                    description = "봉 데이터 단위 (y: 연봉, m: 월봉, w: 주봉, d: 일봉, 숫자 문자열: 분봉 예: 1, 3, 5, 10, 15, 30, 60)",
+                    example = "d"
+            )
+            @RequestParam(defaultValue = "d") String interval
+    ) {
+        return ResponseEntity.ok(indicatorService.getIndicators(ticker, interval));
     }
 
     @GetMapping("/{ticker}/price")
@@ -452,4 +588,51 @@ public class StockController {
         return ResponseEntity.ok(dto);
     }
 
+    @GetMapping("/{ticker}/orderbook/history")
+    @Operation(
+            summary = "특정 시각의 호가 조회",
+            description = """
+                호가 이력(키프레임 + 델타)에서 지정한 시각 직전에 수신한 호가를 복원합니다.
+                
+                - at: 조회 시각 (ISO-8601, 예: 2025-07-22T10:15:30)
+                - 응답의 timestamp 는 복원된 호가의 실제 수신 시각입니다.
+                """,
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "호가 복원 성공",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = StockOrderBookDto.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "종목 또는 해당 시각의 호가 이력이 존재하지 않음",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    examples = @ExampleObject(
+                                            name = "OrderBookNotFound",
+                                            summary = "해당 시각 이전의 호가 이력이 없을 경우",
+                                            value = """
+                                                {
+                                                  "success": false,
+                                                  "message": "해당 종목의 호가 정보를 찾을 수 없습니다.",
+                                                  "errorCode": "ORDER_BOOK_NOT_FOUND"
+                                                }
+                                                """
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<StockOrderBookDto> getOrderBookAt(
+            @PathVariable String ticker,
+            @Parameter(description = "조회 시각", example = "2025-07-22T10:15:30")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        StockOrderBookDto dto = stockService.getOrderBookAt(ticker, at);
+        return ResponseEntity.ok(dto);
+    }
 }
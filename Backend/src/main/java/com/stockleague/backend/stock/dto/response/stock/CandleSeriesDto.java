@@ -0,0 +1,96 @@
+package com.stockleague.backend.stock.dto.response.stock;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Schema(description = "열 단위(columnar) 봉 데이터 - 필드별 병렬 배열, 인덱스 i 가 i번째 봉")
+public record CandleSeriesDto(
+
+        @Schema(description = "종목 티커", example = "005930")
+        String ticker,
+
+        @Schema(description = "봉 데이터 단위", example = "1")
+        String interval,
+
+        @Schema(description = "delta 인코딩 여부 - true 면 time/open/high/low/close 의 0번째는 원래 값, 이후는 직전 값과의 차이")
+        boolean delta,
+
+        @Schema(description = "봉 시각 (epoch seconds, KST 기준, 일/주/월/연봉은 해당 날짜 00:00)",
+                example = "[1750221300, 1750221240]")
+        long[] time,
+
+        @Schema(description = "시가", example = "[72800, 72700]")
+        long[] open,
+
+        @Schema(description = "고가", example = "[72900, 72800]")
+        long[] high,
+
+        @Schema(description = "저가", example = "[72700, 72600]")
+        long[] low,
+
+        @Schema(description = "종가", example = "[72800, 72750]")
+        long[] close,
+
+        @Schema(description = "거래량 (delta 인코딩하지 않음)", example = "[15320, 12004]")
+        long[] volume
+) {
+    /** columnar 응답을 요청/표시하는 미디어 타입 */
+    public static final String MEDIA_TYPE = "application/vnd.stockleague.candles.columnar+json";
+
+    private static final ZoneOffset KST = ZoneOffset.ofHours(9);
+
+    /**
+     * {@link CandleDto} 목록을 같은 순서의 병렬 배열로 변환
+     *
+     * @param candles 봉 목록 (조회 API 와 같은 최신 순)
+     * @param delta   시각/가격을 직전 값과의 차이로 인코딩할지 여부
+     */
+    public static CandleSeriesDto from(String ticker, String interval, List<CandleDto> candles, boolean delta) {
+        int n = candles.size();
+        long[] time = new long[n];
+        long[] open = new long[n];
+        long[] high = new long[n];
+        long[] low = new long[n];
+        long[] close = new long[n];
+        long[] volume = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            CandleDto c = candles.get(i);
+            time[i] = toEpochSecond(c.dateTime());
+            open[i] = valueOf(c.openPrice());
+            high[i] = valueOf(c.highPrice());
+            low[i] = valueOf(c.lowPrice());
+            close[i] = valueOf(c.closePrice());
+            volume[i] = valueOf(c.volume());
+        }
+
+        if (delta) {
+            encodeDelta(time);
+            encodeDelta(open);
+            encodeDelta(high);
+            encodeDelta(low);
+            encodeDelta(close);
+        }
+        return new CandleSeriesDto(ticker, interval, delta, time, open, high, low, close, volume);
+    }
+
+    private static long toEpochSecond(String dateTime) {
+        return dateTime.indexOf('T') >= 0
+                ? LocalDateTime.parse(dateTime).toEpochSecond(KST)
+                : LocalDate.parse(dateTime).atStartOfDay().toEpochSecond(KST);
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    /** 뒤에서부터 직전 값을 빼서 제자리 변환 */
+    private static void encodeDelta(long[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            values[i] -= values[i - 1];
+        }
+    }
+}
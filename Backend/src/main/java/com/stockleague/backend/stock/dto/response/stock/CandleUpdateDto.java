@@ -0,0 +1,28 @@
+package com.stockleague.backend.stock.dto.response.stock;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "실시간 봉 이벤트 (/topic/candles/{ticker}/{interval})")
+public record CandleUpdateDto(
+
+        @Schema(description = "이벤트 종류 - FORMING: 진행 중인 봉 갱신, CLOSED: 구간 확정", example = "FORMING")
+        Type type,
+
+        @Schema(description = "봉 데이터 단위 (분)", example = "1")
+        String interval,
+
+        @Schema(description = "봉 데이터 - dateTime 은 구간 시작 시각으로, 조회 API 의 봉과 같은 경계입니다.")
+        CandleDto candle
+) {
+    public enum Type {
+        FORMING, CLOSED
+    }
+
+    public static CandleUpdateDto forming(String interval, CandleDto candle) {
+        return new CandleUpdateDto(Type.FORMING, interval, candle);
+    }
+
+    public static CandleUpdateDto closed(String interval, CandleDto candle) {
+        return new CandleUpdateDto(Type.CLOSED, interval, candle);
+    }
+}
@@ -0,0 +1,50 @@
+package com.stockleague.backend.stock.dto.response.stock;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "기술 지표 - 마지막 확정 봉 기준, 계산에 필요한 봉 수가 부족한 지표는 null")
+public record IndicatorDto(
+
+        @Schema(description = "종목 티커", example = "005930")
+        String ticker,
+
+        @Schema(description = "봉 데이터 단위", example = "d")
+        String interval,
+
+        @Schema(description = "지표가 반영한 마지막 확정 봉의 날짜/시간 (봉이 없으면 null)", example = "2025-06-18")
+        String dateTime,
+
+        @Schema(description = "반영한 봉 수", example = "200")
+        long candleCount,
+
+        @Schema(description = "마지막 봉 종가", example = "72800")
+        Long close,
+
+        @Schema(description = "단순 이동평균 (SMA)", example = "71950.0")
+        Double sma,
+
+        @Schema(description = "지수 이동평균 (EMA)", example = "72103.4")
+        Double ema,
+
+        @Schema(description = "RSI (Wilder, 0~100)", example = "58.3")
+        Double rsi,
+
+        @Schema(description = "MACD 선 (빠른 EMA - 느린 EMA)", example = "312.5")
+        Double macd,
+
+        @Schema(description = "MACD 시그널 (MACD 의 EMA)", example = "280.1")
+        Double macdSignal,
+
+        @Schema(description = "MACD 히스토그램 (MACD - 시그널)", example = "32.4")
+        Double macdHistogram,
+
+        @Schema(description = "볼린저 밴드 상단", example = "74120.7")
+        Double bollingerUpper,
+
+        @Schema(description = "볼린저 밴드 중심선 (SMA)", example = "71950.0")
+        Double bollingerMiddle,
+
+        @Schema(description = "볼린저 밴드 하단", example = "69779.3")
+        Double bollingerLower
+) {
+}
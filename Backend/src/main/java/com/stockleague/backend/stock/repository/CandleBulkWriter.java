@@ -0,0 +1,151 @@
+package com.stockleague.backend.stock.repository;
+
+import com.stockleague.backend.stock.domain.StockDailyPrice;
+import com.stockleague.backend.stock.domain.StockMinutePrice;
+import com.stockleague.backend.stock.domain.StockMonthlyPrice;
+import com.stockleague.backend.stock.domain.StockWeeklyPrice;
+import com.stockleague.backend.stock.domain.StockYearlyPrice;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 봉 데이터 일괄 저장소
+ * <p>
+ * 한 구간의 모든 종목 봉을 다중 행 {@code INSERT ... ON CONFLICT DO NOTHING} 으로 저장합니다.
+ * 종목 수와 관계없이 청크당 1회 왕복이며, 이미 존재하는 봉은 각 테이블의 유니크 제약으로 건너뜁니다.
+ * 일/주/월/연봉은 {@code overwrite}로 저장하면 {@code ON CONFLICT ... DO UPDATE}로 기존 봉의 시고저종 · 거래량을 덮어씁니다.
+ * (아직 끝나지 않은 구간의 봉을 다시 받아 보정할 때)
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class CandleBulkWriter {
+
+    /** 한 INSERT 문에 담는 최대 행 수 (바인딩 파라미터 한도 65535 이내) */
+    private static final int CHUNK_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 분봉 일괄 저장 - 유니크 (stock_id, interval, candle_time)
+     *
+     * @return 실제로 저장된 행 수
+     */
+    public int insertMinuteCandles(List<StockMinutePrice> candles) {
+        return insert(
+                "stock_minute_prices",
+                "stock_id, interval, candle_time, open_price, high_price, low_price, close_price, volume",
+                "stock_id, interval, candle_time",
+                candles,
+                c -> new Object[]{c.getStock().getId(), c.getInterval(), c.getCandleTime(),
+                        c.getOpenPrice(), c.getHighPrice(), c.getLowPrice(), c.getClosePrice(), c.getVolume()},
+                false);
+    }
+
+    /**
+     * 일봉 일괄 저장 - 유니크 (stock_id, date)
+     *
+     * @param overwrite true 면 이미 있는 봉도 새 값으로 갱신
+     * @return 저장 또는 갱신된 행 수
+     */
+    public int insertDailyCandles(List<StockDailyPrice> candles, boolean overwrite) {
+        return insert(
+                "stock_daily_prices",
+                "stock_id, date, open_price, high_price, low_price, close_price, volume",
+                "stock_id, date",
+                candles,
+                c -> new Object[]{c.getStock().getId(), c.getDate(),
+                        c.getOpenPrice(), c.getHighPrice(), c.getLowPrice(), c.getClosePrice(), c.getVolume()},
+                overwrite);
+    }
+
+    /**
+     * 주봉 일괄 저장 - 유니크 (stock_id, year, week)
+     *
+     * @param overwrite true 면 이미 있는 봉도 새 값으로 갱신
+     * @return 저장 또는 갱신된 행 수
+     */
+    public int insertWeeklyCandles(List<StockWeeklyPrice> candles, boolean overwrite) {
+        return insert(
+                "stock_weekly_prices",
+                "stock_id, year, week, open_price, high_price, low_price, close_price, volume",
+                "stock_id, year, week",
+                candles,
+                c -> new Object[]{c.getStock().getId(), c.getYear(), c.getWeek(),
+                        c.getOpenPrice(), c.getHighPrice(), c.getLowPrice(), c.getClosePrice(), c.getVolume()},
+                overwrite);
+    }
+
+    /**
+     * 월봉 일괄 저장 - 유니크 (stock_id, year, month)
+     *
+     * @param overwrite true 면 이미 있는 봉도 새 값으로 갱신
+     * @return 저장 또는 갱신된 행 수
+     */
+    public int insertMonthlyCandles(List<StockMonthlyPrice> candles, boolean overwrite) {
+        return insert(
+                "stock_monthly_prices",
+                "stock_id, year, month, open_price, high_price, low_price, close_price, volume",
+                "stock_id, year, month",
+                candles,
+                c -> new Object[]{c.getStock().getId(), c.getYear(), c.getMonth(),
+                        c.getOpenPrice(), c.getHighPrice(), c.getLowPrice(), c.getClosePrice(), c.getVolume()},
+                overwrite);
+    }
+
+    /**
+     * 연봉 일괄 저장 - 유니크 (stock_id, year)
+     *
+     * @param overwrite true 면 이미 있는 봉도 새 값으로 갱신
+     * @return 저장 또는 갱신된 행 수
+     */
+    public int insertYearlyCandles(List<StockYearlyPrice> candles, boolean overwrite) {
+        return insert(
+                "stock_yearly_prices",
+                "stock_id, year, open_price, high_price, low_price, close_price, volume",
+                "stock_id, year",
+                candles,
+                c -> new Object[]{c.getStock().getId(), c.getYear(),
+                        c.getOpenPrice(), c.getHighPrice(), c.getLowPrice(), c.getClosePrice(), c.getVolume()},
+                overwrite);
+    }
+
+    private <T> int insert(String table, String columns, String conflictColumns,
+                           List<T> rows, Function<T, Object[]> mapper, boolean overwrite) {
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        int columnCount = columns.split(",").length;
+        String placeholders = "(" + "?, ".repeat(columnCount - 1) + "?)";
+        String onConflict = " ON CONFLICT (" + conflictColumns + ")" + (overwrite
+                ? " DO UPDATE SET open_price = EXCLUDED.open_price, high_price = EXCLUDED.high_price,"
+                        + " low_price = EXCLUDED.low_price, close_price = EXCLUDED.close_price, volume = EXCLUDED.volume"
+                : " DO NOTHING");
+
+        int inserted = 0;
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            List<T> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                    .append(" (").append(columns).append(") VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * columnCount);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(placeholders);
+                for (Object value : mapper.apply(chunk.get(i))) {
+                    args.add(value);
+                }
+            }
+            sql.append(onConflict);
+
+            inserted += jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,43 @@
+package com.stockleague.backend.stock.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 과거 시세 백필 진행 위치 저장소 (V44 price_backfill_checkpoints)
+ */
+@Repository
+@RequiredArgsConstructor
+public class PriceBackfillCheckpointRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return 다음에 수집할 구간 시작일, 기록이 없으면 empty
+     */
+    public Optional<LocalDate> findNextFrom(Long stockId, String period) {
+        List<LocalDate> rows = jdbcTemplate.queryForList(
+                "SELECT next_from FROM price_backfill_checkpoints WHERE stock_id = ? AND period = ?",
+                LocalDate.class, stockId, period);
+        return rows.stream().findFirst();
+    }
+
+    public void save(Long stockId, String period, LocalDate nextFrom) {
+        jdbcTemplate.update("""
+                        INSERT INTO price_backfill_checkpoints (stock_id, period, next_from, updated_at)
+                        VALUES (?, ?, ?, CURRENT_TIMESTAMP)
+                        ON CONFLICT (stock_id, period)
+                        DO UPDATE SET next_from = EXCLUDED.next_from, updated_at = EXCLUDED.updated_at
+                        """,
+                stockId, period, nextFrom);
+    }
+
+    public int delete(Long stockId, String period) {
+        return jdbcTemplate.update(
+                "DELETE FROM price_backfill_checkpoints WHERE stock_id = ? AND period = ?", stockId, period);
+    }
+}
@@ -3,12 +3,15 @@ package com.stockleague.backend.stock.repository;
 import com.stockleague.backend.stock.domain.Stock;
 import com.stockleague.backend.stock.domain.StockDailyPrice;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface StockDailyPriceRepository extends JpaRepository<StockDailyPrice, Long> {
@@ -22,20 +25,52 @@ public interface StockDailyPriceRepository extends JpaRepository<StockDailyPrice
      */
     boolean existsByStockAndDate(Stock stock, LocalDate date);
 
+    /**
+     * 특정 날짜의 모든 종목 일봉 조회 (종목 함께 로딩)
+     *
+     * @param date 조회할 날짜
+     * @return 해당 날짜의 일봉 목록
+     */
+    @Query("""
+                SELECT d
+                FROM StockDailyPrice d
+                JOIN FETCH d.stock
+                WHERE d.date = :date
+            """)
+    List<StockDailyPrice> findAllWithStockByDate(@Param("date") LocalDate date);
+
     /**
      * 특정 종목의 일봉 데이터를 날짜 기준 최신순으로 페이징 조회
      *
      * @param stockId 종목 ID
      * @param pageable 페이징 정보
-     * @return 최신순 일봉 데이터 페이지
+     * @return 최신순 일봉 데이터 목록
+     */
+    @Query("""
+                SELECT d
+                FROM StockDailyPrice d
+                WHERE d.stock.id = :stockId
+                ORDER BY d.date DESC
+            """)
+    List<StockDailyPrice> findAllByStockIdOrderByDateDesc(Long stockId, Pageable pageable);
+
+    /**
+     * 특정 종목의 {@code before} 이전 일봉을 최신순으로 limit 개 조회 (keyset 페이징)
+     *
+     * @param stockId  종목 ID
+     * @param before   이 날짜보다 이전 일봉만 조회 (미포함)
+     * @param pageable 조회 개수 ({@code PageRequest.of(0, limit)})
+     * @return 최신순 일봉 데이터 목록
      */
     @Query("""
                 SELECT d
                 FROM StockDailyPrice d
                 WHERE d.stock.id = :stockId
+                  AND d.date < :before
                 ORDER BY d.date DESC
             """)
-    Page<StockDailyPrice> findAllByStockIdOrderByDateDesc(Long stockId, Pageable pageable);
+    List<StockDailyPrice> findAllByStockIdAndDateBeforeOrderByDateDesc(
+            Long stockId, LocalDate before, Pageable pageable);
 
     /**
      * <p>특정 종목의 주어진 날짜 구간(start ~ end)의 일봉 데이터를 날짜 오름차순으로 조회</p>
@@ -48,4 +83,42 @@ public interface StockDailyPriceRepository extends JpaRepository<StockDailyPrice
      */
     List<StockDailyPrice> findAllByStockAndDateBetweenOrderByDateAsc(
             Stock stock, LocalDate start, LocalDate end);
+
+    /**
+     * [start, end] 구간의 1분봉을 합성해 모든 종목의 {@code date} 일봉을 한 번에 생성한다.
+     * 시가/종가는 시간순 첫/마지막 1분봉, 고가/저가는 최대/최소, 거래량은 합계이며, 이미 존재하는 일봉(장중 백필로 저장된 값 등)은 합성 값으로 덮어쓴다.
+     *
+     * @param date  생성할 일봉 날짜
+     * @param start 장 시작 시각 (포함)
+     * @param end   장 종료 시각 (포함)
+     * @return 생성 또는 갱신된 일봉 개수
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+                INSERT INTO stock_daily_prices
+                    (stock_id, date, open_price, high_price, low_price, close_price, volume)
+                SELECT m.stock_id,
+                       :date,
+                       (ARRAY_AGG(m.open_price ORDER BY m.candle_time ASC))[1],
+                       MAX(m.high_price),
+                       MIN(m.low_price),
+                       (ARRAY_AGG(m.close_price ORDER BY m.candle_time DESC))[1],
+                       SUM(m.volume)
+                FROM stock_minute_prices m
+                WHERE m.interval = 1
+                  AND m.candle_time BETWEEN :start AND :end
+                GROUP BY m.stock_id
+                ON CONFLICT (stock_id, date)
+                    DO UPDATE SET open_price  = EXCLUDED.open_price,
+                                  high_price  = EXCLUDED.high_price,
+                                  low_price   = EXCLUDED.low_price,
+                                  close_price = EXCLUDED.close_price,
+                                  volume      = EXCLUDED.volume
+            """, nativeQuery = true)
+    int rollUpFromMinuteCandles(
+            @Param("date") LocalDate date,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
 }
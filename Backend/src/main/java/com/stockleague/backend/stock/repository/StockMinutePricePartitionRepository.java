@@ -0,0 +1,63 @@
+package com.stockleague.backend.stock.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * stock_minute_prices 파티션 관리 (V43 마이그레이션의 interval → 월 2단계 파티션)
+ * <p>월 파티션 이름은 {@code stock_minute_prices_i{interval}_{YYYYMM}} 규칙을 따릅니다.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockMinutePricePartitionRepository {
+
+    private static final String MONTH_PARTITION_PATTERN = "^stock_minute_prices_i\\d+_\\d{6}$";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 간격 · 월 파티션을 (없으면) 생성
+     *
+     * @return 월 파티션 이름
+     */
+    public String ensurePartition(int interval, LocalDate month) {
+        return jdbcTemplate.queryForObject(
+                "SELECT ensure_stock_minute_price_partition(?, ?)", String.class, interval, month);
+    }
+
+    /**
+     * 간격 파티션에 붙어 있는 월 파티션 이름 목록 (기본 파티션 제외)
+     */
+    public List<String> findMonthPartitions(int interval) {
+        return jdbcTemplate.queryForList("""
+                        SELECT c.relname
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        JOIN pg_class p ON p.oid = i.inhparent
+                        WHERE p.relname = ?
+                          AND c.relname ~ ?
+                        ORDER BY c.relname
+                        """,
+                String.class, "stock_minute_prices_i" + interval, MONTH_PARTITION_PATTERN);
+    }
+
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + checked(partition));
+    }
+
+    public void detachPartition(int interval, String partition) {
+        jdbcTemplate.execute("ALTER TABLE stock_minute_prices_i" + interval
+                + " DETACH PARTITION " + checked(partition));
+    }
+
+    /** 식별자는 바인딩할 수 없으므로 이름 규칙에 맞는 값만 허용 */
+    private static String checked(String partition) {
+        if (!partition.matches(MONTH_PARTITION_PATTERN)) {
+            throw new IllegalArgumentException("잘못된 파티션 이름: " + partition);
+        }
+        return partition;
+    }
+}
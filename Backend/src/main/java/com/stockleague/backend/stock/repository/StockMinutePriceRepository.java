@@ -4,10 +4,12 @@ import com.stockleague.backend.stock.domain.Stock;
 import com.stockleague.backend.stock.domain.StockMinutePrice;
 import java.time.LocalDateTime;
 import java.util.List;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface StockMinutePriceRepository extends JpaRepository<StockMinutePrice, Long> {
 
@@ -29,7 +31,7 @@ public interface StockMinutePriceRepository extends JpaRepository<StockMinutePri
      * @param stockId    종목의 ID
      * @param interval   분봉 간격 (예: 1, 3, 5, 10, 15, 30, 60)
      * @param pageable   페이징 정보 (offset, limit 포함)
-     * @return 분봉 데이터 페이지 (최신 순 정렬)
+     * @return 분봉 데이터 목록 (최신 순 정렬)
      */
     @Query("""
                 SELECT m
@@ -38,14 +40,74 @@ public interface StockMinutePriceRepository extends JpaRepository<StockMinutePri
                   AND m.interval = :interval
                 ORDER BY m.candleTime DESC
             """)
-    Page<StockMinutePrice> findAllByStockIdAndIntervalOrderByCandleTimeDesc(
+    List<StockMinutePrice> findAllByStockIdAndIntervalOrderByCandleTimeDesc(
             Long stockId,
             int interval,
             Pageable pageable
     );
 
+    /**
+     * 주어진 종목 · 분봉 간격에서 {@code before} 이전 분봉을 최신 순으로 limit 개 조회한다. (keyset 페이징)
+     * (stock_id, interval, candle_time DESC) 인덱스를 따라 읽으므로 과거로 깊이 내려가도 비용이 일정하다.
+     *
+     * @param stockId  종목 ID
+     * @param interval 분봉 간격
+     * @param before   이 시각보다 이전 봉만 조회 (미포함)
+     * @param pageable 조회 개수 ({@code PageRequest.of(0, limit)})
+     * @return 분봉 데이터 목록 (최신 순 정렬)
+     */
+    @Query("""
+                SELECT m
+                FROM StockMinutePrice m
+                WHERE m.stock.id = :stockId
+                  AND m.interval = :interval
+                  AND m.candleTime < :before
+                ORDER BY m.candleTime DESC
+            """)
+    List<StockMinutePrice> findAllByStockIdAndIntervalAndCandleTimeBeforeOrderByCandleTimeDesc(
+            Long stockId,
+            int interval,
+            LocalDateTime before,
+            Pageable pageable
+    );
+
     List<StockMinutePrice> findAllByStockAndIntervalAndCandleTimeBetweenOrderByCandleTimeAsc(
             Stock stock, int interval, LocalDateTime start, LocalDateTime end
     );
 
+    /**
+     * [from, to) 구간의 1분봉을 합성해 모든 종목의 {@code interval}분봉을 한 번에 생성한다.
+     * 시가는 첫 1분봉, 종가는 마지막 1분봉, 고가/저가는 최대/최소, 거래량은 합계이며
+     * 이미 존재하는 봉은 건너뛴다.
+     *
+     * @param interval 생성할 분봉 간격
+     * @param from     구간 시작 (생성되는 봉의 candleTime)
+     * @param to       구간 끝 (미포함)
+     * @return 생성된 봉 개수
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+                INSERT INTO stock_minute_prices
+                    (stock_id, interval, candle_time, open_price, high_price, low_price, close_price, volume)
+                SELECT m.stock_id,
+                       :interval,
+                       :from,
+                       (ARRAY_AGG(m.open_price ORDER BY m.candle_time ASC))[1],
+                       MAX(m.high_price),
+                       MIN(m.low_price),
+                       (ARRAY_AGG(m.close_price ORDER BY m.candle_time DESC))[1],
+                       SUM(m.volume)
+                FROM stock_minute_prices m
+                WHERE m.interval = 1
+                  AND m.candle_time >= :from
+                  AND m.candle_time < :to
+                GROUP BY m.stock_id
+                ON CONFLICT (stock_id, interval, candle_time) DO NOTHING
+            """, nativeQuery = true)
+    int rollUpFromOneMinute(
+            @Param("interval") int interval,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
 }
@@ -2,11 +2,15 @@ package com.stockleague.backend.stock.repository;
 
 import com.stockleague.backend.stock.domain.Stock;
 import com.stockleague.backend.stock.domain.StockMonthlyPrice;
-import org.springframework.data.domain.Page;
+import java.time.LocalDate;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface StockMonthlyPriceRepository extends JpaRepository<StockMonthlyPrice, Long> {
@@ -18,5 +22,57 @@ public interface StockMonthlyPriceRepository extends JpaRepository<StockMonthlyP
                 WHERE m.stock.id = :stockId
                 ORDER BY m.year DESC, m.month DESC
             """)
-    Page<StockMonthlyPrice> findAllByStockIdOrderByMonthDesc(Long stockId, Pageable pageable);
+    List<StockMonthlyPrice> findAllByStockIdOrderByMonthDesc(Long stockId, Pageable pageable);
+
+    /**
+     * 특정 종목의 (year, month) 이전 월봉을 최신순으로 limit 개 조회 (keyset 페이징)
+     */
+    @Query("""
+                SELECT m
+                FROM StockMonthlyPrice m
+                WHERE m.stock.id = :stockId
+                  AND (m.year < :year OR (m.year = :year AND m.month < :month))
+                ORDER BY m.year DESC, m.month DESC
+            """)
+    List<StockMonthlyPrice> findAllByStockIdBeforeMonthOrderByMonthDesc(
+            Long stockId, int year, int month, Pageable pageable);
+
+    /**
+     * [start, end] 구간의 일봉을 합성해 모든 종목의 월봉을 한 번에 생성한다.
+     * 시가/종가는 날짜순 첫/마지막 일봉, 고가/저가는 최대/최소, 거래량은 합계이며, 이미 존재하는 봉(백필로 먼저 저장된 진행 중 구간 등)은 합성 값으로 덮어쓴다.
+     *
+     * @param year  연도
+     * @param month 월
+     * @param start 월 시작일 (포함)
+     * @param end   월 종료일 (포함)
+     * @return 생성 또는 갱신된 봉 개수
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+                INSERT INTO stock_monthly_prices
+                    (stock_id, year, month, open_price, high_price, low_price, close_price, volume)
+                SELECT d.stock_id,
+                       :year, :month,
+                       (ARRAY_AGG(d.open_price ORDER BY d.date ASC))[1],
+                       MAX(d.high_price),
+                       MIN(d.low_price),
+                       (ARRAY_AGG(d.close_price ORDER BY d.date DESC))[1],
+                       SUM(d.volume)
+                FROM stock_daily_prices d
+                WHERE d.date BETWEEN :start AND :end
+                GROUP BY d.stock_id
+                ON CONFLICT (stock_id, year, month)
+                    DO UPDATE SET open_price  = EXCLUDED.open_price,
+                                  high_price  = EXCLUDED.high_price,
+                                  low_price   = EXCLUDED.low_price,
+                                  close_price = EXCLUDED.close_price,
+                                  volume      = EXCLUDED.volume
+            """, nativeQuery = true)
+    int rollUpFromDailyCandles(
+            @Param("year") int year,
+            @Param("month") int month,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
 }
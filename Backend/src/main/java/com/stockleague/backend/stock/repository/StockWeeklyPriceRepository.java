@@ -2,10 +2,14 @@ package com.stockleague.backend.stock.repository;
 
 import com.stockleague.backend.stock.domain.Stock;
 import com.stockleague.backend.stock.domain.StockWeeklyPrice;
-import org.springframework.data.domain.Page;
+import java.time.LocalDate;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface StockWeeklyPriceRepository extends JpaRepository<StockWeeklyPrice, Long> {
 
@@ -17,5 +21,57 @@ public interface StockWeeklyPriceRepository extends JpaRepository<StockWeeklyPri
             WHERE w.stock.id = :stockId
             ORDER BY w.year DESC, w.week DESC
         """)
-    Page<StockWeeklyPrice> findAllByStockIdOrderByWeekDesc(Long stockId, Pageable pageable);
+    List<StockWeeklyPrice> findAllByStockIdOrderByWeekDesc(Long stockId, Pageable pageable);
+
+    /**
+     * 특정 종목의 (year, week) 이전 주봉을 최신순으로 limit 개 조회 (keyset 페이징)
+     */
+    @Query("""
+            SELECT w
+            FROM StockWeeklyPrice w
+            WHERE w.stock.id = :stockId
+              AND (w.year < :year OR (w.year = :year AND w.week < :week))
+            ORDER BY w.year DESC, w.week DESC
+        """)
+    List<StockWeeklyPrice> findAllByStockIdBeforeWeekOrderByWeekDesc(
+            Long stockId, int year, int week, Pageable pageable);
+
+    /**
+     * [start, end] 구간의 일봉을 합성해 모든 종목의 주봉을 한 번에 생성한다.
+     * 시가/종가는 날짜순 첫/마지막 일봉, 고가/저가는 최대/최소, 거래량은 합계이며, 이미 존재하는 봉(백필로 먼저 저장된 진행 중 구간 등)은 합성 값으로 덮어쓴다.
+     *
+     * @param year  ISO 주차 기준 연도
+     * @param week  ISO 주차
+     * @param start 주 시작일 (포함)
+     * @param end   주 종료일 (포함)
+     * @return 생성 또는 갱신된 봉 개수
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+                INSERT INTO stock_weekly_prices
+                    (stock_id, year, week, open_price, high_price, low_price, close_price, volume)
+                SELECT d.stock_id,
+                       :year, :week,
+                       (ARRAY_AGG(d.open_price ORDER BY d.date ASC))[1],
+                       MAX(d.high_price),
+                       MIN(d.low_price),
+                       (ARRAY_AGG(d.close_price ORDER BY d.date DESC))[1],
+                       SUM(d.volume)
+                FROM stock_daily_prices d
+                WHERE d.date BETWEEN :start AND :end
+                GROUP BY d.stock_id
+                ON CONFLICT (stock_id, year, week)
+                    DO UPDATE SET open_price  = EXCLUDED.open_price,
+                                  high_price  = EXCLUDED.high_price,
+                                  low_price   = EXCLUDED.low_price,
+                                  close_price = EXCLUDED.close_price,
+                                  volume      = EXCLUDED.volume
+            """, nativeQuery = true)
+    int rollUpFromDailyCandles(
+            @Param("year") int year,
+            @Param("week") int week,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
 }
@@ -2,11 +2,15 @@ package com.stockleague.backend.stock.repository;
 
 import com.stockleague.backend.stock.domain.Stock;
 import com.stockleague.backend.stock.domain.StockYearlyPrice;
-import org.springframework.data.domain.Page;
+import java.time.LocalDate;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface StockYearlyPriceRepository extends JpaRepository<StockYearlyPrice, Long> {
@@ -16,7 +20,7 @@ public interface StockYearlyPriceRepository extends JpaRepository<StockYearlyPri
      *
      * @param stockId  종목 ID
      * @param pageable 페이징 정보 (PageRequest.of(page, size))
-     * @return 연도 내림차순 정렬된 연봉 Page 결과
+     * @return 연도 내림차순 정렬된 연봉 목록
      */
     @Query("""
                 SELECT y
@@ -24,7 +28,25 @@ public interface StockYearlyPriceRepository extends JpaRepository<StockYearlyPri
                 WHERE y.stock.id = :stockId
                 ORDER BY y.year DESC
             """)
-    Page<StockYearlyPrice> findAllByStockIdOrderByYearDesc(Long stockId, Pageable pageable);
+    List<StockYearlyPrice> findAllByStockIdOrderByYearDesc(Long stockId, Pageable pageable);
+
+    /**
+     * 특정 종목의 {@code before} 연도 이전 연봉을 최신순으로 limit 개 조회 (keyset 페이징)
+     *
+     * @param stockId  종목 ID
+     * @param before   이 연도보다 이전 연봉만 조회 (미포함)
+     * @param pageable 조회 개수 ({@code PageRequest.of(0, limit)})
+     * @return 연도 내림차순 정렬된 연봉 목록
+     */
+    @Query("""
+                SELECT y
+                FROM StockYearlyPrice y
+                WHERE y.stock.id = :stockId
+                  AND y.year < :before
+                ORDER BY y.year DESC
+            """)
+    List<StockYearlyPrice> findAllByStockIdAndYearBeforeOrderByYearDesc(
+            Long stockId, int before, Pageable pageable);
 
     /**
      * 특정 종목에 대해 해당 연도의 연봉 데이터가 이미 존재하는지 여부를 확인
@@ -34,4 +56,41 @@ public interface StockYearlyPriceRepository extends JpaRepository<StockYearlyPri
      * @return 존재 여부 (true: 존재함, false: 없음)
      */
     boolean existsByStockAndYear(Stock stock, int year);
+
+    /**
+     * [start, end] 구간의 일봉을 합성해 모든 종목의 연봉을 한 번에 생성한다.
+     * 시가/종가는 날짜순 첫/마지막 일봉, 고가/저가는 최대/최소, 거래량은 합계이며, 이미 존재하는 봉(백필로 먼저 저장된 진행 중 구간 등)은 합성 값으로 덮어쓴다.
+     *
+     * @param year  연도
+     * @param start 연 시작일 (포함)
+     * @param end   연 종료일 (포함)
+     * @return 생성 또는 갱신된 봉 개수
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+                INSERT INTO stock_yearly_prices
+                    (stock_id, year, open_price, high_price, low_price, close_price, volume)
+                SELECT d.stock_id,
+                       :year,
+                       (ARRAY_AGG(d.open_price ORDER BY d.date ASC))[1],
+                       MAX(d.high_price),
+                       MIN(d.low_price),
+                       (ARRAY_AGG(d.close_price ORDER BY d.date DESC))[1],
+                       SUM(d.volume)
+                FROM stock_daily_prices d
+                WHERE d.date BETWEEN :start AND :end
+                GROUP BY d.stock_id
+                ON CONFLICT (stock_id, year)
+                    DO UPDATE SET open_price  = EXCLUDED.open_price,
+                                  high_price  = EXCLUDED.high_price,
+                                  low_price   = EXCLUDED.low_price,
+                                  close_price = EXCLUDED.close_price,
+                                  volume      = EXCLUDED.volume
+            """, nativeQuery = true)
+    int rollUpFromDailyCandles(
+            @Param("year") int year,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
 }
@@ -2,17 +2,26 @@ package com.stockleague.backend.stock.scheduler;
 
 import static com.stockleague.backend.global.util.MarketTimeUtil.isMarketClosed;
 
+import com.stockleague.backend.infra.properties.CandleStreamingProperties;
+import com.stockleague.backend.infra.properties.KisSimulatorProperties;
+import com.stockleague.backend.stock.service.MinutePricePartitionService;
 import com.stockleague.backend.stock.service.StockDailyPriceService;
 import com.stockleague.backend.stock.service.StockMinutePriceService;
 import com.stockleague.backend.stock.service.StockMonthlyPriceService;
 import com.stockleague.backend.stock.service.StockWeeklyPriceService;
 import com.stockleague.backend.stock.service.StockYearlyPriceService;
+import com.stockleague.backend.stock.service.StreamingCandleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Component
@@ -24,62 +33,53 @@ public class CandleScheduler {
     private final StockWeeklyPriceService stockWeeklyPriceService;
     private final StockMonthlyPriceService stockMonthlyPriceService;
     private final StockYearlyPriceService stockYearlyPriceService;
+    private final StreamingCandleService streamingCandleService;
+    private final MinutePricePartitionService minutePricePartitionService;
+    private final CandleStreamingProperties candleStreamingProperties;
+    private final KisSimulatorProperties simulatorProperties;
 
+    /** 마지막 전체 대조의 종료 시각 (cron 스레드에서만 접근) */
+    private LocalDateTime lastFullReconcile;
 
-    /** 1분봉: 매 분 */
+    /**
+     * 1분봉: 매 분
+     * - Redis 틱으로 1분봉을 만든 뒤, 이 시각에 끝나는 3/5/10/15/30/60분봉을 1분봉에서 합성
+     * - 실시간 틱으로 분봉을 증분 생성 중이면 대조만 수행 (저장은 ON CONFLICT DO NOTHING 이므로 이미 저장된 봉은 그대로 둠)
+     * - 시뮬레이터 사용 시에는 장 시간 외에도 수행
+     */
     @Scheduled(cron = "0 * * * * MON-FRI")
-    public void generate1Minute() {
-        if (isMarketClosed()) return;
+    public void generateMinuteCandles() {
+        if (isMarketClosed() && !simulatorProperties.isEnabled()) return;
+        LocalDateTime closedAt = LocalDateTime.now(ZoneId.of("Asia/Seoul")).truncatedTo(ChronoUnit.MINUTES);
+        if (streamingCandleService.isEnabled()) {
+            reconcileStreamedCandles(closedAt.minusMinutes(1));
+            return;
+        }
         log.info("[1분봉] 생성 시작");
-        stockMinutePriceService.aggregateAndSave(1);
-    }
-
-    /** 3분봉: 3분 간격 */
-    @Scheduled(cron = "0 */3 * * * MON-FRI")
-    public void generate3Minute() {
-        if (isMarketClosed()) return;
-        log.info("[3분봉] 생성 시작");
-        stockMinutePriceService.aggregateAndSave(3);
-    }
-
-    /** 5분봉: 5분 간격 */
-    @Scheduled(cron = "0 */5 * * * MON-FRI")
-    public void generate5Minute() {
-        if (isMarketClosed()) return;
-        log.info("[5분봉] 생성 시작");
-        stockMinutePriceService.aggregateAndSave(5);
-    }
-
-    /** 10분봉 */
-    @Scheduled(cron = "0 */10 * * * MON-FRI")
-    public void generate10Minute() {
-        if (isMarketClosed()) return;
-        log.info("[10분봉] 생성 시작");
-        stockMinutePriceService.aggregateAndSave(10);
-    }
-
-    /** 15분봉 */
-    @Scheduled(cron = "0 */15 * * * MON-FRI")
-    public void generate15Minute() {
-        if (isMarketClosed()) return;
-        log.info("[15분봉] 생성 시작");
-        stockMinutePriceService.aggregateAndSave(15);
-    }
-
-    /** 30분봉 */
-    @Scheduled(cron = "0 */30 * * * MON-FRI")
-    public void generate30Minute() {
-        if (isMarketClosed()) return;
-        log.info("[30분봉] 생성 시작");
-        stockMinutePriceService.aggregateAndSave(30);
+        stockMinutePriceService.aggregateAndSave(1, closedAt);
+        stockMinutePriceService.rollUpClosedIntervals(closedAt);
     }
 
-    /** 60분봉: 매 정시 */
-    @Scheduled(cron = "0 0 * * * MON-FRI")
-    public void generate60Minute() {
-        if (isMarketClosed()) return;
-        log.info("[60분봉] 생성 시작");
-        stockMinutePriceService.aggregateAndSave(60);
+    /**
+     * 실시간 생성분 대조 - 저장이 끝났을 직전 구간까지를 기준으로
+     * - 매 분: 저장 재시도를 소진한 종목 · 분만 다시 만들고, 이 시각에 끝나는 상위 구간을 합성
+     * - full-reconcile-interval 마다: 그동안의 모든 종목 1분봉을 종목당 한 번의 Redis 조회로 대조
+     *   (재시작 전후처럼 실시간 생성이 놓친 구간을 채움)
+     */
+    private void reconcileStreamedCandles(LocalDateTime closedAt) {
+        Map<String, Set<LocalDateTime>> unpersisted = streamingCandleService.drainUnpersisted();
+        if (!unpersisted.isEmpty()) {
+            stockMinutePriceService.reconcileMinutes(unpersisted, closedAt);
+        }
+
+        LocalDateTime fullFrom = closedAt.minus(candleStreamingProperties.getFullReconcileInterval());
+        if (lastFullReconcile == null || !lastFullReconcile.isAfter(fullFrom)) {
+            log.info("[1분봉] 실시간 생성분 전체 대조 - {} ~ {}", fullFrom, closedAt);
+            stockMinutePriceService.reconcileRange(fullFrom, closedAt);
+            lastFullReconcile = closedAt;
+        } else {
+            stockMinutePriceService.rollUpClosedIntervals(closedAt);
+        }
     }
 
     /** 오래된 분봉 데이터 제거 */
@@ -89,6 +89,16 @@ public class CandleScheduler {
         stockMinutePriceService.removeOldRedisPricesAll();
     }
 
+    /**
+     * 매일 03:30 분봉 테이블 파티션 유지보수
+     * - 다음 달 파티션 미리 생성, 간격별 보관 기간이 지난 월 파티션 정리
+     */
+    @Scheduled(cron = "0 30 3 * * *", zone = "Asia/Seoul")
+    public void maintainMinutePricePartitions() {
+        log.info("분봉 파티션 유지보수 시작");
+        minutePricePartitionService.maintain();
+    }
+
     /**
      * 매주 월요일 ~ 금요일, 15:40에 일봉 생성 시도
      * - 실제 장 마감은 15:30이므로, 그 이후 10분 이상 지난 시점에 생성
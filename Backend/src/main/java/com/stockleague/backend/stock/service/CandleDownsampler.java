@@ -0,0 +1,135 @@
+package com.stockleague.backend.stock.service;
+
+import com.stockleague.backend.stock.dto.response.stock.CandleDto;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 긴 구간 차트 요청용 봉 다운샘플링
+ * <ul>
+ *   <li>{@link Mode#OHLC} - 연속한 봉을 최대 N개 묶음으로 합성 (시가/종가/고가/저가/거래량 보존, 캔들 차트용)</li>
+ *   <li>{@link Mode#LTTB} - Largest-Triangle-Three-Buckets 로 종가 곡선 모양을 유지하는 원본 봉 N개 선택 (라인 차트용)</li>
+ * </ul>
+ * 입력/출력 모두 조회 API 와 같은 최신 순이며, 한 번의 순회로 계산합니다.
+ */
+public class CandleDownsampler {
+
+    public enum Mode {
+        OHLC, LTTB
+    }
+
+    private CandleDownsampler() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @param candles   최신 순 봉 목록
+     * @param mode      다운샘플링 방식
+     * @param maxPoints 최대 반환 개수 (2 이상)
+     * @return 최신 순 봉 목록 (입력이 maxPoints 이하이면 그대로)
+     */
+    public static List<CandleDto> downsample(List<CandleDto> candles, Mode mode, int maxPoints) {
+        if (maxPoints < 2) {
+            throw new IllegalArgumentException("maxPoints는 2 이상이어야 합니다: " + maxPoints);
+        }
+        if (candles.size() <= maxPoints) {
+            return candles;
+        }
+        return mode == Mode.LTTB ? lttb(candles, maxPoints) : mergeOhlc(candles, maxPoints);
+    }
+
+    /**
+     * 오래된 봉부터 ceil(n / maxPoints)개씩 묶어 합성합니다. 봉 시각은 묶음의 첫(가장 오래된) 봉 시각입니다.
+     */
+    private static List<CandleDto> mergeOhlc(List<CandleDto> candles, int maxPoints) {
+        int n = candles.size();
+        int bucketSize = (n + maxPoints - 1) / maxPoints;
+        List<CandleDto> result = new ArrayList<>((n + bucketSize - 1) / bucketSize);
+
+        // 최신 순 입력을 끝(가장 오래된 봉)에서부터 읽어 묶음 경계를 과거 기준으로 고정
+        for (int end = n; end > 0; end -= bucketSize) {
+            int start = Math.max(0, end - bucketSize);
+            CandleDto oldest = candles.get(end - 1);
+            CandleDto newest = candles.get(start);
+
+            long high = Long.MIN_VALUE;
+            long low = Long.MAX_VALUE;
+            long volume = 0L;
+            for (int i = start; i < end; i++) {
+                CandleDto c = candles.get(i);
+                high = Math.max(high, c.highPrice() == null ? Long.MIN_VALUE : c.highPrice());
+                low = Math.min(low, c.lowPrice() == null ? Long.MAX_VALUE : c.lowPrice());
+                volume += c.volume() == null ? 0L : c.volume();
+            }
+
+            result.add(new CandleDto(
+                    oldest.ticker(),
+                    oldest.dateTime(),
+                    oldest.openPrice(),
+                    high == Long.MIN_VALUE ? null : high,
+                    low == Long.MAX_VALUE ? null : low,
+                    newest.closePrice(),
+                    volume
+            ));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * 첫/마지막 봉은 항상 유지하고, 나머지 구간을 (maxPoints - 2)개 버킷으로 나눠
+     * 직전 선택점 · 다음 버킷 평균과 만드는 삼각형 넓이가 가장 큰 봉을 버킷마다 하나씩 선택합니다.
+     * x 축은 봉 순번(시간순), y 축은 종가입니다.
+     */
+    private static List<CandleDto> lttb(List<CandleDto> candles, int maxPoints) {
+        int n = candles.size();
+        // 시간순 i 번째 봉 = candles.get(n - 1 - i)
+        List<CandleDto> result = new ArrayList<>(maxPoints);
+        result.add(candles.get(n - 1));
+
+        double bucketWidth = (double) (n - 2) / (maxPoints - 2);
+        int selected = 0;
+
+        for (int b = 0; b < maxPoints - 2; b++) {
+            int from = (int) Math.floor(b * bucketWidth) + 1;
+            int to = Math.min((int) Math.floor((b + 1) * bucketWidth) + 1, n - 1);
+
+            int nextFrom = to;
+            int nextTo = Math.min((int) Math.floor((b + 2) * bucketWidth) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextFrom; i < nextTo; i++) {
+                avgX += i;
+                avgY += close(candles, n, i);
+            }
+            int nextCount = Math.max(1, nextTo - nextFrom);
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            double ax = selected;
+            double ay = close(candles, n, selected);
+            double maxArea = -1;
+            int maxIndex = from;
+            for (int i = from; i < to; i++) {
+                double area = Math.abs((ax - avgX) * (close(candles, n, i) - ay) - (ax - i) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+
+            result.add(candles.get(n - 1 - maxIndex));
+            selected = maxIndex;
+        }
+
+        result.add(candles.get(0));
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static double close(List<CandleDto> candles, int n, int chronologicalIndex) {
+        Long close = candles.get(n - 1 - chronologicalIndex).closePrice();
+        return close == null ? 0 : close;
+    }
+}
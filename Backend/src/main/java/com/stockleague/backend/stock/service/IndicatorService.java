@@ -0,0 +1,409 @@
+package com.stockleague.backend.stock.service;
+
+import com.stockleague.backend.global.exception.GlobalErrorCode;
+import com.stockleague.backend.global.exception.GlobalException;
+import com.stockleague.backend.global.util.CandleIntervalUtil;
+import com.stockleague.backend.infra.properties.IndicatorProperties;
+import com.stockleague.backend.stock.domain.Stock;
+import com.stockleague.backend.stock.dto.response.stock.CandleDto;
+import com.stockleague.backend.stock.dto.response.stock.IndicatorDto;
+import com.stockleague.backend.stock.repository.StockDailyPriceRepository;
+import com.stockleague.backend.stock.repository.StockMinutePriceRepository;
+import com.stockleague.backend.stock.repository.StockMonthlyPriceRepository;
+import com.stockleague.backend.stock.repository.StockRepository;
+import com.stockleague.backend.stock.repository.StockWeeklyPriceRepository;
+import com.stockleague.backend.stock.repository.StockYearlyPriceRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 봉 기반 기술 지표(SMA, EMA, RSI, MACD, 볼린저 밴드) 증분 계산기
+ * <p>
+ * 종목/봉 단위별 지표 상태를 메모리에 유지하고, 봉이 확정될 때마다 O(1)로 갱신합니다.
+ * 상태는 최근 {@code seed-size}개 봉으로 한 번만 만들며(기동 시 또는 첫 조회 시), 조회는 메모리 값만 반환합니다.
+ * </p>
+ * <ul>
+ *   <li>분봉 - {@link StreamingCandleService}가 봉을 닫을 때 반영</li>
+ *   <li>일봉 - 일봉 생성 직후 당일 일봉 반영</li>
+ *   <li>cron 으로 재집계되는 분봉과 주/월/연봉 - 생성 후 상태를 비우고 다음 조회 시 다시 계산</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IndicatorService {
+
+    private final IndicatorProperties properties;
+    private final StockRepository stockRepository;
+    private final StockMinutePriceRepository minuteRepo;
+    private final StockDailyPriceRepository dailyRepo;
+    private final StockWeeklyPriceRepository weeklyRepo;
+    private final StockMonthlyPriceRepository monthlyRepo;
+    private final StockYearlyPriceRepository yearlyRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    /** key: ticker + ":" + interval */
+    private final ConcurrentMap<String, Indicators> states = new ConcurrentHashMap<>();
+
+    /**
+     * 서버 시작 후 {@code warm-up-intervals}의 지표 상태를 백그라운드에서 미리 계산
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled() || properties.getWarmUpIntervals().isEmpty()) {
+            return;
+        }
+        Thread warmUp = new Thread(this::warmUp, "indicator-warm-up");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
+    private void warmUp() {
+        long startedAt = System.currentTimeMillis();
+        int count = 0;
+        for (Stock stock : stockRepository.findAll()) {
+            for (String interval : properties.getWarmUpIntervals()) {
+                if (!CandleIntervalUtil.isSupported(interval)) {
+                    continue;
+                }
+                try {
+                    ensureSeeded(stock.getStockTicker(), stock.getId(), interval);
+                    count++;
+                } catch (Exception e) {
+                    log.warn("[지표] {} {} 초기 계산 실패: {}", stock.getStockTicker(), interval, e.getMessage());
+                }
+            }
+        }
+        log.info("[지표] 초기 계산 완료 - {}건, {}ms", count, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 마지막 확정 봉 기준 지표 조회
+     *
+     * @param ticker   종목 티커
+     * @param interval 봉 단위 ("y", "m", "w", "d", 또는 "1", "3", "5", "10", "15", "30", "60")
+     * @throws GlobalException 종목이 없거나, 지원하지 않는 interval 이거나, 기능이 비활성화된 경우
+     */
+    public IndicatorDto getIndicators(String ticker, String interval) {
+        if (!properties.isEnabled() || !CandleIntervalUtil.isSupported(interval)) {
+            throw new GlobalException(GlobalErrorCode.INVALID_PARAM);
+        }
+        Indicators indicators = states.get(key(ticker, interval));
+        if (indicators == null || !indicators.isSeeded()) {
+            Stock stock = stockRepository.findByStockTicker(ticker)
+                    .orElseThrow(() -> new GlobalException(GlobalErrorCode.STOCK_NOT_FOUND));
+            indicators = ensureSeeded(ticker, stock.getId(), interval);
+        }
+        return indicators.snapshot(ticker, interval);
+    }
+
+    /**
+     * 확정된 봉 반영 - 상태가 없는 종목/단위는 무시 (다음 조회 시 DB 에서 계산)
+     */
+    public void onClosedCandle(String interval, CandleDto candle) {
+        Indicators indicators = states.get(key(candle.ticker(), interval));
+        if (indicators != null) {
+            indicators.offer(candle);
+        }
+    }
+
+    /**
+     * 해당 일자의 일봉을 지표 상태가 있는 종목에 반영
+     */
+    public void onDailyCandlesClosed(LocalDate date) {
+        if (states.keySet().stream().noneMatch(key -> key.endsWith(":d"))) {
+            return;
+        }
+        List<CandleDto> candles = transactionTemplate.execute(status -> dailyRepo.findAllWithStockByDate(date).stream()
+                .map(CandleDto::from)
+                .toList());
+        if (candles != null) {
+            candles.forEach(candle -> onClosedCandle("d", candle));
+        }
+    }
+
+    /**
+     * 봉 단위 전체 상태 제거 - 봉을 증분으로 받지 않는 단위를 재생성한 뒤 호출
+     */
+    public void evictInterval(String interval) {
+        String suffix = ":" + interval;
+        states.keySet().removeIf(key -> key.endsWith(suffix));
+    }
+
+    /**
+     * 지표 상태를 (없으면) 만들고 과거 봉으로 초기 계산 - 실패하면 상태를 제거해 보류 봉이 쌓이지 않게 합니다.
+     */
+    private Indicators ensureSeeded(String ticker, Long stockId, String interval) {
+        String key = key(ticker, interval);
+        Indicators indicators = states.computeIfAbsent(key, k -> new Indicators(properties));
+        synchronized (indicators.seedLock) {
+            if (!indicators.isSeeded()) {
+                try {
+                    indicators.seed(loadHistory(stockId, interval));
+                } catch (RuntimeException e) {
+                    states.remove(key, indicators);
+                    throw e;
+                }
+            }
+        }
+        return indicators;
+    }
+
+    /** 최근 {@code seed-size}개 봉 (오래된 순) */
+    private List<CandleDto> loadHistory(Long stockId, String interval) {
+        Pageable pageable = PageRequest.of(0, properties.getSeedSize());
+        List<CandleDto> latestFirst = transactionTemplate.execute(status -> switch (interval) {
+            case "y" -> yearlyRepo.findAllByStockIdOrderByYearDesc(stockId, pageable).stream()
+                    .map(CandleDto::from)
+                    .toList();
+            case "m" -> monthlyRepo.findAllByStockIdOrderByMonthDesc(stockId, pageable).stream()
+                    .map(CandleDto::from)
+                    .toList();
+            case "w" -> weeklyRepo.findAllByStockIdOrderByWeekDesc(stockId, pageable).stream()
+                    .map(CandleDto::from)
+                    .toList();
+            case "d" -> dailyRepo.findAllByStockIdOrderByDateDesc(stockId, pageable).stream()
+                    .map(CandleDto::from)
+                    .toList();
+            default -> minuteRepo.findAllByStockIdAndIntervalOrderByCandleTimeDesc(
+                            stockId, Integer.parseInt(interval), pageable).stream()
+                    .map(CandleDto::from)
+                    .toList();
+        });
+        List<CandleDto> history = new ArrayList<>(latestFirst == null ? List.of() : latestFirst);
+        Collections.reverse(history);
+        return history;
+    }
+
+    private static String key(String ticker, String interval) {
+        return ticker + ":" + interval;
+    }
+
+    /**
+     * 종목 1개, 봉 단위 1개의 지표 상태
+     * <p>
+     * 초기 계산 중 들어온 확정 봉은 보류했다가 과거 봉 반영 후 이어서 반영합니다.
+     * 봉 시각(dateTime)이 마지막 반영 봉보다 새롭지 않으면 무시하므로, DB 이력과 실시간 봉이 겹쳐도 한 번만 반영됩니다.
+     * </p>
+     */
+    static class Indicators {
+        final Object seedLock = new Object();
+
+        final double bollingerK;
+        final Window sma;
+        final Ema ema;
+        final Rsi rsi;
+        final Ema macdFast;
+        final Ema macdSlow;
+        final Ema macdSignal;
+        final Window bollinger;
+
+        final List<CandleDto> pending = new ArrayList<>();
+        boolean seeded;
+        long count;
+        String lastDateTime;
+        Long lastClose;
+        Double macd;
+
+        Indicators(IndicatorProperties properties) {
+            this.bollingerK = properties.getBollingerK();
+            this.sma = new Window(properties.getSmaPeriod());
+            this.ema = new Ema(properties.getEmaPeriod());
+            this.rsi = new Rsi(properties.getRsiPeriod());
+            this.macdFast = new Ema(properties.getMacdFast());
+            this.macdSlow = new Ema(properties.getMacdSlow());
+            this.macdSignal = new Ema(properties.getMacdSignal());
+            this.bollinger = new Window(properties.getBollingerPeriod());
+        }
+
+        synchronized boolean isSeeded() {
+            return seeded;
+        }
+
+        synchronized void offer(CandleDto candle) {
+            if (seeded) {
+                apply(candle);
+            } else {
+                pending.add(candle);
+            }
+        }
+
+        synchronized void seed(List<CandleDto> history) {
+            history.forEach(this::apply);
+            pending.sort(Comparator.comparing(CandleDto::dateTime));
+            pending.forEach(this::apply);
+            pending.clear();
+            seeded = true;
+        }
+
+        private void apply(CandleDto candle) {
+            if (candle.closePrice() == null
+                    || (lastDateTime != null && candle.dateTime().compareTo(lastDateTime) <= 0)) {
+                return;
+            }
+            long close = candle.closePrice();
+
+            sma.add(close);
+            ema.add(close);
+            rsi.add(close);
+            macdFast.add(close);
+            macdSlow.add(close);
+            if (macdFast.value() != null && macdSlow.value() != null) {
+                macd = macdFast.value() - macdSlow.value();
+                macdSignal.add(macd);
+            }
+            bollinger.add(close);
+
+            count++;
+            lastDateTime = candle.dateTime();
+            lastClose = close;
+        }
+
+        synchronized IndicatorDto snapshot(String ticker, String interval) {
+            Double middle = bollinger.mean();
+            Double deviation = bollinger.stdDev();
+            Double signal = macdSignal.value();
+            return new IndicatorDto(
+                    ticker,
+                    interval,
+                    lastDateTime,
+                    count,
+                    lastClose,
+                    sma.mean(),
+                    ema.value(),
+                    rsi.value(),
+                    macd,
+                    signal,
+                    macd != null && signal != null ? macd - signal : null,
+                    middle != null ? middle + bollingerK * deviation : null,
+                    middle,
+                    middle != null ? middle - bollingerK * deviation : null
+            );
+        }
+    }
+
+    /** 최근 N개 값의 합/제곱합을 유지하는 고정 크기 창 (정수 가격이므로 누적 오차 없음) */
+    static class Window {
+        final long[] values;
+        int next;
+        int size;
+        long sum;
+        long sumOfSquares;
+
+        Window(int period) {
+            this.values = new long[period];
+        }
+
+        void add(long value) {
+            if (size == values.length) {
+                long evicted = values[next];
+                sum -= evicted;
+                sumOfSquares -= evicted * evicted;
+            } else {
+                size++;
+            }
+            values[next] = value;
+            next = (next + 1) % values.length;
+            sum += value;
+            sumOfSquares += value * value;
+        }
+
+        Double mean() {
+            return size < values.length ? null : (double) sum / size;
+        }
+
+        /** 모표준편차 */
+        Double stdDev() {
+            if (size < values.length) {
+                return null;
+            }
+            double mean = (double) sum / size;
+            return Math.sqrt(Math.max(0.0, (double) sumOfSquares / size - mean * mean));
+        }
+    }
+
+    /** 지수 이동평균 - 첫 N개의 단순 평균으로 시작 */
+    static class Ema {
+        final int period;
+        final double alpha;
+        int count;
+        double seedSum;
+        Double value;
+
+        Ema(int period) {
+            this.period = period;
+            this.alpha = 2.0 / (period + 1);
+        }
+
+        void add(double x) {
+            if (value != null) {
+                value += alpha * (x - value);
+                return;
+            }
+            seedSum += x;
+            if (++count == period) {
+                value = seedSum / period;
+            }
+        }
+
+        Double value() {
+            return value;
+        }
+    }
+
+    /** Wilder RSI - 첫 N개 변화량의 평균으로 시작해 (N-1)/N 평활 */
+    static class Rsi {
+        final int period;
+        Long prevClose;
+        int changes;
+        double avgGain;
+        double avgLoss;
+
+        Rsi(int period) {
+            this.period = period;
+        }
+
+        void add(long close) {
+            if (prevClose == null) {
+                prevClose = close;
+                return;
+            }
+            long change = close - prevClose;
+            prevClose = close;
+            double gain = Math.max(change, 0);
+            double loss = Math.max(-change, 0);
+
+            if (changes < period) {
+                avgGain += gain / period;
+                avgLoss += loss / period;
+                changes++;
+                return;
+            }
+            avgGain = (avgGain * (period - 1) + gain) / period;
+            avgLoss = (avgLoss * (period - 1) + loss) / period;
+        }
+
+        Double value() {
+            if (changes < period) {
+                return null;
+            }
+            if (avgLoss == 0) {
+                return avgGain == 0 ? 50.0 : 100.0;
+            }
+            return 100.0 - 100.0 / (1.0 + avgGain / avgLoss);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.stockleague.backend.stock.service;
+
+import com.stockleague.backend.infra.properties.MinutePricePartitionProperties;
+import com.stockleague.backend.infra.properties.MinutePricePartitionProperties.RetentionAction;
+import com.stockleague.backend.stock.repository.StockMinutePricePartitionRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * 분봉 테이블 파티션 유지보수
+ * <ul>
+ *   <li>간격별로 이번 달 ~ {@code months-ahead}개월 뒤 월 파티션을 미리 생성</li>
+ *   <li>간격별 보관 기간이 지난 월 파티션을 DROP 또는 DETACH</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MinutePricePartitionService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final MinutePricePartitionProperties properties;
+    private final StockMinutePricePartitionRepository partitionRepository;
+
+    /**
+     * 서버 시작 시 한 번 수행 - 장기간 중지 후 재시작해도 현재 월 파티션이 보장되도록
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        YearMonth current = YearMonth.now(KST);
+        for (Map.Entry<Integer, Duration> entry : properties.getRetention().entrySet()) {
+            int interval = entry.getKey();
+            try {
+                createAhead(interval, current);
+                expire(interval, entry.getValue().toDays());
+            } catch (Exception e) {
+                log.error("[분봉 파티션] {}분 파티션 관리 실패: {}", interval, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void createAhead(int interval, YearMonth current) {
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            partitionRepository.ensurePartition(interval, current.plusMonths(i).atDay(1));
+        }
+    }
+
+    /**
+     * 월 파티션의 끝(다음 달 1일)이 보관 기준일 이전이면 정리
+     */
+    private void expire(int interval, long retentionDays) {
+        LocalDate cutoff = LocalDate.now(KST).minusDays(retentionDays);
+
+        for (String partition : partitionRepository.findMonthPartitions(interval)) {
+            YearMonth month = YearMonth.parse(partition.substring(partition.length() - 6), SUFFIX);
+            if (month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                continue;
+            }
+            if (properties.getRetentionAction() == RetentionAction.DETACH) {
+                partitionRepository.detachPartition(interval, partition);
+                log.info("[분봉 파티션] 보관 기간 만료 - 분리: {}", partition);
+            } else {
+                partitionRepository.dropPartition(partition);
+                log.info("[분봉 파티션] 보관 기간 만료 - 삭제: {}", partition);
+            }
+        }
+    }
+}
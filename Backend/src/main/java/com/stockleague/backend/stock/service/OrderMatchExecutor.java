@@ -2,6 +2,7 @@ package com.stockleague.backend.stock.service;
 
 import com.stockleague.backend.global.exception.GlobalErrorCode;
 import com.stockleague.backend.global.exception.GlobalException;
+import com.stockleague.backend.infra.metrics.MarketDataLatencyTracer;
 import com.stockleague.backend.infra.redis.AtomicOrderbookMatcher;
 import com.stockleague.backend.notification.domain.NotificationType;
 import com.stockleague.backend.notification.domain.TargetType;
@@ -21,6 +22,7 @@ import com.stockleague.backend.user.domain.User;
 import com.stockleague.backend.user.domain.UserAsset;
 import com.stockleague.backend.user.domain.UserStock;
 import com.stockleague.backend.user.repository.UserStockRepository;
+import com.stockleague.backend.user.service.PortfolioChangeTracker;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
@@ -46,6 +48,8 @@ public class OrderMatchExecutor {
     private final UserStockRepository userStockRepository;
 
     private final AtomicOrderbookMatcher matcher;
+    private final MarketDataLatencyTracer latencyTracer;
+    private final PortfolioChangeTracker portfolioChangeTracker;
 
     /**
      * 매수 주문 1건 처리
@@ -66,6 +70,7 @@ public class OrderMatchExecutor {
         if (!r.hasFill()) {
             return order.getRemainingAmount();
         }
+        latencyTracer.recordSnapshotToFill(r.getSnapshotAt());
 
         List<OrderExecution> executions = new ArrayList<>();
         BigDecimal totalExecutedVolume = BigDecimal.ZERO;
@@ -147,6 +152,7 @@ public class OrderMatchExecutor {
         if (!r.hasFill()) {
             return order.getRemainingAmount();
         }
+        latencyTracer.recordSnapshotToFill(r.getSnapshotAt());
 
         List<OrderExecution> executions = new ArrayList<>();
         BigDecimal totalExecutedVolume = BigDecimal.ZERO;
@@ -224,6 +230,7 @@ public class OrderMatchExecutor {
      *     <li>UserStock이 없으면 새로 생성하며 평균 단가는 체결 단가로 설정됩니다.</li>
      *     <li>기존에 보유하고 있으면 수량과 평균 단가를 갱신합니다.</li>
      *     <li>평균 단가는 가중 평균 방식으로 계산됩니다.</li>
+     *     <li>커밋 이후 종목 → 보유자 인덱스에 추가되고 실시간 평가 대상으로 표시됩니다.</li>
      * </ul>
      *
      * @param user          사용자
@@ -252,6 +259,7 @@ public class OrderMatchExecutor {
             us.setAvgBuyPrice(newAvg);
         }
         userStockRepository.save(us);
+        portfolioChangeTracker.onHoldingChanged(user.getId(), stock.getStockTicker(), true);
     }
 
     /**
@@ -285,6 +293,7 @@ public class OrderMatchExecutor {
      * <ul>
      *     <li>매도 체결 수량만큼 lockedQuantity 감소</li>
      *     <li>보유 수량(quantity)도 함께 감소</li>
+     *     <li>남은 수량(동결 포함)이 없으면 커밋 이후 종목 → 보유자 인덱스에서 제외</li>
      * </ul>
      *
      * @param user           사용자
@@ -299,6 +308,8 @@ public class OrderMatchExecutor {
         BigDecimal beforeLocked = us.getLockedQuantity();
         us.executeSell(executedAmount);
         userStockRepository.save(us);
+        portfolioChangeTracker.onHoldingChanged(user.getId(), stock.getStockTicker(),
+                us.getQuantity().add(us.getLockedQuantity()).compareTo(BigDecimal.ZERO) > 0);
 
         log.info("[UserStock][SELL] userId={}, ticker={}, locked {} -> {} (exec={})",
                 user.getId(),
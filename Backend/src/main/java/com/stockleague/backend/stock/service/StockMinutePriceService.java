@@ -1,16 +1,25 @@
 package com.stockleague.backend.stock.service;
 
+import com.stockleague.backend.infra.archive.TickArchive;
 import com.stockleague.backend.infra.redis.StockPriceRedisService;
+import com.stockleague.backend.stock.cache.CandleReadCache;
 import com.stockleague.backend.stock.domain.Stock;
 import com.stockleague.backend.stock.domain.StockMinutePrice;
 import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+import com.stockleague.backend.stock.repository.CandleBulkWriter;
 import com.stockleague.backend.stock.repository.StockMinutePriceRepository;
 import com.stockleague.backend.stock.repository.StockRepository;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,36 +30,138 @@ import org.springframework.stereotype.Service;
 public class StockMinutePriceService {
 
     private final StockPriceRedisService redisService;
+    private final TickArchive tickArchive;
     private final StockRepository stockRepository;
     private final StockMinutePriceRepository minuteRepo;
+    private final CandleBulkWriter candleBulkWriter;
+    private final CandleReadCache candleReadCache;
+    private final IndicatorService indicatorService;
+
+    /** 1분봉을 합성해 만드는 상위 분봉 간격 */
+    private static final List<Integer> ROLLUP_INTERVALS = List.of(3, 5, 10, 15, 30, 60);
 
     /**
      * 모든 종목에 대해 주어진 간격의 분봉(OHLCV) 생성
+     *
      * @param interval 분봉 간격(분)
+     * @param to       구간 종료 시각 (분 단위로 절삭된 시각)
      */
-    public void aggregateAndSave(int interval) {
-        List<Stock> stocks = stockRepository.findAll();
-        for (Stock stock : stocks) {
-            generateMinuteCandle(stock, interval);
+    public void aggregateAndSave(int interval, LocalDateTime to) {
+        LocalDateTime from = to.minusMinutes(interval);
+
+        List<StockMinutePrice> candles = new ArrayList<>();
+        for (Stock stock : stockRepository.findAll()) {
+            StockMinutePrice candle = generateMinuteCandle(stock, interval, from, to);
+            if (candle != null) {
+                candles.add(candle);
+            }
         }
+        save(interval, from, candles);
     }
 
     /**
-     * 단일 종목에 대해 특정 분봉 간격(interval)의 OHLCV 데이터 생성/저장
+     * 실시간 생성분 중 저장하지 못한 종목 · 분의 1분봉만 다시 만들고, 그 분을 포함하는 닫힌 상위 구간을 다시 합성
+     * <p>이미 저장된 1분봉은 건너뜁니다. ({@code ON CONFLICT DO NOTHING})</p>
+     *
+     * @param minutes  종목 코드 → 1분봉 시각(구간 시작)
+     * @param closedAt 이 시각까지 끝난 상위 구간만 합성 (진행 중인 구간은 해당 cron 에서 합성)
      */
-    private void generateMinuteCandle(Stock stock, int interval) {
-        String ticker = stock.getStockTicker();
+    public void reconcileMinutes(Map<String, Set<LocalDateTime>> minutes, LocalDateTime closedAt) {
+        List<StockMinutePrice> candles = new ArrayList<>();
+        Set<RollupWindow> windows = new LinkedHashSet<>();
+        minutes.forEach((ticker, times) -> {
+            Optional<Stock> stock = stockRepository.findByStockTicker(ticker);
+            if (stock.isEmpty()) {
+                log.warn("[분봉 대조] 종목 없음 - 대조 생략: {}", ticker);
+                return;
+            }
+            for (LocalDateTime from : times) {
+                StockMinutePrice candle = generateMinuteCandle(stock.get(), 1, from, from.plusMinutes(1));
+                if (candle != null) {
+                    candles.add(candle);
+                }
+                for (int interval : ROLLUP_INTERVALS) {
+                    LocalDateTime start = StreamingCandleService.bucketStart(from, interval);
+                    if (!start.plusMinutes(interval).isAfter(closedAt)) {
+                        windows.add(new RollupWindow(interval, start));
+                    }
+                }
+            }
+        });
+        log.info("[분봉 대조] 저장 실패분 {}종목 - 1분봉 {}건 재생성, 상위 구간 {}개 재합성",
+                minutes.size(), candles.size(), windows.size());
+        save(1, closedAt, candles);
+        windows.forEach(window -> rollUp(window.interval(), window.from(), window.from().plusMinutes(window.interval())));
+    }
 
-        LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Seoul")).truncatedTo(ChronoUnit.MINUTES);
-        LocalDateTime to = now;
-        LocalDateTime from = to.minusMinutes(interval);
+    /**
+     * 모든 종목의 [from, to) 1분봉을 종목당 한 번의 시세 조회로 다시 만들고, 그 사이에 끝난 상위 구간을 다시 합성
+     * <p>실시간 생성 중 주기적인 전체 대조에 사용하며, 이미 저장된 1분봉은 건너뜁니다.</p>
+     *
+     * @param from 대조 시작 시각 (분 단위로 절삭된 시각)
+     * @param to   대조 종료 시각 (분 단위로 절삭된 시각, 미포함)
+     */
+    public void reconcileRange(LocalDateTime from, LocalDateTime to) {
+        List<StockMinutePrice> candles = new ArrayList<>();
+        for (Stock stock : stockRepository.findAll()) {
+            Map<LocalDateTime, List<StockPriceDto>> byMinute = findPrices(stock.getStockTicker(), from, to).stream()
+                    .filter(price -> price.datetime().isBefore(to))
+                    .collect(Collectors.groupingBy(price -> price.datetime().truncatedTo(ChronoUnit.MINUTES),
+                            TreeMap::new, Collectors.toList()));
+            byMinute.forEach((minute, prices) -> {
+                StockMinutePrice candle = toCandle(stock, 1, minute, prices);
+                if (candle != null) {
+                    candles.add(candle);
+                }
+            });
+        }
+        log.info("[분봉 대조] 전체 대조 {} ~ {} - 1분봉 {}건", from, to, candles.size());
+        save(1, from, candles);
+        for (LocalDateTime closedAt = from.plusMinutes(1); !closedAt.isAfter(to); closedAt = closedAt.plusMinutes(1)) {
+            rollUpClosedIntervals(closedAt);
+        }
+    }
 
-        List<StockPriceDto> prices = redisService.findBetween(ticker, from, to);
-        if (prices.isEmpty()) {
-            log.warn("[분봉 생성] Redis 시세 없음 - {} {}분 {}", ticker, interval, from);
+    private void save(int interval, LocalDateTime from, List<StockMinutePrice> candles) {
+        if (candles.isEmpty()) {
             return;
         }
+        try {
+            int saved = candleBulkWriter.insertMinuteCandles(candles);
+            log.info("[분봉 생성] {}분 {} - {}건 중 {}건 저장", interval, from, candles.size(), saved);
+            if (saved > 0) {
+                candleReadCache.evictInterval(String.valueOf(interval));
+                indicatorService.evictInterval(String.valueOf(interval));
+            }
+        } catch (Exception e) {
+            log.error("[분봉 생성] 저장 실패: {}분 {}, 이유: {}", interval, from, e.getMessage(), e);
+        }
+    }
 
+    /**
+     * 단일 종목에 대해 특정 분봉 간격(interval)의 OHLCV 데이터 생성
+     * <p>Redis 시세가 없으면(만료 · 유실) 디스크 틱 아카이브에서 같은 구간을 읽습니다.</p>
+     *
+     * @return 생성된 분봉, 시세가 없으면 null
+     */
+    private StockMinutePrice generateMinuteCandle(Stock stock, int interval, LocalDateTime from, LocalDateTime to) {
+        List<StockPriceDto> prices = findPrices(stock.getStockTicker(), from, to);
+        if (prices.isEmpty()) {
+            log.warn("[분봉 생성] 시세 없음 (Redis, 틱 아카이브) - {} {}분 {}", stock.getStockTicker(), interval, from);
+            return null;
+        }
+        return toCandle(stock, interval, from, prices);
+    }
+
+    /** Redis 시세가 없으면(만료 · 유실) 디스크 틱 아카이브에서 같은 구간을 읽음 */
+    private List<StockPriceDto> findPrices(String ticker, LocalDateTime from, LocalDateTime to) {
+        List<StockPriceDto> prices = redisService.findBetween(ticker, from, to);
+        return prices.isEmpty() ? tickArchive.scan(ticker, from, to) : prices;
+    }
+
+    /** 구간 틱으로 OHLCV 계산 - 거래량은 구간 첫 틱과 마지막 틱의 누적 거래량 차이 */
+    private StockMinutePrice toCandle(Stock stock, int interval, LocalDateTime from, List<StockPriceDto> prices) {
+        String ticker = stock.getStockTicker();
         prices.sort(Comparator.comparing(StockPriceDto::datetime));
 
         long open = prices.get(0).currentPrice();
@@ -64,19 +175,13 @@ public class StockMinutePriceService {
         if (startCum == null || endCum == null) {
             log.warn("[분봉 생성] 누적 거래량 누락: startCum={}, endCum={}, {} {}분 {}",
                     startCum, endCum, ticker, interval, from);
-            return;
+            return null;
         }
 
         long volume = (endCum >= startCum) ? (endCum - startCum) : endCum;
         if (volume < 0) volume = 0;
 
-        boolean exists = minuteRepo.existsByStockAndIntervalAndCandleTime(stock, interval, from);
-        if (exists) {
-            log.debug("[분봉 생성] 중복 - 저장 생략: {} {}분 {}", ticker, interval, from);
-            return;
-        }
-
-        StockMinutePrice candle = StockMinutePrice.builder()
+        return StockMinutePrice.builder()
                 .stock(stock)
                 .interval(interval)
                 .candleTime(from)
@@ -86,11 +191,33 @@ public class StockMinutePriceService {
                 .closePrice(close)
                 .volume(volume)
                 .build();
+    }
+
+    /**
+     * 방금 닫힌 상위 간격 구간을 1분봉으로부터 합성
+     * <p>{@code closedAt}(정시 기준 분 경계)에 끝나는 간격만 생성하며, 1분봉 생성 직후 호출해야 마지막 1분이 포함됩니다.</p>
+     *
+     * @param closedAt 구간 종료 시각 (분 단위로 절삭된 시각)
+     */
+    public void rollUpClosedIntervals(LocalDateTime closedAt) {
+        for (int interval : ROLLUP_INTERVALS) {
+            if (closedAt.getMinute() % interval != 0) {
+                continue;
+            }
+            rollUp(interval, closedAt.minusMinutes(interval), closedAt);
+        }
+    }
 
+    private void rollUp(int interval, LocalDateTime from, LocalDateTime to) {
         try {
-            minuteRepo.save(candle);
+            int created = minuteRepo.rollUpFromOneMinute(interval, from, to);
+            log.info("[분봉 합성] {}분봉 {} - {}건 생성", interval, from, created);
+            if (created > 0) {
+                candleReadCache.evictInterval(String.valueOf(interval));
+                indicatorService.evictInterval(String.valueOf(interval));
+            }
         } catch (Exception e) {
-            log.error("[분봉 생성] 저장 실패: {} {}분 {}, 이유: {}", ticker, interval, from, e.getMessage(), e);
+            log.error("[분봉 합성] {}분봉 {} 실패, 이유: {}", interval, from, e.getMessage(), e);
         }
     }
 
@@ -103,4 +230,8 @@ public class StockMinutePriceService {
             redisService.removeOldPrices(stock.getStockTicker());
         }
     }
+
+    /** 다시 합성할 상위 간격 구간 */
+    private record RollupWindow(int interval, LocalDateTime from) {
+    }
 }
@@ -2,10 +2,16 @@ package com.stockleague.backend.stock.service;
 
 import com.stockleague.backend.global.exception.GlobalErrorCode;
 import com.stockleague.backend.global.exception.GlobalException;
+import com.stockleague.backend.global.util.CandleIntervalUtil;
 import com.stockleague.backend.global.util.MarketTimeUtil;
+import com.stockleague.backend.global.util.OffsetPageRequest;
+import com.stockleague.backend.infra.archive.OrderBookHistory;
+import com.stockleague.backend.infra.properties.CandleCacheProperties;
 import com.stockleague.backend.infra.redis.StockOrderBookRedisService;
 import com.stockleague.backend.infra.redis.StockPriceRedisService;
+import com.stockleague.backend.stock.cache.CandleReadCache;
 import com.stockleague.backend.stock.domain.Stock;
+import com.stockleague.backend.stock.domain.StockWeeklyPrice;
 import com.stockleague.backend.stock.dto.response.stock.CandleDto;
 import com.stockleague.backend.stock.dto.response.stock.StockListResponseDto;
 import com.stockleague.backend.stock.dto.response.stock.StockOrderBookDto;
@@ -18,10 +24,18 @@ import com.stockleague.backend.stock.repository.StockMonthlyPriceRepository;
 import com.stockleague.backend.stock.repository.StockRepository;
 import com.stockleague.backend.stock.repository.StockWeeklyPriceRepository;
 import com.stockleague.backend.stock.repository.StockYearlyPriceRepository;
+import com.stockleague.backend.stock.service.StreamingCandleService.ClosedCandle;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.WeekFields;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
@@ -37,6 +51,9 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class StockService {
 
+    /** 다운샘플링 요청 1건이 읽는 원본 봉 개수 상한 */
+    private static final int MAX_DOWNSAMPLE_LIMIT = 20_000;
+
     private final CommentRepository commentRepository;
     private final StockRepository stockRepository;
     private final StockYearlyPriceRepository yearlyRepo;
@@ -47,6 +64,10 @@ public class StockService {
 
     private final StockPriceRedisService stockPriceRedisService;
     private final StockOrderBookRedisService stockOrderBookRedisService;
+    private final OrderBookHistory orderBookHistory;
+    private final CandleReadCache candleReadCache;
+    private final CandleCacheProperties candleCacheProperties;
+    private final StreamingCandleService streamingCandleService;
 
     /**
      * 전체 종목 목록을 페이지 단위로 조회합니다.
@@ -172,40 +193,108 @@ public class StockService {
      *   <li>"1", "3", "5", "10", "15", "30", "60" - 분봉 (정수 문자열)</li>
      * </ul>
      * 페이징은 offset과 limit 기반이며, 최신 순으로 정렬된 데이터를 반환한다.
+     * {@code before}를 주면 offset 대신 해당 봉 시각 이전의 limit 개를 인덱스 탐색(keyset)으로 조회하므로,
+     * 과거로 깊이 스크롤해도 비용이 limit 에만 비례한다. (이전 응답의 마지막 dateTime 을 그대로 전달)
+     * 최신 {@code candle-cache.window-size}개 이내의 페이지는 {@link CandleReadCache}에서 응답하며,
+     * 첫 페이지(offset = 0, before 없음)에는 아직 저장되지 않은 진행 중인 분봉/일봉이 맨 앞에 추가된다. (limit + 1개)
      *
      * @param ticker   조회할 종목 티커 (예: "005930")
      * @param interval 캔들 타입 ("y", "m", "w", "d", 또는 분 단위 문자열: "1", "3" 등)
-     * @param offset   페이징 offset (0부터 시작)
+     * @param offset   페이징 offset (0부터 시작, before 가 있으면 무시)
      * @param limit    페이지당 데이터 개수
+     * @param before   이 봉 시각 이전 데이터만 조회 (CandleDto.dateTime 형식, 미포함), null 이면 offset 사용
      * @return CandleDto 리스트 (최신 순 정렬)
-     * @throws GlobalException 종목이 존재하지 않을 경우
-     * @throws IllegalArgumentException 지원하지 않는 interval인 경우
+     * @throws GlobalException 종목이 존재하지 않거나, interval/limit/offset/before 가 올바르지 않은 경우
      */
-    public List<CandleDto> getCandles(String ticker, String interval, int offset, int limit) {
+    public List<CandleDto> getCandles(String ticker, String interval, int offset, int limit, String before) {
+        if (limit < 1 || offset < 0) {
+            throw new GlobalException(GlobalErrorCode.INVALID_PAGINATION);
+        }
+        if (!CandleIntervalUtil.isSupported(interval)) {
+            throw new GlobalException(GlobalErrorCode.INVALID_PARAM);
+        }
 
         Stock stock = stockRepository.findByStockTicker(ticker)
                 .orElseThrow(() -> new GlobalException(GlobalErrorCode.STOCK_NOT_FOUND));
 
         Long stockId = stock.getId();
-        Pageable pageable = PageRequest.of(offset / limit, limit);
+        Supplier<List<CandleDto>> headLoader =
+                () -> loadCandles(stockId, interval, PageRequest.of(0, candleCacheProperties.getWindowSize()));
+
+        if (before != null && !before.isBlank()) {
+            String cursor = normalizeCursor(interval, before);
+            List<CandleDto> cached = candleReadCache.getPageBefore(ticker, interval, cursor, limit, headLoader);
+            return cached != null ? cached : loadCandlesBefore(stockId, interval, cursor, limit);
+        }
+
+        List<CandleDto> cached = candleReadCache.getPage(ticker, interval, offset, limit, headLoader);
+        List<CandleDto> closed = cached != null
+                ? cached
+                : loadCandles(stockId, interval, new OffsetPageRequest(offset, limit));
+
+        if (offset > 0) {
+            return closed;
+        }
 
+        CandleDto forming = getFormingCandle(ticker, interval, closed.isEmpty() ? null : closed.get(0));
+        if (forming == null) {
+            return closed;
+        }
+        return Stream.concat(Stream.of(forming), closed.stream()).toList();
+    }
+
+    /**
+     * 봉 데이터 조회 후 최대 {@code maxPoints}개로 다운샘플링
+     * <p>
+     * 긴 구간을 한 번에 그릴 때 limit 만큼 조회한 결과를 {@link CandleDownsampler}로 한 번 순회하여 줄입니다.
+     * 이때 {@code limit}은 다운샘플링 전에 읽는 원본 봉 개수이며, 한 요청이 메모리에 올리는 양을 묶기 위해
+     * {@value #MAX_DOWNSAMPLE_LIMIT}개까지만 허용합니다.
+     * {@code downsample}이 없으면 {@link #getCandles(String, String, int, int, String)}와 같습니다.
+     * </p>
+     *
+     * @param limit      다운샘플링 전 조회할 원본 봉 개수 (downsample 사용 시 최대 {@value #MAX_DOWNSAMPLE_LIMIT})
+     * @param downsample 다운샘플링 방식 ("ohlc": 봉 묶음 합성, "lttb": 라인 차트용 대표 봉 선택), null 이면 미적용
+     * @param maxPoints  최대 반환 개수 (2 이상, downsample 사용 시 필수)
+     * @throws GlobalException downsample/maxPoints/limit 이 올바르지 않은 경우
+     */
+    public List<CandleDto> getCandles(String ticker, String interval, int offset, int limit, String before,
+                                      String downsample, Integer maxPoints) {
+        if (downsample == null || downsample.isBlank()) {
+            return getCandles(ticker, interval, offset, limit, before);
+        }
+
+        CandleDownsampler.Mode mode;
+        try {
+            mode = CandleDownsampler.Mode.valueOf(downsample.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new GlobalException(GlobalErrorCode.INVALID_PARAM);
+        }
+        if (maxPoints == null || maxPoints < 2 || limit > MAX_DOWNSAMPLE_LIMIT) {
+            throw new GlobalException(GlobalErrorCode.INVALID_PARAM);
+        }
+
+        return CandleDownsampler.downsample(getCandles(ticker, interval, offset, limit, before), mode, maxPoints);
+    }
+
+    private List<CandleDto> loadCandles(Long stockId, String interval, Pageable pageable) {
         return switch (interval) {
-            case "y" -> yearlyRepo.findAllByStockIdOrderByYearDesc(stockId, pageable)
+            case "y" -> yearlyRepo.findAllByStockIdOrderByYearDesc(stockId, pageable).stream()
                     .map(CandleDto::from)
                     .toList();
-            case "m" -> monthlyRepo.findAllByStockIdOrderByMonthDesc(stockId, pageable)
+            case "m" -> monthlyRepo.findAllByStockIdOrderByMonthDesc(stockId, pageable).stream()
                     .map(CandleDto::from)
                     .toList();
-            case "w" -> weeklyRepo.findAllByStockIdOrderByWeekDesc(stockId, pageable)
+            case "w" -> weeklyRepo.findAllByStockIdOrderByWeekDesc(stockId, pageable).stream()
                     .map(CandleDto::from)
                     .toList();
-            case "d" -> dailyRepo.findAllByStockIdOrderByDateDesc(stockId, pageable)
+            case "d" -> dailyRepo.findAllByStockIdOrderByDateDesc(stockId, pageable).stream()
                     .map(CandleDto::from)
                     .toList();
             default -> {
                 if (interval.matches("\\d+")) {
                     int minuteInterval = Integer.parseInt(interval);
                     yield minuteRepo.findAllByStockIdAndIntervalOrderByCandleTimeDesc(stockId, minuteInterval, pageable)
+                            .stream()
                             .map(CandleDto::from)
                             .toList();
                 } else {
@@ -215,6 +304,91 @@ public class StockService {
         };
     }
 
+    /**
+     * {@code before} 이전 봉을 keyset 조건으로 조회
+     * <p>주봉 커서는 {@link CandleDto#from(StockWeeklyPrice)}가 만든 금요일 날짜를 같은 주차 규칙으로 되돌립니다.</p>
+     */
+    private List<CandleDto> loadCandlesBefore(Long stockId, String interval, String cursor, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        return switch (interval) {
+            case "y" -> yearlyRepo.findAllByStockIdAndYearBeforeOrderByYearDesc(
+                            stockId, LocalDate.parse(cursor).getYear(), pageable).stream()
+                    .map(CandleDto::from)
+                    .toList();
+            case "m" -> {
+                LocalDate date = LocalDate.parse(cursor);
+                yield monthlyRepo.findAllByStockIdBeforeMonthOrderByMonthDesc(
+                                stockId, date.getYear(), date.getMonthValue(), pageable).stream()
+                        .map(CandleDto::from)
+                        .toList();
+            }
+            case "w" -> {
+                LocalDate friday = LocalDate.parse(cursor);
+                int week = friday.get(WeekFields.of(Locale.KOREA).weekOfYear());
+                yield weeklyRepo.findAllByStockIdBeforeWeekOrderByWeekDesc(
+                                stockId, friday.getYear(), week, pageable).stream()
+                        .map(CandleDto::from)
+                        .toList();
+            }
+            case "d" -> dailyRepo.findAllByStockIdAndDateBeforeOrderByDateDesc(
+                            stockId, LocalDate.parse(cursor), pageable).stream()
+                    .map(CandleDto::from)
+                    .toList();
+            default -> minuteRepo.findAllByStockIdAndIntervalAndCandleTimeBeforeOrderByCandleTimeDesc(
+                            stockId, Integer.parseInt(interval), LocalDateTime.parse(cursor), pageable).stream()
+                    .map(CandleDto::from)
+                    .toList();
+        };
+    }
+
+    /**
+     * 커서를 CandleDto.dateTime 과 같은 형식으로 정규화 (분봉: ISO 날짜시간, 그 외: ISO 날짜)
+     */
+    private String normalizeCursor(String interval, String before) {
+        try {
+            return switch (interval) {
+                case "y", "m", "w", "d" -> LocalDate.parse(before).toString();
+                default -> {
+                    if (!interval.matches("\\d+")) {
+                        throw new IllegalArgumentException("지원하지 않는 interval입니다: " + interval);
+                    }
+                    yield LocalDateTime.parse(before).truncatedTo(ChronoUnit.MINUTES).toString();
+                }
+            };
+        } catch (DateTimeParseException e) {
+            throw new GlobalException(GlobalErrorCode.INVALID_PARAM);
+        }
+    }
+
+    /**
+     * 아직 저장되지 않은 진행 중인 봉
+     * <ul>
+     *   <li>분봉 - 실시간 틱으로 만들고 있는 봉</li>
+     *   <li>일봉 - 최신 시세의 당일 시가/고가/저가/현재가/누적 거래량</li>
+     * </ul>
+     * 주/월/연봉과, 최신 저장 봉보다 새롭지 않은 경우는 {@code null}
+     */
+    private CandleDto getFormingCandle(String ticker, String interval, CandleDto latestClosed) {
+        CandleDto forming = null;
+        if ("d".equals(interval)) {
+            StockPriceDto price = stockPriceRedisService.getLatest(ticker);
+            if (price != null && price.datetime() != null) {
+                forming = new CandleDto(ticker, price.datetime().toLocalDate().toString(),
+                        (long) price.openPrice(), (long) price.highPrice(), (long) price.lowPrice(),
+                        (long) price.currentPrice(), price.accumulatedVolume());
+            }
+        } else if (interval.matches("\\d+")) {
+            ClosedCandle candle = streamingCandleService.getFormingCandle(ticker, Integer.parseInt(interval));
+            forming = candle == null ? null : candle.toDto();
+        }
+
+        if (forming == null
+                || (latestClosed != null && forming.dateTime().compareTo(latestClosed.dateTime()) <= 0)) {
+            return null;
+        }
+        return forming;
+    }
+
     /**
      * Redis에 저장된 특정 종목의 최신 시세 정보를 조회하고,
      * 현재 장이 열려 있는지 여부를 함께 포함한 DTO를 반환합니다.
@@ -261,4 +435,24 @@ public class StockService {
 
         return StockOrderBookDto.from(dto, open);
     }
+
+    /**
+     * 호가 이력에서 특정 시각의 호가를 복원합니다.
+     *
+     * @param ticker 종목 코드 (예: "005930")
+     * @param at     조회 시각
+     * @return {@code at} 직전에 수신한 {@link StockOrderBookDto}
+     * @throws GlobalException {@code STOCK_NOT_FOUND} - 종목이 없는 경우,
+     *                         {@code ORDER_BOOK_NOT_FOUND} - 해당 시각의 호가 이력이 없는 경우
+     */
+    public StockOrderBookDto getOrderBookAt(String ticker, LocalDateTime at) {
+        stockRepository.findByStockTicker(ticker)
+                .orElseThrow(() -> new GlobalException(GlobalErrorCode.STOCK_NOT_FOUND));
+
+        StockOrderBookDto dto = orderBookHistory.reconstruct(ticker, at);
+        if (dto == null) {
+            throw new GlobalException(GlobalErrorCode.ORDER_BOOK_NOT_FOUND);
+        }
+        return dto;
+    }
 }
@@ -0,0 +1,461 @@
+package com.stockleague.backend.stock.service;
+
+import com.stockleague.backend.infra.properties.CandleStreamingProperties;
+import com.stockleague.backend.infra.redis.StockPriceRedisService;
+import com.stockleague.backend.infra.webSocket.MarketDataWebSocketPublisher;
+import com.stockleague.backend.stock.cache.CandleReadCache;
+import com.stockleague.backend.stock.domain.Stock;
+import com.stockleague.backend.stock.domain.StockMinutePrice;
+import com.stockleague.backend.stock.dto.response.stock.CandleDto;
+import com.stockleague.backend.stock.dto.response.stock.CandleUpdateDto;
+import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+import com.stockleague.backend.stock.repository.CandleBulkWriter;
+import com.stockleague.backend.stock.repository.StockRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 실시간 틱 기반 분봉(OHLCV) 증분 생성기
+ * <p>
+ * 종목별로 진행 중인 1분봉 1개를 메모리에 유지하며 틱마다 O(1)로 갱신합니다.
+ * 다음 구간의 틱이 들어오거나, 구간 종료 후 {@code close-grace}가 지나면 봉을 닫아
+ * {@code stock_minute_prices}에 저장합니다. 3분 이상 간격은 틱이 아니라 닫힌 1분봉을 합성해 만들므로
+ * 모든 간격의 봉이 서로 일치합니다. 봉 시각(candleTime)은 기존 cron 집계와 같이
+ * 정시 기준으로 정렬된 구간 시작 시각입니다.
+ * </p>
+ * <p>
+ * 틱마다 갱신된 진행 중인 봉을, 구간이 닫히면 확정된 봉을 {@code /topic/candles/{ticker}/{interval}}로 전송하므로
+ * 클라이언트는 조회 API 폴링 없이 서버와 같은 봉 경계를 받습니다.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StreamingCandleService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /** 저장에 실패한 봉 묶음을 다시 시도하는 최대 횟수 - 넘으면 분봉 cron 대조가 해당 종목 · 분만 Redis 틱으로 채웁니다. */
+    private static final int MAX_FLUSH_ATTEMPTS = 5;
+
+    /** 모르는 종목 코드로 종목 목록을 다시 읽는 최소 간격 - 그 사이의 조회 실패는 그대로 실패로 봄 */
+    private static final Duration STOCK_ID_RELOAD_INTERVAL = Duration.ofMinutes(1);
+
+    private final CandleStreamingProperties properties;
+    private final StockPriceRedisService redisService;
+    private final StockRepository stockRepository;
+    private final CandleBulkWriter candleBulkWriter;
+    private final CandleReadCache candleReadCache;
+    private final IndicatorService indicatorService;
+    private final MarketDataWebSocketPublisher marketDataPublisher;
+
+    private final ConcurrentMap<String, TickerCandles> states = new ConcurrentHashMap<>();
+    private final Queue<ClosedCandle> closedCandles = new ConcurrentLinkedQueue<>();
+    private volatile Map<String, Long> stockIds = Map.of();
+    /** 종목 목록을 마지막으로 읽은 시각 (flush 스레드에서만 접근, 0이면 아직 읽지 않음) */
+    private long stockIdsLoadedAt;
+
+    /** 저장에 실패해 다음 flush 에서 다시 시도할 봉 (flush 스레드에서만 접근) */
+    private List<ClosedCandle> retryBatch = new ArrayList<>();
+    private int flushAttempts;
+
+    /** 재시도를 소진해 저장하지 못한 봉의 종목 → 봉 시각 - 분봉 cron 대조가 가져가 다시 만듭니다. */
+    private final ConcurrentMap<String, Set<LocalDateTime>> unpersisted = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 수신 틱 반영
+     * <p>종목의 첫 틱이면 Redis 에 남은 현재 구간 틱으로 먼저 채워, 재시작 직후의 봉도 온전하게 만듭니다.</p>
+     */
+    public void onTick(StockPriceDto dto) {
+        if (!properties.isEnabled() || dto == null || dto.datetime() == null) {
+            return;
+        }
+        TickerCandles candles = states.computeIfAbsent(dto.ticker(), TickerCandles::new);
+        synchronized (candles) {
+            if (!candles.seeded) {
+                candles.seeded = true;
+                seed(candles, dto.datetime());
+            }
+            if (candles.apply(dto)) {
+                candles.publishForming();
+            }
+        }
+    }
+
+    /**
+     * 진행 중인 봉 조회 (구간이 열려 있지 않으면 null)
+     */
+    public ClosedCandle getFormingCandle(String ticker, int interval) {
+        TickerCandles candles = states.get(ticker);
+        if (candles == null) {
+            return null;
+        }
+        synchronized (candles) {
+            return candles.forming(interval);
+        }
+    }
+
+    /**
+     * 종료 시각 + grace 가 지난 구간을 닫고, 닫힌 봉을 저장합니다.
+     */
+    @Scheduled(fixedDelay = 1_000)
+    public void closeAndFlush() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime deadline = LocalDateTime.now(KST).minus(properties.getCloseGrace());
+        for (TickerCandles candles : states.values()) {
+            synchronized (candles) {
+                candles.closeDue(deadline);
+            }
+        }
+        flush();
+    }
+
+    /**
+     * 저장 재시도를 소진한 봉의 종목 · 봉 시각을 꺼내 비웁니다.
+     * <p>상위 간격 봉은 구간 시작 시각을 넘기므로, 대조 시 그 1분을 포함하는 닫힌 상위 구간을 다시 합성하면 됩니다.</p>
+     *
+     * @return 종목 코드 → 봉 시각(구간 시작)
+     */
+    public Map<String, Set<LocalDateTime>> drainUnpersisted() {
+        Map<String, Set<LocalDateTime>> drained = new HashMap<>();
+        for (String ticker : unpersisted.keySet()) {
+            Set<LocalDateTime> times = unpersisted.remove(ticker);
+            if (times != null) {
+                drained.put(ticker, times);
+            }
+        }
+        return drained;
+    }
+
+    private void seed(TickerCandles candles, LocalDateTime tickTime) {
+        int maxInterval = candles.rollups.stream().mapToInt(r -> r.interval).max().orElse(1);
+        LocalDateTime from = bucketStart(tickTime, maxInterval);
+        try {
+            List<StockPriceDto> history = new ArrayList<>(redisService.findBetween(candles.ticker, from, tickTime));
+            history.sort(Comparator.comparing(StockPriceDto::datetime));
+            history.forEach(candles::apply);
+            log.debug("[분봉 스트림] {} 구간 시드 {}건 ({} ~ {})", candles.ticker, history.size(), from, tickTime);
+        } catch (Exception e) {
+            log.warn("[분봉 스트림] {} 시드 실패: {}", candles.ticker, e.getMessage());
+        }
+    }
+
+    /**
+     * 닫힌 봉 일괄 저장
+     * <p>
+     * 확정 이벤트와 지표 반영은 닫을 때 이미 끝났으므로, 저장에 실패한 묶음은 버리지 않고 다음 flush 에서
+     * 새로 닫힌 봉과 함께 다시 저장합니다. ({@code ON CONFLICT DO NOTHING}이라 중복 저장되지 않음)
+     * </p>
+     */
+    private void flush() {
+        List<ClosedCandle> batch = retryBatch;
+        retryBatch = new ArrayList<>();
+        for (ClosedCandle candle; (candle = closedCandles.poll()) != null; ) {
+            batch.add(candle);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<StockMinutePrice> entities = new ArrayList<>(batch.size());
+        for (ClosedCandle candle : batch) {
+            Long stockId = stockId(candle.ticker());
+            if (stockId == null) {
+                log.warn("[분봉 스트림] 종목 없음 - 저장 생략: {}", candle.ticker());
+                continue;
+            }
+            entities.add(candle.toEntity(stockRepository.getReferenceById(stockId)));
+        }
+
+        try {
+            int saved = candleBulkWriter.insertMinuteCandles(entities);
+            log.debug("[분봉 스트림] {}건 중 {}건 저장", entities.size(), saved);
+            batch.forEach(candle -> candleReadCache.appendClosed(String.valueOf(candle.interval()), candle.toDto()));
+            flushAttempts = 0;
+        } catch (Exception e) {
+            if (++flushAttempts < MAX_FLUSH_ATTEMPTS) {
+                retryBatch = batch;
+                log.warn("[분봉 스트림] 저장 실패 - 다음 주기에 재시도 ({}/{}): {}건, 이유: {}",
+                        flushAttempts, MAX_FLUSH_ATTEMPTS, entities.size(), e.getMessage());
+            } else {
+                flushAttempts = 0;
+                batch.forEach(candle -> unpersisted.compute(candle.ticker(), (ticker, times) -> {
+                    Set<LocalDateTime> merged = times == null ? new HashSet<>() : times;
+                    merged.add(candle.candleTime());
+                    return merged;
+                }));
+                log.error("[분봉 스트림] 저장 재시도 소진 - {}건은 분봉 cron 대조로 보완: {}",
+                        entities.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 종목 코드 → 종목 ID
+     * <p>
+     * 모르는 종목 코드면 종목 목록을 다시 읽되, 최대 {@link #STOCK_ID_RELOAD_INTERVAL}에 한 번만 읽습니다.
+     * (DB에 없는 종목의 틱이 계속 들어와도 flush 마다 전체 목록을 조회하지 않도록)
+     * </p>
+     */
+    private Long stockId(String ticker) {
+        Long id = stockIds.get(ticker);
+        long now = System.currentTimeMillis();
+        if (id == null && (stockIdsLoadedAt == 0 || now - stockIdsLoadedAt >= STOCK_ID_RELOAD_INTERVAL.toMillis())) {
+            stockIds = stockRepository.findAll().stream()
+                    .collect(Collectors.toUnmodifiableMap(Stock::getStockTicker, Stock::getId));
+            stockIdsLoadedAt = now;
+            id = stockIds.get(ticker);
+        }
+        return id;
+    }
+
+    /** 정시 기준으로 정렬된 구간 시작 시각 */
+    static LocalDateTime bucketStart(LocalDateTime time, int interval) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        return minute.minusMinutes(minute.getMinute() % interval);
+    }
+
+    /**
+     * 닫힌(또는 진행 중인) 봉
+     */
+    public record ClosedCandle(
+            String ticker,
+            int interval,
+            LocalDateTime candleTime,
+            long open,
+            long high,
+            long low,
+            long close,
+            long volume
+    ) {
+        /** 뒤이은 봉을 합성 (시가/봉 시각 유지, 고저 갱신, 종가 교체, 거래량 합산) */
+        ClosedCandle merge(ClosedCandle next) {
+            return new ClosedCandle(ticker, interval, candleTime, open,
+                    Math.max(high, next.high), Math.min(low, next.low), next.close, volume + next.volume);
+        }
+
+        ClosedCandle rebucket(int newInterval, LocalDateTime newCandleTime) {
+            return new ClosedCandle(ticker, newInterval, newCandleTime, open, high, low, close, volume);
+        }
+
+        public CandleDto toDto() {
+            return new CandleDto(ticker, candleTime.toString(), open, high, low, close, volume);
+        }
+
+        StockMinutePrice toEntity(Stock stock) {
+            return StockMinutePrice.builder()
+                    .stock(stock)
+                    .interval(interval)
+                    .candleTime(candleTime)
+                    .openPrice(open)
+                    .highPrice(high)
+                    .lowPrice(low)
+                    .closePrice(close)
+                    .volume(volume)
+                    .build();
+        }
+    }
+
+    /**
+     * 종목 1개의 분봉 누산기 - 인스턴스 단위로 동기화해서 사용
+     * <p>틱은 1분봉에만 반영하고, 1분봉이 닫힐 때마다 상위 간격 롤업에 합성합니다.</p>
+     */
+    private class TickerCandles {
+        final String ticker;
+        final List<Rollup> rollups;
+        Bucket minute;
+        Long prevMinuteCum;
+        LocalDateTime lastClosedMinute;
+        boolean seeded;
+
+        TickerCandles(String ticker) {
+            this.ticker = ticker;
+            this.rollups = properties.getIntervals().stream()
+                    .filter(interval -> interval > 1)
+                    .map(Rollup::new)
+                    .toList();
+        }
+
+        /**
+         * @return 진행 중인 1분봉에 반영되었으면 true (이미 닫힌 구간의 늦은 틱은 false)
+         */
+        boolean apply(StockPriceDto dto) {
+            LocalDateTime start = bucketStart(dto.datetime(), 1);
+            if (minute != null && start.isAfter(minute.start)) {
+                closeMinute();
+            }
+            if (minute == null) {
+                if (lastClosedMinute != null && !start.isAfter(lastClosedMinute)) {
+                    return false; // 이미 닫힌 구간에 늦게 도착한 틱
+                }
+                minute = new Bucket(start);
+            } else if (start.isBefore(minute.start)) {
+                return false;
+            }
+            minute.add(dto.currentPrice(), dto.accumulatedVolume());
+            return true;
+        }
+
+        /** 모든 간격의 진행 중인 봉 전송 (토픽별로 conflation 되어 최대 빈도로 전송) */
+        void publishForming() {
+            ClosedCandle current = minute == null ? null : minute.snapshot(ticker, 1, prevMinuteCum);
+            if (current == null) {
+                return;
+            }
+            marketDataPublisher.publishFormingCandle(CandleUpdateDto.forming("1", current.toDto()));
+            for (Rollup rollup : rollups) {
+                ClosedCandle forming = rollup.preview(ticker, current);
+                marketDataPublisher.publishFormingCandle(
+                        CandleUpdateDto.forming(String.valueOf(rollup.interval), forming.toDto()));
+            }
+        }
+
+        /**
+         * 마감 시각이 지난 봉 닫기 - 1분봉을 먼저 닫아야 상위 간격의 마지막 1분이 포함됩니다.
+         */
+        void closeDue(LocalDateTime deadline) {
+            if (minute != null && !minute.start.plusMinutes(1).isAfter(deadline)) {
+                closeMinute();
+            }
+            for (Rollup rollup : rollups) {
+                if (rollup.bucket != null && !rollup.bucket.candleTime().plusMinutes(rollup.interval).isAfter(deadline)) {
+                    closeRollup(rollup);
+                }
+            }
+        }
+
+        /** 진행 중인 봉 - 상위 간격은 합성된 1분봉에 진행 중인 1분봉을 더해 계산 */
+        ClosedCandle forming(int interval) {
+            ClosedCandle current = minute == null ? null : minute.snapshot(ticker, 1, prevMinuteCum);
+            if (interval == 1) {
+                return current;
+            }
+            for (Rollup rollup : rollups) {
+                if (rollup.interval == interval) {
+                    return rollup.preview(ticker, current);
+                }
+            }
+            return null;
+        }
+
+        private void closeMinute() {
+            ClosedCandle bar = minute.snapshot(ticker, 1, prevMinuteCum);
+            onClosed(bar);
+            prevMinuteCum = minute.lastCum;
+            lastClosedMinute = minute.start;
+            minute = null;
+
+            for (Rollup rollup : rollups) {
+                LocalDateTime start = bucketStart(bar.candleTime(), rollup.interval);
+                if (rollup.bucket != null && start.isAfter(rollup.bucket.candleTime())) {
+                    closeRollup(rollup);
+                }
+                if (rollup.bucket == null && rollup.lastClosedStart != null
+                        && !start.isAfter(rollup.lastClosedStart)) {
+                    continue;
+                }
+                rollup.bucket = rollup.bucket == null
+                        ? bar.rebucket(rollup.interval, start)
+                        : rollup.bucket.merge(bar);
+            }
+        }
+
+        private void closeRollup(Rollup rollup) {
+            onClosed(rollup.bucket);
+            rollup.lastClosedStart = rollup.bucket.candleTime();
+            rollup.bucket = null;
+        }
+
+        /** 닫힌 봉을 저장 대기열에 넣고 확정 이벤트 전송, 지표 반영 - 저장은 다음 flush 에서 (실패 시 재시도) */
+        private void onClosed(ClosedCandle candle) {
+            closedCandles.add(candle);
+            String interval = String.valueOf(candle.interval());
+            CandleDto dto = candle.toDto();
+            marketDataPublisher.publishClosedCandle(CandleUpdateDto.closed(interval, dto));
+            indicatorService.onClosedCandle(interval, dto);
+        }
+    }
+
+    /** 상위 간격 누산기 - 닫힌 1분봉을 합성한 결과를 보관 */
+    private static class Rollup {
+        final int interval;
+        ClosedCandle bucket;
+        LocalDateTime lastClosedStart;
+
+        Rollup(int interval) {
+            this.interval = interval;
+        }
+
+        ClosedCandle preview(String ticker, ClosedCandle formingMinute) {
+            if (formingMinute == null) {
+                return bucket;
+            }
+            LocalDateTime start = bucketStart(formingMinute.candleTime(), interval);
+            if (bucket != null && bucket.candleTime().equals(start)) {
+                return bucket.merge(formingMinute);
+            }
+            return formingMinute.rebucket(interval, start);
+        }
+    }
+
+    private static class Bucket {
+        final LocalDateTime start;
+        long open;
+        long high;
+        long low;
+        long close;
+        long firstCum;
+        long lastCum;
+        boolean empty = true;
+
+        Bucket(LocalDateTime start) {
+            this.start = start;
+        }
+
+        void add(long price, long cumVolume) {
+            if (empty) {
+                open = high = low = price;
+                firstCum = cumVolume;
+                empty = false;
+            }
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            close = price;
+            lastCum = cumVolume;
+        }
+
+        /**
+         * 누적 거래량 차이로 구간 거래량 계산
+         * <p>직전 구간의 마지막 누적 거래량을 기준으로 하되, 일자가 바뀌어 누적값이 줄었으면 구간 첫 틱을 기준으로 합니다.</p>
+         */
+        ClosedCandle snapshot(String ticker, int interval, Long prevLastCum) {
+            long base = prevLastCum != null && prevLastCum <= lastCum ? prevLastCum : firstCum;
+            long volume = Math.max(0L, lastCum - base);
+            return new ClosedCandle(ticker, interval, start, open, high, low, close, volume);
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -30,9 +31,10 @@ public class UserRankingController {
             summary = "수익률 랭킹 조회",
             description = """
                     유저들의 수익률 기준 랭킹을 전체 반환합니다.
-                    - 장중에는 Redis에 저장된 현재가 기준 실시간 자산 정보를 이용해 수익률을 계산합니다.
+                    - 장중에는 자산 변경 · 시세 변동 시 갱신되는 Redis 실시간 랭킹(ZSET)을 조회합니다.
                     - 장 마감 이후에는 Redis에 저장된 자산 스냅샷 정보를 기반으로 수익률을 계산합니다.
                     - 응답에는 전체 랭킹 리스트와 로그인 사용자의 순위 정보가 포함됩니다.
+                    - limit을 지정하면 상위 limit명만 반환합니다. (나의 순위 · totalCount는 전체 기준)
                     """
     )
     @ApiResponses(value = {
@@ -78,9 +80,12 @@ public class UserRankingController {
                     )
             )
     })
-    public ResponseEntity<UserProfitRateRankingListDto> getProfitRateRanking(Authentication authentication) {
+    public ResponseEntity<UserProfitRateRankingListDto> getProfitRateRanking(
+            Authentication authentication,
+            @RequestParam(required = false) Integer limit
+    ) {
         Long userId = (Long) authentication.getPrincipal();
-        return ResponseEntity.ok(userRankingService.getRanking(userId, RankingSort.PROFIT_RATE_DESC));
+        return ResponseEntity.ok(userRankingService.getRanking(userId, RankingSort.PROFIT_RATE_DESC, limit));
     }
 
     @GetMapping("/total-asset")
@@ -88,9 +93,10 @@ public class UserRankingController {
             summary = "총자산 랭킹 조회",
             description = """
                     유저들의 '총자산(현금+평가금액)' 기준 랭킹을 반환합니다.
-                    - 장중: Redis 현재가 기반 실시간 자산 합산
+                    - 장중: Redis 실시간 랭킹(ZSET)의 총자산 사용
                     - 장마감: Redis 스냅샷의 총자산 사용
                     - 응답: 전체 랭킹 리스트 + 로그인 사용자의 순위
+                    - limit 지정 시 상위 limit명만 반환 (나의 순위 · totalCount는 전체 기준)
                     """
     )
     @ApiResponses(value = {
@@ -136,8 +142,11 @@ public class UserRankingController {
                     )
             )
     })
-    public ResponseEntity<UserProfitRateRankingListDto> getTotalAssetRanking(Authentication authentication) {
+    public ResponseEntity<UserProfitRateRankingListDto> getTotalAssetRanking(
+            Authentication authentication,
+            @RequestParam(required = false) Integer limit
+    ) {
         Long userId = (Long) authentication.getPrincipal();
-        return ResponseEntity.ok(userRankingService.getRanking(userId, RankingSort.TOTAL_ASSET_DESC));
+        return ResponseEntity.ok(userRankingService.getRanking(userId, RankingSort.TOTAL_ASSET_DESC, limit));
     }
 }
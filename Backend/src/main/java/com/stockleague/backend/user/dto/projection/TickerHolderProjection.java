@@ -0,0 +1,6 @@
+package com.stockleague.backend.user.dto.projection;
+
+public interface TickerHolderProjection {
+    String getTicker();
+    Long getUserId();
+}
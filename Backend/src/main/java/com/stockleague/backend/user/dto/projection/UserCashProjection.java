@@ -0,0 +1,9 @@
+package com.stockleague.backend.user.dto.projection;
+
+import java.math.BigDecimal;
+
+public interface UserCashProjection {
+    Long getUserId();
+    BigDecimal getCashBalance();
+    BigDecimal getReservedCash();
+}
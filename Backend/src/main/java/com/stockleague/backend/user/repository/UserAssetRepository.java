@@ -1,12 +1,16 @@
 package com.stockleague.backend.user.repository;
 
 import com.stockleague.backend.user.domain.UserAsset;
+import com.stockleague.backend.user.dto.projection.UserCashProjection;
 import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserAssetRepository extends JpaRepository<UserAsset, Long> {
 
@@ -17,4 +21,21 @@ public interface UserAssetRepository extends JpaRepository<UserAsset, Long> {
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("delete from UserAsset ua where ua.userId = :userId")
     int bulkDeleteByUserId(Long userId);
+
+    /**
+     * 여러 사용자의 보유 현금과 미환불 예약 현금을 한 번에 조회합니다.
+     *
+     * @param userIds 조회 대상 사용자 ID 목록
+     * @return 사용자별 현금 정보 (자산 정보가 없는 사용자는 제외)
+     */
+    @Query("""
+            select ua.userId as userId,
+                   ua.cashBalance as cashBalance,
+                   (select coalesce(sum(rc.reservedAmount - rc.refundedAmount), 0)
+                      from ReservedCash rc
+                     where rc.user.id = ua.userId and rc.refunded = false) as reservedCash
+            from UserAsset ua
+            where ua.userId in :userIds
+            """)
+    List<UserCashProjection> findCashByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
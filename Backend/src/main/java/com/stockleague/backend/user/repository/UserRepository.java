@@ -4,6 +4,7 @@ import com.stockleague.backend.user.domain.OauthServerType;
 import com.stockleague.backend.user.domain.User;
 import com.stockleague.backend.user.dto.projection.UserIdAndNicknameProjection;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +24,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("select u.id as id, u.nickname as nickname from User u")
     List<UserIdAndNicknameProjection> findIdAndNickname();
 
+    @Query("select u.id from User u")
+    List<Long> findAllIds();
+
+    @Query("select u.id as id, u.nickname as nickname from User u where u.id in :ids")
+    List<UserIdAndNicknameProjection> findIdAndNicknameByIdIn(@Param("ids") Collection<Long> ids);
+
     long countByCreatedAtAfter(LocalDateTime dateTime);
 
     long countByIsBannedFalse();
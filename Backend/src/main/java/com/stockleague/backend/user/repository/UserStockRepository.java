@@ -3,9 +3,13 @@ package com.stockleague.backend.user.repository;
 import com.stockleague.backend.stock.domain.Stock;
 import com.stockleague.backend.user.domain.User;
 import com.stockleague.backend.user.domain.UserStock;
+import com.stockleague.backend.user.dto.projection.TickerHolderProjection;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserStockRepository extends JpaRepository<UserStock, Long> {
 
@@ -18,4 +22,25 @@ public interface UserStockRepository extends JpaRepository<UserStock, Long> {
      * @return 보유 주식 리스트
      */
     List<UserStock> findByUser(User user);
+
+    /**
+     * 여러 사용자의 보유 주식을 종목 정보와 함께 한 번에 조회합니다.
+     *
+     * @param userIds 조회 대상 사용자 ID 목록
+     * @return 보유 주식 리스트
+     */
+    @Query("select us from UserStock us join fetch us.stock where us.user.id in :userIds")
+    List<UserStock> findWithStockByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 보유 수량(동결 포함)이 남아 있는 전체 (종목, 사용자) 쌍을 조회합니다.
+     *
+     * @return 종목 코드 · 사용자 ID 목록
+     */
+    @Query("""
+            select s.stockTicker as ticker, us.user.id as userId
+            from UserStock us join us.stock s
+            where us.quantity > 0 or us.lockedQuantity > 0
+            """)
+    List<TickerHolderProjection> findAllTickerHolders();
 }
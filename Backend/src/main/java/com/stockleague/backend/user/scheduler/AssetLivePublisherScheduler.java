@@ -3,11 +3,14 @@ package com.stockleague.backend.user.scheduler;
 import static com.stockleague.backend.global.util.MarketTimeUtil.isMarketClosed;
 
 import com.stockleague.backend.infra.webSocket.AssetWebSocketPublisher;
-import com.stockleague.backend.user.domain.User;
 import com.stockleague.backend.user.dto.response.UserAssetValuationDto;
-import com.stockleague.backend.user.repository.UserRepository;
+import com.stockleague.backend.user.service.PortfolioChangeTracker;
+import com.stockleague.backend.user.service.PortfolioChangeTracker.Consumer;
 import com.stockleague.backend.user.service.UserAssetService;
-import java.util.List;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.user.SimpUser;
@@ -22,24 +25,67 @@ public class AssetLivePublisherScheduler {
 
     private final UserAssetService userAssetService;
     private final AssetWebSocketPublisher publisher;
+    private final PortfolioChangeTracker portfolioChangeTracker;
 
     private final SimpUserRegistry simpUserRegistry;
 
+    /** 직전 주기에 접속해 있던 사용자 principal (새로 접속한 사용자 판별용) */
+    private Set<String> lastConnected = Set.of();
+
+    /**
+     * 장중 1초마다 접속 중인 사용자 중 평가가 바뀐 사용자에게만 실시간 자산을 전송합니다.
+     * <p>
+     * - 대상: 직전 주기 이후 체결 · 보유 종목 시세 변동이 있었던 사용자 ({@link PortfolioChangeTracker}) + 새로 접속한 사용자
+     * - 대상 사용자의 자산은 {@link UserAssetService#getLiveAssetValuations}로 한 번에 평가합니다.
+     * </p>
+     */
     @Scheduled(fixedRate = 1000)
     public void pushLiveAssetForConnectedUsers() {
-        if (isMarketClosed()) return;
+        if (isMarketClosed()) {
+            // 다음 장 시작 첫 주기에 접속자 전원에게 전송
+            lastConnected = Set.of();
+            return;
+        }
+
+        Set<Long> dirty = portfolioChangeTracker.drain(Consumer.ASSET);
 
+        Set<String> connected = new HashSet<>();
+        Map<Long, String> targets = new HashMap<>();
         for (SimpUser simpUser : simpUserRegistry.getUsers()) {
             String principalName = simpUser.getName();
+            connected.add(principalName);
 
             try {
                 Long userId = parseUserIdStrict(principalName);
-                UserAssetValuationDto dto = userAssetService.getLiveAssetValuation(userId, true);
+                if (dirty.contains(userId) || !lastConnected.contains(principalName)) {
+                    targets.put(userId, principalName);
+                }
+            } catch (NumberFormatException e) {
+                log.warn("[실시간 자산] 잘못된 principalName={}", principalName);
+            }
+        }
+        lastConnected = connected;
+
+        if (targets.isEmpty()) return;
+
+        Map<Long, UserAssetValuationDto> valuations;
+        try {
+            valuations = userAssetService.getLiveAssetValuations(targets.keySet(), true);
+        } catch (Exception e) {
+            portfolioChangeTracker.requeue(Consumer.ASSET, targets.keySet());
+            log.warn("[실시간 자산] 평가 실패 - 대상 {}명, err={}", targets.size(), e.getMessage());
+            return;
+        }
+
+        targets.forEach((userId, principalName) -> {
+            UserAssetValuationDto dto = valuations.get(userId);
+            if (dto == null) return;
+            try {
                 publisher.sendToUser(principalName, dto);
             } catch (Exception e) {
                 log.warn("[실시간 자산] 푸시 실패 - principalName={}, err={}", principalName, e.getMessage());
             }
-        }
+        });
     }
 
     private Long parseUserIdStrict(String principalName) {
@@ -4,16 +4,13 @@ import com.stockleague.backend.global.util.MarketTimeUtil;
 import com.stockleague.backend.infra.webSocket.RankingWebSocketPublisher;
 import com.stockleague.backend.user.domain.RankingSort;
 import com.stockleague.backend.user.dto.response.UserProfitRateRankingDto;
-import com.stockleague.backend.user.dto.response.UserProfitRateRankingListDto;
-import com.stockleague.backend.user.repository.UserRepository;
-import com.stockleague.backend.user.service.UserAssetService;
+import com.stockleague.backend.user.service.LiveRankingService;
+import com.stockleague.backend.user.service.PortfolioChangeTracker;
 import com.stockleague.backend.user.service.UserRankingService;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.user.SimpUser;
@@ -26,22 +23,47 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class RankingLivePublisherScheduler {
 
-    private final UserRepository userRepository;
-    private final UserAssetService userAssetService;
     private final UserRankingService userRankingService;
+    private final LiveRankingService liveRankingService;
+    private final PortfolioChangeTracker portfolioChangeTracker;
     private final RankingWebSocketPublisher publisher;
     private final SimpUserRegistry simpUserRegistry;
 
     /**
-     * 실시간 랭킹(수익률/총자산 기준)을 10초마다 계산하여 WebSocket으로 송신합니다.
+     * 장중 1초마다 자산이 바뀐 사용자 · 시세가 움직인 종목 보유자만 다시 평가해 Redis 랭킹에 반영합니다.
+     * <p>보유자는 종목 → 보유자 인덱스로 찾습니다. ({@link PortfolioChangeTracker})</p>
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void refreshLiveRanking() {
+        if (MarketTimeUtil.isMarketClosed()) return;
+
+        try {
+            liveRankingService.refreshDirty();
+        } catch (Exception e) {
+            log.warn("[실시간 랭킹] 갱신 실패 - err={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 평일 장 시작(08:59)에 종목 → 보유자 인덱스와 Redis 랭킹을 {@code user_stocks} 기준으로 다시 만듭니다.
+     */
+    @Scheduled(cron = "0 59 8 * * MON-FRI", zone = "Asia/Seoul")
+    public void rebuildLiveRanking() {
+        log.info("[스케줄러] 보유자 인덱스 · 실시간 랭킹 전체 재계산 시작");
+        portfolioChangeTracker.rebuildIndex();
+        liveRankingService.rebuild();
+    }
+
+    /**
+     * 실시간 랭킹(수익률/총자산 기준)을 10초마다 WebSocket으로 송신합니다.
      * <p>
      * 실행 조건:
      * - 장이 열려 있을 때만 실행됩니다. (장 마감 시 실행하지 않음)
      *
      * 처리 흐름:
-     * 1. UserRankingService를 통해 전체 사용자 자산 평가 정보를 가져옵니다. (수익률/총자산 포함)
-     * 2. 수익률 기준 정렬 → 순위 부여 → 전체 브로드캐스트(/topic/ranking/profit)
-     * 3. 총자산 기준 정렬 → 순위 부여 → 전체 브로드캐스트(/topic/ranking/asset)
+     * 1. UserRankingService를 통해 Redis ZSET에 유지 중인 랭킹을 조회합니다. (재계산 없음)
+     * 2. 수익률 기준 랭킹 → 전체 브로드캐스트(/topic/ranking/profit)
+     * 3. 총자산 기준 랭킹 → 전체 브로드캐스트(/topic/ranking/asset)
      * 4. 접속 중인 각 사용자별로 개인 순위 정보를 전송
      *    - 수익률 기준: /user/{userId}/queue/ranking/me
      *    - 총자산 기준: /user/{userId}/queue/ranking/me/asset
@@ -55,28 +77,13 @@ public class RankingLivePublisherScheduler {
     public void pushLiveInvestedRanking() {
         if (MarketTimeUtil.isMarketClosed()) return;
 
-        UserProfitRateRankingListDto base =
-                userRankingService.getRanking(/*myUserId*/ null, RankingSort.PROFIT_RATE_DESC);
-
-        List<UserProfitRateRankingDto> items = base.rankingList();
-        if (items == null || items.isEmpty()) return;
-
-        List<UserProfitRateRankingDto> byProfit = IntStream.range(0, items.size())
-                .mapToObj(items::get)
-                .sorted(Comparator.comparing(UserProfitRateRankingDto::profitRate, Comparator.reverseOrder())
-                        .thenComparing(UserProfitRateRankingDto::totalAsset, Comparator.reverseOrder())
-                        .thenComparing(UserProfitRateRankingDto::nickname, Comparator.nullsLast(String::compareTo)))
-                .collect(Collectors.toList());
-        byProfit = rankify(byProfit);
+        List<UserProfitRateRankingDto> byProfit =
+                userRankingService.getRanking(/*myUserId*/ null, RankingSort.PROFIT_RATE_DESC).rankingList();
+        if (byProfit == null || byProfit.isEmpty()) return;
         publisher.publishAllByProfit(byProfit, /*marketOpen*/ true);
 
-        List<UserProfitRateRankingDto> byAsset = IntStream.range(0, items.size())
-                .mapToObj(items::get)
-                .sorted(Comparator.comparing(UserProfitRateRankingDto::totalAsset, Comparator.reverseOrder())
-                        .thenComparing(UserProfitRateRankingDto::profitRate, Comparator.reverseOrder())
-                        .thenComparing(UserProfitRateRankingDto::nickname, Comparator.nullsLast(String::compareTo)))
-                .collect(Collectors.toList());
-        byAsset = rankify(byAsset);
+        List<UserProfitRateRankingDto> byAsset =
+                userRankingService.getRanking(/*myUserId*/ null, RankingSort.TOTAL_ASSET_DESC).rankingList();
         publisher.publishAllByAsset(byAsset, /*marketOpen*/ true);
 
         Map<Long, UserProfitRateRankingDto> profitByUser = byProfit.stream()
@@ -98,25 +105,4 @@ public class RankingLivePublisherScheduler {
             publisher.publishMyAssetRanking(su.getName(), assetByUser.get(userId), true);
         }
     }
-
-    /**
-     * 랭킹 리스트에 순위(ranking)를 부여합니다.
-     * <p>
-     * - 전달받은 리스트는 이미 정렬되어 있어야 합니다.
-     * - 순위는 1부터 시작하며, 리스트 순서대로 부여됩니다.
-     * </p>
-     *
-     * @param items 정렬된 랭킹 리스트
-     * @return 순위가 부여된 새 리스트
-     */
-    private List<UserProfitRateRankingDto> rankify(List<UserProfitRateRankingDto> items) {
-        return IntStream.range(0, items.size())
-                .mapToObj(i -> {
-                    var d = items.get(i);
-                    return new UserProfitRateRankingDto(
-                            d.userId(), d.nickname(), d.profitRate(), d.totalAsset(), i + 1
-                    );
-                })
-                .toList();
-    }
 }
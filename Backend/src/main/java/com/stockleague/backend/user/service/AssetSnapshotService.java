@@ -2,14 +2,13 @@ package com.stockleague.backend.user.service;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.stockleague.backend.user.domain.User;
 import com.stockleague.backend.user.dto.response.UserAssetSnapshotDto;
 import com.stockleague.backend.user.dto.response.UserAssetValuationDto;
 import com.stockleague.backend.user.repository.UserRepository;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -31,29 +30,33 @@ public class AssetSnapshotService {
     /**
      * 전체 사용자에 대해 장 마감 기준 자산 스냅샷을 생성하고 Redis에 저장합니다.
      * <p>스냅샷 키 형식: {@code user:asset:closing:yyyy-MM-dd:{userId}}</p>
+     * <p>자산 평가는 {@link UserAssetService#getLiveAssetValuations}로 전체 사용자를 한 번에 계산합니다.</p>
      */
     public void saveDailyAssetSnapshots() {
         LocalDate todayKst = LocalDate.now(ZoneId.of("Asia/Seoul"));
         String today = todayKst.toString();
 
-        List<User> allUsers = userRepository.findAll();
+        Map<Long, UserAssetValuationDto> valuations =
+                userAssetService.getLiveAssetValuations(userRepository.findAllIds(), false);
 
-        for (User user : allUsers) {
+        int saved = 0;
+        for (Map.Entry<Long, UserAssetValuationDto> entry : valuations.entrySet()) {
+            Long userId = entry.getKey();
             try {
-                UserAssetValuationDto live = userAssetService.getLiveAssetValuation(user.getId(), false);
-                UserAssetSnapshotDto snapshot = UserAssetSnapshotDto.from(live);
+                UserAssetSnapshotDto snapshot = UserAssetSnapshotDto.from(entry.getValue());
 
-                String redisKey = REDIS_KEY_PREFIX + today + ":" + user.getId();
+                String redisKey = REDIS_KEY_PREFIX + today + ":" + userId;
                 String json = objectMapper.writeValueAsString(snapshot);
 
-                redisTemplate.opsForValue().set(redisKey, json);
-                redisTemplate.expire(redisKey, SNAPSHOT_TTL);
+                redisTemplate.opsForValue().set(redisKey, json, SNAPSHOT_TTL);
+                saved++;
 
-                log.info("[Snapshot] 자산 스냅샷 저장 완료 - key={}, userId={}", redisKey, user.getId());
+                log.debug("[Snapshot] 자산 스냅샷 저장 완료 - key={}, userId={}", redisKey, userId);
 
             } catch (Exception e) {
-                log.error("[Snapshot] 자산 스냅샷 저장 실패 - userId={}, error={}", user.getId(), e.getMessage());
+                log.error("[Snapshot] 자산 스냅샷 저장 실패 - userId={}, error={}", userId, e.getMessage());
             }
         }
+        log.info("[Snapshot] 자산 스냅샷 저장 완료 - {}/{}명", saved, valuations.size());
     }
 }
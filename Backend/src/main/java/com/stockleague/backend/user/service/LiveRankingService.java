@@ -0,0 +1,109 @@
+package com.stockleague.backend.user.service;
+
+import com.stockleague.backend.infra.redis.RankingRedisService;
+import com.stockleague.backend.infra.redis.RankingRedisService.RankingEntry;
+import com.stockleague.backend.user.dto.response.UserAssetValuationDto;
+import com.stockleague.backend.user.repository.UserRepository;
+import com.stockleague.backend.user.service.PortfolioChangeTracker.Consumer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 장중 실시간 랭킹(Redis ZSET)을 변경분만 다시 평가해 갱신합니다.
+ * <ul>
+ *     <li>다시 평가할 사용자는 {@link PortfolioChangeTracker}가 체결 · 가입 · 보유 종목 시세 변동으로 모아 둡니다.</li>
+ *     <li>{@link #refreshDirty}는 모인 사용자만 평가해 ZADD로 반영하고,
+ *     {@link #rebuild}는 전체 사용자를 평가해 랭킹을 통째로 교체합니다. (장 시작 · 랭킹 유실 시)</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveRankingService {
+
+    private final UserRepository userRepository;
+    private final UserAssetService userAssetService;
+    private final UserRankingService userRankingService;
+    private final RankingRedisService rankingRedisService;
+    private final PortfolioChangeTracker changeTracker;
+
+    /**
+     * 자산이 바뀐 사용자와 시세가 움직인 종목의 보유자만 다시 평가해 랭킹에 반영합니다.
+     * <p>랭킹이 아직 없으면(서버 시작 직후, Redis 초기화 등) 전체를 다시 만듭니다.</p>
+     * <p>평가에 실패하면 대상 사용자를 되돌려 다음 주기에 재시도합니다.</p>
+     *
+     * @return 다시 평가한 사용자 수
+     */
+    public synchronized int refreshDirty() {
+        if (!rankingRedisService.exists()) {
+            return rebuild();
+        }
+
+        Set<Long> userIds = changeTracker.drain(Consumer.RANKING);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            List<RankingEntry> entries = evaluate(userIds);
+            rankingRedisService.updateAll(entries);
+
+            // 삭제되었거나 자산 정보가 없는 사용자는 랭킹에서 제외
+            Set<Long> missing = new HashSet<>(userIds);
+            entries.forEach(e -> missing.remove(e.userId()));
+            missing.forEach(rankingRedisService::remove);
+
+            return entries.size();
+        } catch (RuntimeException e) {
+            changeTracker.requeue(Consumer.RANKING, userIds);
+            throw e;
+        }
+    }
+
+    /**
+     * 전체 사용자를 평가해 랭킹을 교체합니다.
+     * <p>평가 중에 들어온 변경분은 다음 {@link #refreshDirty}에서 반영되도록 표시를 먼저 비웁니다.</p>
+     *
+     * @return 랭킹에 포함된 사용자 수
+     */
+    public synchronized int rebuild() {
+        changeTracker.clear(Consumer.RANKING);
+
+        List<RankingEntry> entries = evaluate(userRepository.findAllIds());
+        rankingRedisService.replaceAll(entries);
+        log.info("[실시간 랭킹] 전체 재계산 완료 - {}명", entries.size());
+        return entries.size();
+    }
+
+    /**
+     * 사용자들의 현재 수익률/총자산을 일괄 평가로 계산합니다.
+     *
+     * @return 랭킹 값 목록 (평가할 수 없는 사용자는 제외)
+     */
+    private List<RankingEntry> evaluate(Collection<Long> userIds) {
+        Map<Long, UserAssetValuationDto> valuations = userAssetService.getLiveAssetValuations(userIds, true);
+
+        List<RankingEntry> entries = new ArrayList<>(valuations.size());
+        valuations.forEach((userId, valuation) -> {
+            if (valuation.getTotalAsset() == null) {
+                return;
+            }
+            BigDecimal profitRate = userRankingService.calculateProfitRate(valuation);
+            entries.add(RankingEntry.of(
+                    userId,
+                    profitRate == null ? null : profitRate.setScale(2, RoundingMode.HALF_UP),
+                    valuation.getTotalAsset().setScale(0, RoundingMode.HALF_UP)
+            ));
+        });
+        return entries;
+    }
+}
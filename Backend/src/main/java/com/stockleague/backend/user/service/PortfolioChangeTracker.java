@@ -0,0 +1,195 @@
+package com.stockleague.backend.user.service;
+
+import com.stockleague.backend.infra.redis.HolderIndexRedisService;
+import com.stockleague.backend.user.dto.projection.TickerHolderProjection;
+import com.stockleague.backend.user.repository.UserStockRepository;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 다시 평가해야 할 포트폴리오(사용자)를 추적합니다.
+ * <ul>
+ *     <li>체결 · 가입 등으로 자산이 바뀐 사용자는 {@link #markUserDirty} / {@link #onHoldingChanged}로 표시합니다.</li>
+ *     <li>시세가 움직인 종목은 {@link #markTickerDirty}로 표시하며, {@link #drain} 시점에
+ *     종목 → 보유자 역인덱스({@link HolderIndexRedisService})로 보유 사용자를 찾습니다.</li>
+ *     <li>실시간 랭킹과 실시간 자산 푸시는 주기가 달라 {@link Consumer}별로 표시를 따로 보관합니다.</li>
+ * </ul>
+ * <p>역인덱스는 체결 시 갱신하고, 서버 시작과 장 시작 때 {@code user_stocks}로부터 다시 만듭니다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioChangeTracker {
+
+    /** 표시를 소비하는 주체 */
+    public enum Consumer {
+        RANKING, ASSET
+    }
+
+    private final UserStockRepository userStockRepository;
+    private final HolderIndexRedisService holderIndex;
+
+    private final Map<Consumer, Set<Long>> dirtyUsers = perConsumer();
+    private final Map<Consumer, Set<String>> dirtyTickers = perConsumer();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuildIndex();
+        } catch (Exception e) {
+            log.warn("[보유자 인덱스] 초기 구성 실패 - err={}", e.getMessage());
+        }
+    }
+
+    /**
+     * {@code user_stocks}로부터 종목 → 보유자 역인덱스를 다시 만듭니다.
+     */
+    public void rebuildIndex() {
+        List<TickerHolderProjection> rows = userStockRepository.findAllTickerHolders();
+        Map<String, Set<Long>> holdersByTicker = new HashMap<>();
+        for (TickerHolderProjection row : rows) {
+            holdersByTicker.computeIfAbsent(row.getTicker(), t -> new HashSet<>()).add(row.getUserId());
+        }
+        holderIndex.replaceAll(holdersByTicker);
+        log.info("[보유자 인덱스] 재구성 완료 - 종목 {}개, 보유 {}건", holdersByTicker.size(), rows.size());
+    }
+
+    /**
+     * 체결로 보유 종목이 바뀐 사용자를 역인덱스에 반영하고 다시 평가 대상으로 표시합니다.
+     * <p>트랜잭션 안에서 호출되면 커밋 이후에 반영합니다.</p>
+     *
+     * @param userId  사용자 ID
+     * @param ticker  종목 코드
+     * @param holding 체결 후에도 보유 수량(동결 포함)이 남아 있는지 여부
+     */
+    public void onHoldingChanged(Long userId, String ticker, boolean holding) {
+        afterCommit(() -> {
+            try {
+                if (holding) {
+                    holderIndex.add(ticker, userId);
+                } else {
+                    holderIndex.remove(ticker, userId);
+                }
+            } catch (Exception e) {
+                log.warn("[보유자 인덱스] 갱신 실패 - userId={}, ticker={}, err={}", userId, ticker, e.getMessage());
+            }
+            addDirtyUser(userId);
+        });
+    }
+
+    /**
+     * 보유 종목 또는 현금이 바뀐 사용자를 다시 평가 대상으로 표시합니다.
+     * <p>트랜잭션 안에서 호출되면 커밋 이후에 표시하여, 커밋 전 값으로 평가되지 않도록 합니다.</p>
+     *
+     * @param userId 사용자 ID
+     */
+    public void markUserDirty(Long userId) {
+        if (userId != null) {
+            afterCommit(() -> addDirtyUser(userId));
+        }
+    }
+
+    /**
+     * 시세가 바뀐 종목을 표시합니다.
+     *
+     * @param ticker 종목 코드
+     */
+    public void markTickerDirty(String ticker) {
+        if (ticker == null) {
+            return;
+        }
+        for (Set<String> tickers : dirtyTickers.values()) {
+            tickers.add(ticker);
+        }
+    }
+
+    /**
+     * 마지막 drain 이후 표시된 사용자와, 표시된 종목의 보유자를 꺼냅니다.
+     *
+     * @param consumer 표시를 소비하는 주체
+     * @return 다시 평가할 사용자 ID 집합
+     */
+    public Set<Long> drain(Consumer consumer) {
+        Set<Long> userIds = drainSet(dirtyUsers.get(consumer));
+        Set<String> tickers = drainSet(dirtyTickers.get(consumer));
+        if (!tickers.isEmpty()) {
+            try {
+                userIds.addAll(holderIndex.findHolders(tickers));
+            } catch (RuntimeException e) {
+                dirtyUsers.get(consumer).addAll(userIds);
+                dirtyTickers.get(consumer).addAll(tickers);
+                throw e;
+            }
+        }
+        return userIds;
+    }
+
+    /**
+     * 처리하지 못한 사용자를 다음 drain에서 다시 꺼내도록 되돌립니다.
+     *
+     * @param consumer 표시를 소비하는 주체
+     * @param userIds  되돌릴 사용자 ID
+     */
+    public void requeue(Consumer consumer, Collection<Long> userIds) {
+        dirtyUsers.get(consumer).addAll(userIds);
+    }
+
+    /**
+     * 주체의 표시를 모두 비웁니다. (전체 재계산 직전)
+     *
+     * @param consumer 표시를 소비하는 주체
+     */
+    public void clear(Consumer consumer) {
+        dirtyUsers.get(consumer).clear();
+        dirtyTickers.get(consumer).clear();
+    }
+
+    private void addDirtyUser(Long userId) {
+        for (Set<Long> users : dirtyUsers.values()) {
+            users.add(userId);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static <T> Map<Consumer, Set<T>> perConsumer() {
+        Map<Consumer, Set<T>> sets = new EnumMap<>(Consumer.class);
+        for (Consumer consumer : Consumer.values()) {
+            sets.put(consumer, ConcurrentHashMap.newKeySet());
+        }
+        return sets;
+    }
+
+    private static <T> Set<T> drainSet(Set<T> source) {
+        Set<T> drained = new HashSet<>();
+        for (T value : source) {
+            if (source.remove(value)) {
+                drained.add(value);
+            }
+        }
+        return drained;
+    }
+}
@@ -9,13 +9,21 @@ import com.stockleague.backend.stock.repository.ReservedCashRepository;
 import com.stockleague.backend.user.domain.User;
 import com.stockleague.backend.user.domain.UserAsset;
 import com.stockleague.backend.user.domain.UserStock;
+import com.stockleague.backend.user.dto.projection.UserCashProjection;
 import com.stockleague.backend.user.dto.response.StockValuationDto;
 import com.stockleague.backend.user.dto.response.UserAssetValuationDto;
+import com.stockleague.backend.user.repository.UserAssetRepository;
 import com.stockleague.backend.user.repository.UserRepository;
 import com.stockleague.backend.user.repository.UserStockRepository;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +36,10 @@ public class UserAssetService {
     private final UserStockRepository userStockRepository;
     private final StockPriceRedisService stockPriceRedisService;
     private final ReservedCashRepository reservedCashRepository;
+    private final UserAssetRepository userAssetRepository;
+
+    /** 일괄 평가 시 한 번에 조회하는 사용자 수 (IN 절 크기) */
+    private static final int BULK_CHUNK_SIZE = 1000;
 
     /**
      * Redis의 현재가를 기반으로 사용자 보유 자산을 실시간 계산하여 반환합니다.
@@ -57,26 +69,77 @@ public class UserAssetService {
         List<StockValuationDto> stockDtos = new ArrayList<>();
 
         for (UserStock us : userStocks) {
-            Stock stock = us.getStock();
-            String ticker = stock.getStockTicker();
-            String stockName = stock.getStockName();
-            StockPriceDto latestPrice = stockPriceRedisService.getLatest(ticker);
-            BigDecimal totalQuantity = us.getQuantity().add(us.getLockedQuantity());
-
-            if (latestPrice == null || totalQuantity.compareTo(BigDecimal.ZERO) <= 0) {
-                continue;
+            StockValuationDto stockValuation = toStockValuation(
+                    us, stockPriceRedisService.getLatest(us.getStock().getStockTicker()));
+            if (stockValuation != null) {
+                stockDtos.add(stockValuation);
             }
-
-            StockValuationDto stockValuation = StockValuationDto.of(
-                    ticker,
-                    stockName,
-                    totalQuantity,
-                    us.getAvgBuyPrice(),
-                    BigDecimal.valueOf(latestPrice.currentPrice())
-            );
-            stockDtos.add(stockValuation);
         }
 
         return UserAssetValuationDto.of(availableCash, stockDtos, isMarketOpen, reservedCash);
     }
+
+    /**
+     * 여러 사용자의 보유 자산을 한 번에 계산합니다.
+     * <p>
+     * {@value #BULK_CHUNK_SIZE}명 단위로 현금 · 예약 현금 조회 1회, 보유 주식(종목 포함) 조회 1회를 실행하고,
+     * 보유 종목의 현재가는 {@link StockPriceRedisService#getLatestAll}로 한 번에 가져와 메모리에서 계산합니다.
+     * </p>
+     *
+     * @param userIds      대상 사용자 ID 목록
+     * @param isMarketOpen 장 운영 여부
+     * @return 사용자 ID → 자산 평가 정보 (사용자 또는 자산 정보가 없으면 제외)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, UserAssetValuationDto> getLiveAssetValuations(Collection<Long> userIds, boolean isMarketOpen) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        Map<Long, UserAssetValuationDto> result = new HashMap<>(ids.size() * 2);
+
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+
+            List<UserCashProjection> cashes = userAssetRepository.findCashByUserIdIn(chunk);
+            Map<Long, List<UserStock>> holdings = new HashMap<>();
+            Set<String> tickers = new HashSet<>();
+            for (UserStock us : userStockRepository.findWithStockByUserIdIn(chunk)) {
+                holdings.computeIfAbsent(us.getUser().getId(), id -> new ArrayList<>()).add(us);
+                tickers.add(us.getStock().getStockTicker());
+            }
+            Map<String, StockPriceDto> prices = stockPriceRedisService.getLatestAll(tickers);
+
+            for (UserCashProjection cash : cashes) {
+                List<StockValuationDto> stockDtos = new ArrayList<>();
+                for (UserStock us : holdings.getOrDefault(cash.getUserId(), List.of())) {
+                    StockValuationDto stockValuation = toStockValuation(us, prices.get(us.getStock().getStockTicker()));
+                    if (stockValuation != null) {
+                        stockDtos.add(stockValuation);
+                    }
+                }
+                result.put(cash.getUserId(), UserAssetValuationDto.of(
+                        cash.getCashBalance(), stockDtos, isMarketOpen, cash.getReservedCash()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 보유 주식 1건을 현재가로 평가합니다.
+     *
+     * @return 평가 정보, 현재가가 없거나 보유 수량(동결 포함)이 0이면 {@code null}
+     */
+    private StockValuationDto toStockValuation(UserStock us, StockPriceDto latestPrice) {
+        BigDecimal totalQuantity = us.getQuantity().add(us.getLockedQuantity());
+        if (latestPrice == null || totalQuantity.compareTo(BigDecimal.ZERO) <= 0) {
+            return null;
+        }
+
+        Stock stock = us.getStock();
+        return StockValuationDto.of(
+                stock.getStockTicker(),
+                stock.getStockName(),
+                totalQuantity,
+                us.getAvgBuyPrice(),
+                BigDecimal.valueOf(latestPrice.currentPrice())
+        );
+    }
 }
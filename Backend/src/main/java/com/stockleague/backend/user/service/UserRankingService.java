@@ -1,7 +1,11 @@
 package com.stockleague.backend.user.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockleague.backend.global.exception.GlobalErrorCode;
+import com.stockleague.backend.global.exception.GlobalException;
 import com.stockleague.backend.global.util.MarketTimeUtil;
+import com.stockleague.backend.infra.redis.RankingRedisService;
+import com.stockleague.backend.infra.redis.RankingRedisService.RankingEntry;
 import com.stockleague.backend.user.domain.RankingSort;
 import com.stockleague.backend.user.dto.projection.UserIdAndNicknameProjection;
 import com.stockleague.backend.user.dto.response.UserAssetSnapshotDto;
@@ -27,14 +31,14 @@ public class UserRankingService {
     private final StringRedisTemplate stringRedisTemplate;
     private final ObjectMapper objectMapper;
     private final UserRepository userRepository;
-    private final UserAssetService userAssetService;
+    private final RankingRedisService rankingRedisService;
 
     private static final String REDIS_SNAPSHOT_PREFIX = "user:asset:closing:";
 
     /**
      * 현재 장 상태와 정렬 기준에 따라 적절한 랭킹을 조회합니다.
      * <p>
-     * - 장중(시장 열림): 실시간 자산 정보를 기반으로 랭킹 계산
+     * - 장중(시장 열림): Redis ZSET에 유지 중인 실시간 랭킹 조회
      * - 장마감(시장 닫힘): Redis에 저장된 장 마감 스냅샷 정보를 기반으로 랭킹 계산
      * - 정렬 기준: {@link RankingSort} (수익률/총자산)
      * </p>
@@ -44,10 +48,26 @@ public class UserRankingService {
      * @return 전체 랭킹 및 나의 랭킹 정보가 포함된 DTO
      */
     public UserProfitRateRankingListDto getRanking(Long myUserId, RankingSort sort) {
+        return getRanking(myUserId, sort, null);
+    }
+
+    /**
+     * 상위 {@code limit}명까지만 담은 랭킹을 조회합니다. 나의 랭킹과 전체 인원 수는 limit과 무관하게 채워집니다.
+     *
+     * @param myUserId 현재 로그인한 사용자 ID
+     * @param sort     정렬 기준 (수익률/총자산)
+     * @param limit    반환할 최대 인원 (null이면 전체)
+     * @return 전체 랭킹 및 나의 랭킹 정보가 포함된 DTO
+     * @throws GlobalException INVALID_PARAM - limit이 1 미만인 경우
+     */
+    public UserProfitRateRankingListDto getRanking(Long myUserId, RankingSort sort, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new GlobalException(GlobalErrorCode.INVALID_PARAM);
+        }
         if (MarketTimeUtil.isMarketOpen()) {
-            return getLiveRanking(myUserId, sort);
+            return getLiveRanking(myUserId, sort, limit);
         } else {
-            return getRankingFromSnapshot(myUserId, sort);
+            return getRankingFromSnapshot(myUserId, sort, limit);
         }
     }
 
@@ -62,9 +82,10 @@ public class UserRankingService {
      *
      * @param myUserId 현재 로그인한 사용자 ID
      * @param sort     정렬 기준
+     * @param limit    반환할 최대 인원 (null이면 전체)
      * @return 랭킹 결과 DTO
      */
-    private UserProfitRateRankingListDto getRankingFromSnapshot(Long myUserId, RankingSort sort) {
+    private UserProfitRateRankingListDto getRankingFromSnapshot(Long myUserId, RankingSort sort, Integer limit) {
         List<UserIdAndNicknameProjection> users = userRepository.findIdAndNickname();
         if (users.isEmpty()) {
             return new UserProfitRateRankingListDto(List.of(), null, 0, false, LocalDateTime.now());
@@ -101,56 +122,54 @@ public class UserRankingService {
             }
         }
 
-        return sortAndWrap(rankings, myUserId, false, sort);
+        return sortAndWrap(rankings, myUserId, false, sort, limit);
     }
 
     /**
-     * 현재 실시간 자산 정보를 기반으로 랭킹을 계산합니다.
+     * Redis ZSET에 유지 중인 실시간 랭킹을 조회합니다.
      * <p>
-     * - Redis 현재가 기반으로 사용자별 보유 자산을 평가
-     * - 총자산, 수익률 계산 후 랭킹 산출
-     * - 예외 발생 시 해당 유저는 제외
-     * - 정렬 기준: {@link RankingSort} (수익률/총자산)
+     * - 순위/점수는 {@link LiveRankingService}가 자산 변경 · 시세 변동 시 갱신한 값
+     * - 상위 N명: ZREVRANGE, 나의 순위: ZREVRANK
+     * - 랭킹을 조회할 때 사용자 자산을 다시 평가하지 않음
      * </p>
      *
      * @param myUserId 현재 로그인한 사용자 ID
      * @param sort     정렬 기준
+     * @param limit    반환할 최대 인원 (null이면 전체)
      * @return 랭킹 결과 DTO
      */
-    private UserProfitRateRankingListDto getLiveRanking(Long myUserId, RankingSort sort) {
-        List<UserIdAndNicknameProjection> users = userRepository.findIdAndNickname();
-        if (users.isEmpty()) {
-            return new UserProfitRateRankingListDto(List.of(), null, 0, true, LocalDateTime.now());
+    private UserProfitRateRankingListDto getLiveRanking(Long myUserId, RankingSort sort, Integer limit) {
+        List<RankingEntry> entries = rankingRedisService.range(sort, 0, limit == null ? -1 : limit - 1);
+        RankingEntry mine = (myUserId == null) ? null : rankingRedisService.find(sort, myUserId);
+
+        Set<Long> ids = new HashSet<>();
+        entries.forEach(e -> ids.add(e.userId()));
+        if (mine != null) {
+            ids.add(mine.userId());
+        }
+        Map<Long, String> nicknames = new HashMap<>();
+        if (!ids.isEmpty()) {
+            userRepository.findIdAndNicknameByIdIn(ids)
+                    .forEach(u -> nicknames.put(u.getId(), u.getNickname()));
         }
 
-        List<UserProfitRateRankingDto> rankings = new ArrayList<>(users.size());
-
-        for (UserIdAndNicknameProjection user : users) {
-            try {
-                Long userId = user.getId();
-                String nickname = user.getNickname();
-
-                UserAssetValuationDto valuation = userAssetService.getLiveAssetValuation(userId, true);
-                if (valuation == null) continue;
-
-                BigDecimal totalAsset = valuation.getTotalAsset();
-                if (totalAsset == null) continue;
-
-                BigDecimal profitRate = calculateProfitRate(valuation);
+        List<UserProfitRateRankingDto> rankings = entries.stream()
+                .map(e -> toRankingDto(e, nicknames))
+                .toList();
+        UserProfitRateRankingDto myRanking = (mine == null) ? null : toRankingDto(mine, nicknames);
 
-                rankings.add(new UserProfitRateRankingDto(
-                        userId,
-                        nickname,
-                        profitRate == null ? null : profitRate.setScale(2, RoundingMode.HALF_UP),
-                        totalAsset.setScale(0, RoundingMode.HALF_UP),
-                        null
-                ));
-            } catch (Exception e) {
-                log.warn("[실시간 수익률 계산 실패] userId={}, err={}", user.getId(), e.getMessage());
-            }
-        }
+        return new UserProfitRateRankingListDto(
+                rankings, myRanking, rankingRedisService.count(), true, LocalDateTime.now());
+    }
 
-        return sortAndWrap(rankings, myUserId, true, sort);
+    private UserProfitRateRankingDto toRankingDto(RankingEntry entry, Map<Long, String> nicknames) {
+        return new UserProfitRateRankingDto(
+                entry.userId(),
+                nicknames.get(entry.userId()),
+                entry.profitRate(),
+                entry.totalAsset(),
+                entry.rank()
+        );
     }
 
     /**
@@ -166,13 +185,15 @@ public class UserRankingService {
      * @param myUserId    현재 로그인한 사용자 ID
      * @param isMarketOpen 시장 열림 여부
      * @param sort        정렬 기준
+     * @param limit       반환할 최대 인원 (null이면 전체)
      * @return 정렬 및 순위가 부여된 DTO
      */
     private UserProfitRateRankingListDto sortAndWrap(
             List<UserProfitRateRankingDto> list,
             Long myUserId,
             boolean isMarketOpen,
-            RankingSort sort
+            RankingSort sort,
+            Integer limit
     ) {
         Comparator<UserProfitRateRankingDto> byProfitDesc =
                 Comparator.comparing(UserProfitRateRankingDto::profitRate,
@@ -206,7 +227,9 @@ public class UserRankingService {
                         .findFirst()
                         .orElse(null);
 
-        return new UserProfitRateRankingListDto(list, myRanking, list.size(), isMarketOpen, LocalDateTime.now());
+        List<UserProfitRateRankingDto> page = (limit == null || limit >= list.size()) ? list : list.subList(0, limit);
+
+        return new UserProfitRateRankingListDto(page, myRanking, list.size(), isMarketOpen, LocalDateTime.now());
     }
 
     /**
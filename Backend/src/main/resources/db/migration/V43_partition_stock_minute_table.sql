@@ -0,0 +1,98 @@
+-- stock_minute_prices 를 interval(LIST) → candle_time 월(RANGE) 2단계 파티션 테이블로 전환
+-- 보관 기간은 간격마다 다르므로, 만료된 월 파티션을 통째로 DROP/DETACH 하여 DELETE/VACUUM 비용 없이 정리한다.
+
+ALTER TABLE stock_minute_prices RENAME TO stock_minute_prices_old;
+ALTER TABLE stock_minute_prices_old RENAME CONSTRAINT unique_ticker_interval_time TO unique_ticker_interval_time_old;
+ALTER TABLE stock_minute_prices_old RENAME CONSTRAINT fk_minute_prices_stock TO fk_minute_prices_stock_old;
+ALTER INDEX stock_minute_prices_pkey RENAME TO stock_minute_prices_old_pkey;
+DROP INDEX IF EXISTS idx_minute_price_ticker_time;
+
+CREATE SEQUENCE stock_minute_prices_seq;
+
+CREATE TABLE stock_minute_prices (
+    id BIGINT NOT NULL DEFAULT nextval('stock_minute_prices_seq'),
+    stock_id BIGINT NOT NULL,
+    interval INT NOT NULL,
+    candle_time TIMESTAMP NOT NULL,
+    open_price BIGINT,
+    high_price BIGINT,
+    low_price BIGINT,
+    close_price BIGINT,
+    volume BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    -- 파티션 키(interval, candle_time)는 모든 유니크 제약에 포함되어야 한다
+    CONSTRAINT stock_minute_prices_pkey PRIMARY KEY (id, interval, candle_time),
+    CONSTRAINT unique_ticker_interval_time UNIQUE (stock_id, interval, candle_time),
+
+    CONSTRAINT fk_minute_prices_stock
+        FOREIGN KEY (stock_id) REFERENCES stocks(stock_id) ON DELETE CASCADE
+) PARTITION BY LIST (interval);
+
+ALTER SEQUENCE stock_minute_prices_seq OWNED BY stock_minute_prices.id;
+
+-- (stock_id, interval, candle_time) 유니크 인덱스가 역방향 스캔으로 최신순 조회/keyset 페이징을 처리하므로
+-- 기존 idx_minute_price_ticker_time(DESC) 인덱스는 다시 만들지 않는다.
+
+-- 지원하지 않는 간격은 하위 파티션 없이 기본 파티션으로
+CREATE TABLE stock_minute_prices_default PARTITION OF stock_minute_prices DEFAULT;
+
+/**
+ * 간격 파티션과 해당 월 파티션을 (없으면) 생성하고 월 파티션 이름을 반환한다.
+ * 이름 규칙: stock_minute_prices_i{interval}_{YYYYMM}
+ */
+CREATE OR REPLACE FUNCTION ensure_stock_minute_price_partition(p_interval INT, p_month DATE)
+RETURNS TEXT AS $$
+DECLARE
+    parent      TEXT := format('stock_minute_prices_i%s', p_interval);
+    month_start DATE := date_trunc('month', p_month)::date;
+    part        TEXT := format('stock_minute_prices_i%s_%s', p_interval, to_char(month_start, 'YYYYMM'));
+BEGIN
+    IF to_regclass(parent) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF stock_minute_prices FOR VALUES IN (%s) PARTITION BY RANGE (candle_time)',
+            parent, p_interval);
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', parent || '_default', parent);
+    END IF;
+
+    IF to_regclass(part) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+            part, parent, month_start, (month_start + INTERVAL '1 month')::date);
+    END IF;
+
+    RETURN part;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 데이터 범위 ~ 2개월 뒤까지 월 파티션 생성
+DO $$
+DECLARE
+    iv      INT;
+    m       DATE;
+    first_m DATE;
+    last_m  DATE := (date_trunc('month', now()) + INTERVAL '2 month')::date;
+BEGIN
+    FOREACH iv IN ARRAY ARRAY[1, 3, 5, 10, 15, 30, 60] LOOP
+        SELECT COALESCE(date_trunc('month', MIN(candle_time))::date, date_trunc('month', now())::date)
+          INTO first_m
+          FROM stock_minute_prices_old
+         WHERE interval = iv;
+
+        m := first_m;
+        WHILE m <= last_m LOOP
+            PERFORM ensure_stock_minute_price_partition(iv, m);
+            m := (m + INTERVAL '1 month')::date;
+        END LOOP;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO stock_minute_prices
+    (id, stock_id, interval, candle_time, open_price, high_price, low_price, close_price, volume, created_at)
+SELECT id, stock_id, interval, candle_time, open_price, high_price, low_price, close_price, volume, created_at
+FROM stock_minute_prices_old;
+
+SELECT setval('stock_minute_prices_seq', COALESCE((SELECT MAX(id) FROM stock_minute_prices), 0) + 1, false);
+
+DROP TABLE stock_minute_prices_old;
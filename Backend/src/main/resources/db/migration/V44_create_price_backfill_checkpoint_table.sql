@@ -0,0 +1,13 @@
+-- 과거 시세 백필 진행 위치 (종목 · 봉 단위별)
+-- next_from 이전 구간은 저장이 끝났으므로, 재시작 시 상장일이 아니라 next_from 부터 이어서 수집한다.
+CREATE TABLE price_backfill_checkpoints (
+    stock_id BIGINT NOT NULL,
+    period VARCHAR(10) NOT NULL,
+    next_from DATE NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_price_backfill_checkpoints PRIMARY KEY (stock_id, period),
+
+    CONSTRAINT fk_backfill_checkpoint_stock
+        FOREIGN KEY (stock_id) REFERENCES stocks(stock_id) ON DELETE CASCADE
+);
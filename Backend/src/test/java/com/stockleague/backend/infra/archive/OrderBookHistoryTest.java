@@ -0,0 +1,160 @@
+package com.stockleague.backend.infra.archive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.stockleague.backend.infra.properties.OrderBookHistoryProperties;
+import com.stockleague.backend.stock.dto.response.stock.StockOrderBookDto;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OrderBookHistoryTest {
+
+    private static final String TICKER = "005930";
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 25, 9, 0, 0);
+    private static final int KEYFRAME_INTERVAL = 3;
+
+    @TempDir
+    Path dir;
+
+    private OrderBookHistoryProperties properties;
+    private OrderBookHistory history;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrderBookHistoryProperties();
+        properties.setDir(dir.toString());
+        properties.setKeyframeInterval(KEYFRAME_INTERVAL);
+        history = new OrderBookHistory(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        history.shutdown();
+    }
+
+    @Test
+    @DisplayName("키프레임 경계를 넘어도 모든 프레임을 그대로 복원한다")
+    void roundTripsFramesAcrossKeyframes() {
+        List<StockOrderBookDto> frames = appendFrames(history, 0, 10);
+
+        for (StockOrderBookDto expected : frames) {
+            assertFrame(expected, history.reconstruct(TICKER, expected.timestamp()));
+        }
+    }
+
+    @Test
+    @DisplayName("프레임 사이 시각은 직전 프레임으로 복원한다")
+    void reconstructsBetweenFrames() {
+        List<StockOrderBookDto> frames = appendFrames(history, 0, 10);
+
+        for (int i = 0; i < frames.size(); i++) {
+            LocalDateTime between = frames.get(i).timestamp().plusNanos(500_000_000);
+            assertFrame(frames.get(i), history.reconstruct(TICKER, between));
+        }
+        assertNull(history.reconstruct(TICKER, START.minusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("같은 호가가 반복되면 기록하지 않는다")
+    void skipsIdenticalFrames() {
+        StockOrderBookDto first = frame(0, START);
+        history.append(first);
+        history.append(frame(0, START.plusSeconds(1)));
+
+        StockOrderBookDto restored = history.reconstruct(TICKER, START.plusSeconds(5));
+        assertFrame(first, restored);
+    }
+
+    @Test
+    @DisplayName("잘린 파일을 다시 열면 온전한 레코드까지 복구하고 이어서 기록한다")
+    void repairsTornTailOnReopen() throws IOException {
+        List<StockOrderBookDto> frames = appendFrames(history, 0, 8);
+        history.shutdown();
+
+        Path data = dir.resolve("20250625").resolve(TICKER + ".obk");
+        Path index = dir.resolve("20250625").resolve(TICKER + ".obi");
+        // 마지막 레코드 중간에서 끊기고, 인덱스에는 쓰다 만 항목이 남은 상태
+        truncateBy(data, 3);
+        Files.write(index, new byte[] {1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        history = new OrderBookHistory(properties);
+        List<StockOrderBookDto> resumed = appendFrames(history, 8, 6);
+
+        for (int i = 0; i < frames.size() - 1; i++) {
+            assertFrame(frames.get(i), history.reconstruct(TICKER, frames.get(i).timestamp()));
+        }
+        // 잘린 마지막 프레임 자리는 직전 온전한 프레임으로 복원
+        assertFrame(frames.get(frames.size() - 2),
+                history.reconstruct(TICKER, frames.get(frames.size() - 1).timestamp()));
+        for (StockOrderBookDto expected : resumed) {
+            assertFrame(expected, history.reconstruct(TICKER, expected.timestamp()));
+        }
+        assertEquals(0, Files.size(index) % 16);
+    }
+
+    @Test
+    @DisplayName("이력이 없는 종목은 null을 반환한다")
+    void returnsNullWithoutHistory() {
+        appendFrames(history, 0, 2);
+
+        assertNull(history.reconstruct("000660", START.plusSeconds(1)));
+    }
+
+    private List<StockOrderBookDto> appendFrames(OrderBookHistory target, int from, int count) {
+        List<StockOrderBookDto> frames = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            StockOrderBookDto dto = frame(i, START.plusSeconds(i));
+            target.append(dto);
+            frames.add(dto);
+        }
+        return frames;
+    }
+
+    /** seq 마다 일부 단계만 바뀌는 호가 - 델타 프레임에 변경 마스크가 골고루 섞이도록 구성 */
+    private static StockOrderBookDto frame(int seq, LocalDateTime timestamp) {
+        long[] askPrices = new long[10];
+        long[] askVolumes = new long[10];
+        long[] bidPrices = new long[10];
+        long[] bidVolumes = new long[10];
+        long mid = 72_000 + (seq / 2) * 100L;
+        for (int level = 0; level < 10; level++) {
+            askPrices[level] = mid + 100L * (level + 1);
+            bidPrices[level] = mid - 100L * level;
+            askVolumes[level] = 1_000 + (level == seq % 10 ? seq * 37L : 0);
+            bidVolumes[level] = 900 - (level == (seq + 3) % 10 ? seq * 11L : 0);
+        }
+        return new StockOrderBookDto(TICKER, askPrices, askVolumes, bidPrices, bidVolumes, timestamp, true);
+    }
+
+    private static void assertFrame(StockOrderBookDto expected, StockOrderBookDto actual) {
+        assertNotNull(actual);
+        assertEquals(expected.timestamp(), actual.timestamp());
+        assertArrayEquals(expected.askPrices(), actual.askPrices());
+        assertArrayEquals(expected.askVolumes(), actual.askVolumes());
+        assertArrayEquals(expected.bidPrices(), actual.bidPrices());
+        assertArrayEquals(expected.bidVolumes(), actual.bidVolumes());
+    }
+
+    private static void truncateBy(Path path, long bytes) throws IOException {
+        long size = Files.size(path);
+        assertTrue(size > bytes);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - bytes);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.stockleague.backend.infra.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.stockleague.backend.infra.properties.TickArchiveProperties;
+import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TickArchiveTest {
+
+    private static final String TICKER = "005930";
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 25, 9, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    private TickArchiveProperties properties;
+    private TickArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TickArchiveProperties();
+        properties.setDir(dir.toString());
+        properties.setSegmentCapacity(4);
+        archive = new TickArchive(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archive.shutdown();
+    }
+
+    @Test
+    @DisplayName("기록한 틱을 구간 조회로 그대로 읽는다")
+    void roundTripsAppendAndScan() {
+        List<StockPriceDto> ticks = TickSegmentTest.ticks(3);
+        ticks.forEach(archive::append);
+
+        assertEquals(ticks, archive.scan(TICKER, START, START.plusMinutes(1)));
+        assertEquals(List.of(), archive.scan("000660", START, START.plusMinutes(1)));
+    }
+
+    @Test
+    @DisplayName("세그먼트가 넘어가도 구간 조회가 이어진다")
+    void scansAcrossSegmentRollover() {
+        List<StockPriceDto> ticks = TickSegmentTest.ticks(10);
+        ticks.forEach(archive::append);
+
+        Path dayDir = dir.resolve("20250625");
+        assertTrue(Files.exists(dayDir.resolve(TICKER + "-000.col")));
+        assertTrue(Files.exists(dayDir.resolve(TICKER + "-001.col")));
+        assertTrue(Files.exists(dayDir.resolve(TICKER + "-002.col")));
+
+        assertEquals(ticks, archive.scan(TICKER, START, START.plusMinutes(1)));
+        // 첫 세그먼트 끝 ~ 세 번째 세그먼트 앞부분
+        assertEquals(ticks.subList(2, 9), archive.scan(TICKER, ticks.get(2).datetime(), ticks.get(8).datetime()));
+    }
+
+    @Test
+    @DisplayName("다시 시작하면 닫힌 세그먼트는 읽기 전용으로 읽고 마지막 세그먼트에 이어서 기록한다")
+    void reopensAfterShutdown() {
+        List<StockPriceDto> ticks = TickSegmentTest.ticks(6);
+        ticks.forEach(archive::append);
+        archive.shutdown();
+
+        archive = new TickArchive(properties);
+        assertEquals(ticks, archive.scan(TICKER, START, START.plusMinutes(1)));
+
+        List<StockPriceDto> resumed = TickSegmentTest.ticks(START, 4, 6);
+        resumed.forEach(archive::append);
+
+        List<StockPriceDto> expected = new ArrayList<>(ticks);
+        expected.addAll(resumed);
+        assertEquals(expected, archive.scan(TICKER, START, START.plusMinutes(1)));
+        assertTrue(Files.exists(dir.resolve("20250625").resolve(TICKER + "-002.col")));
+    }
+
+    @Test
+    @DisplayName("여러 일자에 걸친 구간을 일자 순서대로 조회한다")
+    void scansAcrossDays() {
+        List<StockPriceDto> first = TickSegmentTest.ticks(START, 3, 0);
+        List<StockPriceDto> second = TickSegmentTest.ticks(START.plusDays(1), 3, 0);
+        first.forEach(archive::append);
+        second.forEach(archive::append);
+
+        List<StockPriceDto> expected = new ArrayList<>(first);
+        expected.addAll(second);
+        assertEquals(expected, archive.scan(TICKER, START, START.plusDays(1).plusMinutes(1)));
+    }
+
+    @Test
+    @DisplayName("비활성화하면 기록하지 않는다")
+    void skipsWhenDisabled() {
+        properties.setEnabled(false);
+        TickSegmentTest.ticks(3).forEach(archive::append);
+
+        assertEquals(List.of(), archive.scan(TICKER, START, START.plusMinutes(1)));
+    }
+}
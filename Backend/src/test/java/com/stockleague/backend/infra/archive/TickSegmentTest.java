@@ -0,0 +1,133 @@
+package com.stockleague.backend.infra.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TickSegmentTest {
+
+    private static final String TICKER = "005930";
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 25, 9, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("기록한 틱을 모든 컬럼 그대로 시간순으로 읽는다")
+    void roundTripsAllColumns() throws IOException {
+        Path path = dir.resolve("20250625").resolve(TICKER + "-000.col");
+        List<StockPriceDto> ticks = ticks(5);
+
+        try (TickSegment segment = TickSegment.openForAppend(path, TICKER, 16)) {
+            ticks.forEach(tick -> assertTrue(segment.append(tick)));
+
+            assertEquals(ticks, scan(segment, START, START.plusMinutes(1)));
+        }
+    }
+
+    @Test
+    @DisplayName("구간 조회는 양 끝을 포함한다")
+    void scanIsInclusive() throws IOException {
+        Path path = dir.resolve("20250625").resolve(TICKER + "-000.col");
+        List<StockPriceDto> ticks = ticks(10);
+
+        try (TickSegment segment = TickSegment.openForAppend(path, TICKER, 16)) {
+            ticks.forEach(segment::append);
+
+            assertEquals(ticks.subList(3, 7), scan(segment, ticks.get(3).datetime(), ticks.get(6).datetime()));
+            assertEquals(List.of(), scan(segment, START.minusMinutes(1), START.minusSeconds(1)));
+            assertEquals(List.of(), scan(segment, START.plusMinutes(1), START.plusMinutes(2)));
+        }
+    }
+
+    @Test
+    @DisplayName("용량이 가득 차면 더 기록하지 않는다")
+    void rejectsAppendWhenFull() throws IOException {
+        Path path = dir.resolve("20250625").resolve(TICKER + "-000.col");
+        List<StockPriceDto> ticks = ticks(4);
+
+        try (TickSegment segment = TickSegment.openForAppend(path, TICKER, 3)) {
+            assertTrue(segment.append(ticks.get(0)));
+            assertTrue(segment.append(ticks.get(1)));
+            assertTrue(segment.append(ticks.get(2)));
+            assertFalse(segment.append(ticks.get(3)));
+
+            assertEquals(ticks.subList(0, 3), scan(segment, START, START.plusMinutes(1)));
+        }
+    }
+
+    @Test
+    @DisplayName("닫은 세그먼트를 읽기 전용으로 다시 열어도 기록한 행까지만 읽는다")
+    void reopensReadOnly() throws IOException {
+        Path path = dir.resolve("20250625").resolve(TICKER + "-000.col");
+        List<StockPriceDto> ticks = ticks(6);
+
+        try (TickSegment segment = TickSegment.openForAppend(path, TICKER, 16)) {
+            ticks.forEach(segment::append);
+        }
+
+        TickSegment readOnly = TickSegment.openReadOnly(path, TICKER);
+        assertEquals(ticks, scan(readOnly, START, START.plusMinutes(1)));
+    }
+
+    @Test
+    @DisplayName("기존 세그먼트를 쓰기용으로 다시 열면 기록된 행 뒤에 이어서 기록한다")
+    void reopensForAppend() throws IOException {
+        Path path = dir.resolve("20250625").resolve(TICKER + "-000.col");
+        List<StockPriceDto> ticks = ticks(6);
+
+        try (TickSegment segment = TickSegment.openForAppend(path, TICKER, 16)) {
+            ticks.subList(0, 4).forEach(segment::append);
+        }
+        // 기존 파일의 용량을 따르므로 인자로 준 용량은 무시됨
+        try (TickSegment segment = TickSegment.openForAppend(path, TICKER, 2)) {
+            ticks.subList(4, 6).forEach(tick -> assertTrue(segment.append(tick)));
+            assertEquals(ticks, scan(segment, START, START.plusMinutes(1)));
+        }
+    }
+
+    @Test
+    @DisplayName("형식이 다른 파일은 열지 않는다")
+    void rejectsForeignFile() throws IOException {
+        Path path = dir.resolve("garbage.col");
+        Files.write(path, new byte[128]);
+
+        assertThrows(IOException.class, () -> TickSegment.openReadOnly(path, TICKER));
+    }
+
+    static List<StockPriceDto> ticks(int count) {
+        return ticks(START, count, 0);
+    }
+
+    /** 1초 간격 틱 - 누적 거래량은 from 부터 단조 증가 */
+    static List<StockPriceDto> ticks(LocalDateTime start, int count, int from) {
+        List<StockPriceDto> ticks = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            int price = 72_000 + (i % 7) * 100;
+            ticks.add(new StockPriceDto(TICKER, start.plusSeconds(i), 71_800, 73_000, 71_500, 71_900,
+                    price, price - 71_900, (price - 71_900) * 100.0 / 71_900, price >= 71_900 ? 2 : 5,
+                    1_000L + i * 25L, i % 2 == 0));
+        }
+        return ticks;
+    }
+
+    private static List<StockPriceDto> scan(TickSegment segment, LocalDateTime from, LocalDateTime to) {
+        List<StockPriceDto> result = new ArrayList<>();
+        segment.scan(from.toInstant(ZoneOffset.ofHours(9)).toEpochMilli(),
+                to.toInstant(ZoneOffset.ofHours(9)).toEpochMilli(), result::add);
+        return result;
+    }
+}
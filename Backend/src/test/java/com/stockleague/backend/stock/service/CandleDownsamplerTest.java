@@ -0,0 +1,180 @@
+package com.stockleague.backend.stock.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.stockleague.backend.stock.dto.response.stock.CandleDto;
+import com.stockleague.backend.stock.service.CandleDownsampler.Mode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CandleDownsamplerTest {
+
+    private static final String TICKER = "005930";
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 25, 9, 0);
+
+    @Test
+    @DisplayName("입력이 maxPoints 이하이면 그대로 반환한다")
+    void returnsInputWhenSmallEnough() {
+        List<CandleDto> candles = latestFirst(flat(5, 100));
+
+        assertSame(candles, CandleDownsampler.downsample(candles, Mode.OHLC, 5));
+        assertSame(candles, CandleDownsampler.downsample(candles, Mode.LTTB, 10));
+    }
+
+    @Test
+    @DisplayName("maxPoints 가 2 미만이면 예외가 발생한다")
+    void rejectsTooSmallMaxPoints() {
+        List<CandleDto> candles = latestFirst(flat(5, 100));
+
+        assertThrows(IllegalArgumentException.class, () -> CandleDownsampler.downsample(candles, Mode.OHLC, 1));
+    }
+
+    @Test
+    @DisplayName("OHLC 합성은 가장 오래된 봉부터 묶고 시가/시각은 가장 오래된 봉, 종가는 가장 최근 봉을 사용한다")
+    void mergesOhlcFromOldestBucket() {
+        List<CandleDto> chronological = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            chronological.add(candle(i, 100L + i, 200L + i, 50L - i, 150L + i, i + 1L));
+        }
+
+        // 10개 / 최대 3개 → 4개씩 [0..3], [4..7], [8..9]
+        List<CandleDto> result = CandleDownsampler.downsample(latestFirst(chronological), Mode.OHLC, 3);
+
+        assertEquals(3, result.size());
+        assertCandle(result.get(0), 8, 108L, 209L, 41L, 159L, 19L);
+        assertCandle(result.get(1), 4, 104L, 207L, 43L, 157L, 26L);
+        assertCandle(result.get(2), 0, 100L, 203L, 47L, 153L, 10L);
+    }
+
+    @Test
+    @DisplayName("OHLC 합성에서 남는 봉은 가장 최근 묶음에 들어간다")
+    void leavesRemainderInNewestBucket() {
+        List<CandleDto> chronological = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            chronological.add(candle(i, 100L + i, 100L + i, 100L + i, 100L + i, 1L));
+        }
+
+        // 7개 / 최대 3개 → 3개씩 [0..2], [3..5], [6]
+        List<CandleDto> result = CandleDownsampler.downsample(latestFirst(chronological), Mode.OHLC, 3);
+
+        assertEquals(3, result.size());
+        assertCandle(result.get(0), 6, 106L, 106L, 106L, 106L, 1L);
+        assertCandle(result.get(1), 3, 103L, 105L, 103L, 105L, 3L);
+        assertCandle(result.get(2), 0, 100L, 102L, 100L, 102L, 3L);
+    }
+
+    @Test
+    @DisplayName("OHLC 합성은 null 고가/저가/거래량을 건너뛰고, 모두 null 이면 null 로 둔다")
+    void skipsNullHighLow() {
+        List<CandleDto> chronological = List.of(
+                candle(0, 100L, null, null, 101L, null),
+                candle(1, 102L, null, null, 103L, 5L),
+                candle(2, 104L, null, 30L, 105L, 7L),
+                candle(3, 106L, 90L, null, 107L, null)
+        );
+
+        List<CandleDto> result = CandleDownsampler.downsample(latestFirst(chronological), Mode.OHLC, 2);
+
+        assertEquals(2, result.size());
+        assertCandle(result.get(0), 2, 104L, 90L, 30L, 107L, 7L);
+        CandleDto oldest = result.get(1);
+        assertNull(oldest.highPrice());
+        assertNull(oldest.lowPrice());
+        assertEquals(5L, oldest.volume());
+    }
+
+    @Test
+    @DisplayName("LTTB 는 정확히 maxPoints 개를 최신 순으로 반환하고 첫/마지막 봉을 유지한다")
+    void keepsEndpointsAndReturnsMaxPoints() {
+        List<CandleDto> chronological = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            chronological.add(close(i, 1_000L + Math.round(100 * Math.sin(i / 5.0))));
+        }
+        List<CandleDto> candles = latestFirst(chronological);
+
+        List<CandleDto> result = CandleDownsampler.downsample(candles, Mode.LTTB, 10);
+
+        assertEquals(10, result.size());
+        assertSame(candles.get(0), result.get(0));
+        assertSame(candles.get(candles.size() - 1), result.get(result.size() - 1));
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.get(i - 1).dateTime().compareTo(result.get(i).dateTime()) > 0);
+            assertTrue(containsInstance(candles, result.get(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("LTTB 는 급등/급락 봉을 선택한다")
+    void keepsSpikes() {
+        List<CandleDto> chronological = flat(100, 100);
+        chronological.set(20, close(20, 1_000L));
+        chronological.set(70, close(70, 10L));
+
+        List<CandleDto> result = CandleDownsampler.downsample(latestFirst(chronological), Mode.LTTB, 5);
+
+        assertEquals(5, result.size());
+        assertTrue(containsInstance(result, chronological.get(20)));
+        assertTrue(containsInstance(result, chronological.get(70)));
+    }
+
+    @Test
+    @DisplayName("LTTB 에서 maxPoints 가 2이면 첫/마지막 봉만 반환한다")
+    void returnsEndpointsOnlyForTwoPoints() {
+        List<CandleDto> candles = latestFirst(flat(10, 100));
+
+        List<CandleDto> result = CandleDownsampler.downsample(candles, Mode.LTTB, 2);
+
+        assertEquals(2, result.size());
+        assertSame(candles.get(0), result.get(0));
+        assertSame(candles.get(9), result.get(1));
+    }
+
+    private static void assertCandle(CandleDto actual, int minute, Long open, Long high, Long low, Long close,
+                                     Long volume) {
+        assertEquals(dateTime(minute), actual.dateTime());
+        assertEquals(open, actual.openPrice());
+        assertEquals(high, actual.highPrice());
+        assertEquals(low, actual.lowPrice());
+        assertEquals(close, actual.closePrice());
+        assertEquals(volume, actual.volume());
+    }
+
+    private static boolean containsInstance(List<CandleDto> candles, CandleDto candle) {
+        return candles.stream().anyMatch(c -> c == candle);
+    }
+
+    private static List<CandleDto> flat(int count, long close) {
+        List<CandleDto> candles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            candles.add(close(i, close));
+        }
+        return candles;
+    }
+
+    /** 조회 API 와 같은 최신 순으로 변환 */
+    private static List<CandleDto> latestFirst(List<CandleDto> chronological) {
+        List<CandleDto> candles = new ArrayList<>(chronological);
+        Collections.reverse(candles);
+        return candles;
+    }
+
+    private static CandleDto close(int minute, long close) {
+        return candle(minute, close, close, close, close, 1L);
+    }
+
+    private static CandleDto candle(int minute, Long open, Long high, Long low, Long close, Long volume) {
+        return new CandleDto(TICKER, dateTime(minute), open, high, low, close, volume);
+    }
+
+    private static String dateTime(int minute) {
+        return START.plusMinutes(minute).toString();
+    }
+}
@@ -0,0 +1,221 @@
+package com.stockleague.backend.stock.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.stockleague.backend.infra.properties.IndicatorProperties;
+import com.stockleague.backend.stock.dto.response.stock.CandleDto;
+import com.stockleague.backend.stock.dto.response.stock.IndicatorDto;
+import com.stockleague.backend.stock.service.IndicatorService.Indicators;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IndicatorServiceTest {
+
+    private static final String TICKER = "005930";
+    private static final double DELTA = 1e-9;
+
+    private IndicatorProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IndicatorProperties();
+        properties.setSmaPeriod(8);
+        properties.setEmaPeriod(3);
+        properties.setRsiPeriod(3);
+        properties.setMacdFast(2);
+        properties.setMacdSlow(3);
+        properties.setMacdSignal(2);
+        properties.setBollingerPeriod(8);
+        properties.setBollingerK(2.0);
+    }
+
+    @Test
+    @DisplayName("RSI 는 첫 N개 변화량의 단순 평균으로 시작해 Wilder 방식으로 평활한다")
+    void rsiUsesWilderSeeding() {
+        Indicators indicators = seeded(candles(1, 10, 11, 12));
+        assertNull(snapshot(indicators).rsi());
+
+        // 변화량 +1, +1, -1 → 평균 이득 2/3, 평균 손실 1/3 → RS 2
+        indicators.offer(candle(4, 11));
+        assertEquals(100.0 - 100.0 / 3.0, snapshot(indicators).rsi(), DELTA);
+
+        // +2 → 이득 (2/3 * 2 + 2) / 3 = 10/9, 손실 (1/3 * 2) / 3 = 2/9 → RS 5 (최근 3개 단순 평균이면 RS 3)
+        indicators.offer(candle(5, 13));
+        assertEquals(100.0 - 100.0 / 6.0, snapshot(indicators).rsi(), DELTA);
+    }
+
+    @Test
+    @DisplayName("RSI 는 변화가 없으면 50, 하락이 없으면 100 이다")
+    void rsiHandlesZeroLoss() {
+        assertEquals(50.0, snapshot(seeded(candles(1, 10, 10, 10, 10))).rsi(), DELTA);
+        assertEquals(100.0, snapshot(seeded(candles(1, 10, 11, 12, 13))).rsi(), DELTA);
+    }
+
+    @Test
+    @DisplayName("MACD 시그널은 느린 EMA 가 시작된 뒤 MACD 값 N개의 평균으로 시작한다")
+    void macdSignalStartsAfterSlowEma() {
+        Indicators indicators = seeded(candles(1, 10, 12));
+        assertNull(snapshot(indicators).macd());
+
+        // 빠른 EMA(2) 13, 느린 EMA(3) 12
+        indicators.offer(candle(3, 14));
+        IndicatorDto third = snapshot(indicators);
+        assertEquals(1.0, third.macd(), DELTA);
+        assertNull(third.macdSignal());
+        assertNull(third.macdHistogram());
+
+        // 빠른 EMA 13, 느린 EMA 12.5 → 시그널 = (1 + 0.5) / 2
+        indicators.offer(candle(4, 13));
+        IndicatorDto fourth = snapshot(indicators);
+        assertEquals(0.5, fourth.macd(), DELTA);
+        assertEquals(0.75, fourth.macdSignal(), DELTA);
+        assertEquals(-0.25, fourth.macdHistogram(), DELTA);
+
+        // 빠른 EMA 13 + 2/3 * 2, 느린 EMA 12.5 + 0.5 * 2.5
+        indicators.offer(candle(5, 15));
+        IndicatorDto fifth = snapshot(indicators);
+        double macd = (13.0 + 4.0 / 3.0) - 13.75;
+        double signal = 0.75 + 2.0 / 3.0 * (macd - 0.75);
+        assertEquals(macd, fifth.macd(), DELTA);
+        assertEquals(signal, fifth.macdSignal(), DELTA);
+        assertEquals(macd - signal, fifth.macdHistogram(), DELTA);
+    }
+
+    @Test
+    @DisplayName("EMA 는 첫 N개 단순 평균으로 시작한다")
+    void emaStartsFromSimpleAverage() {
+        Indicators indicators = seeded(candles(1, 10, 12));
+        assertNull(snapshot(indicators).ema());
+
+        indicators.offer(candle(3, 14));
+        assertEquals(12.0, snapshot(indicators).ema(), DELTA);
+
+        indicators.offer(candle(4, 16));
+        assertEquals(14.0, snapshot(indicators).ema(), DELTA);
+    }
+
+    @Test
+    @DisplayName("볼린저 밴드는 모표준편차를 사용한다")
+    void bollingerUsesPopulationStdDev() {
+        // 평균 5, 모표준편차 2 (표본표준편차면 약 2.138)
+        IndicatorDto dto = snapshot(seeded(candles(1, 2, 4, 4, 4, 5, 5, 7, 9)));
+
+        assertEquals(5.0, dto.sma(), DELTA);
+        assertEquals(5.0, dto.bollingerMiddle(), DELTA);
+        assertEquals(9.0, dto.bollingerUpper(), DELTA);
+        assertEquals(1.0, dto.bollingerLower(), DELTA);
+    }
+
+    @Test
+    @DisplayName("볼린저 밴드는 창이 밀려도 최근 N개만 반영한다")
+    void bollingerSlidesWindow() {
+        Indicators indicators = seeded(candles(1, 100, 2, 4, 4, 4, 5, 5, 7));
+        indicators.offer(candle(9, 9));
+
+        IndicatorDto dto = snapshot(indicators);
+        assertEquals(5.0, dto.bollingerMiddle(), DELTA);
+        assertEquals(9.0, dto.bollingerUpper(), DELTA);
+    }
+
+    @Test
+    @DisplayName("마지막 반영 봉보다 새롭지 않은 봉은 무시한다")
+    void ignoresCandlesNotNewerThanLast() {
+        Indicators indicators = seeded(candles(1, 10, 11, 12, 13, 14));
+
+        indicators.offer(candle(5, 99));
+        indicators.offer(candle(3, 99));
+        IndicatorDto afterDuplicates = snapshot(indicators);
+        assertEquals(5, afterDuplicates.candleCount());
+        assertEquals(14L, afterDuplicates.close());
+        assertEquals(day(5), afterDuplicates.dateTime());
+
+        indicators.offer(candle(6, 15));
+        IndicatorDto afterNewer = snapshot(indicators);
+        assertEquals(6, afterNewer.candleCount());
+        assertEquals(15L, afterNewer.close());
+    }
+
+    @Test
+    @DisplayName("종가가 없는 봉은 무시한다")
+    void ignoresCandlesWithoutClose() {
+        Indicators indicators = seeded(candles(1, 10, 11));
+        indicators.offer(new CandleDto(TICKER, day(3), null, null, null, null, 0L));
+
+        IndicatorDto dto = snapshot(indicators);
+        assertEquals(2, dto.candleCount());
+        assertEquals(day(2), dto.dateTime());
+    }
+
+    @Test
+    @DisplayName("초기 계산 중 들어온 봉은 과거 봉 뒤에 한 번만 반영한다")
+    void appliesPendingCandlesOnce() {
+        Indicators indicators = new Indicators(properties);
+        // 순서가 뒤바뀌고, DB 이력과 겹치는 봉이 섞여 들어온 상태
+        indicators.offer(candle(7, 17));
+        indicators.offer(candle(5, 14));
+        indicators.offer(candle(6, 16));
+        assertFalse(indicators.isSeeded());
+        assertEquals(0, snapshot(indicators).candleCount());
+
+        indicators.seed(candles(1, 10, 11, 12, 13, 14));
+        assertTrue(indicators.isSeeded());
+
+        Indicators expected = seeded(candles(1, 10, 11, 12, 13, 14, 16, 17));
+        assertEquals(snapshot(expected), snapshot(indicators));
+
+        // 보류 봉을 비웠으므로 이후 봉은 바로 반영되고 이전 봉이 다시 반영되지 않는다
+        indicators.offer(candle(8, 18));
+        expected.offer(candle(8, 18));
+        assertEquals(snapshot(expected), snapshot(indicators));
+        assertEquals(8, snapshot(indicators).candleCount());
+    }
+
+    @Test
+    @DisplayName("계산에 필요한 봉 수가 부족한 지표는 null 이다")
+    void returnsNullUntilEnoughCandles() {
+        IndicatorDto dto = snapshot(seeded(candles(1, 10, 11)));
+
+        assertNotNull(dto.close());
+        assertNull(dto.sma());
+        assertNull(dto.ema());
+        assertNull(dto.rsi());
+        assertNull(dto.macd());
+        assertNull(dto.bollingerUpper());
+        assertNull(dto.bollingerMiddle());
+        assertNull(dto.bollingerLower());
+    }
+
+    private Indicators seeded(List<CandleDto> history) {
+        Indicators indicators = new Indicators(properties);
+        indicators.seed(history);
+        return indicators;
+    }
+
+    private static IndicatorDto snapshot(Indicators indicators) {
+        return indicators.snapshot(TICKER, "d");
+    }
+
+    /** {@code fromDay}일부터 하루 간격의 일봉 */
+    private static List<CandleDto> candles(int fromDay, long... closes) {
+        List<CandleDto> candles = new ArrayList<>();
+        for (int i = 0; i < closes.length; i++) {
+            candles.add(candle(fromDay + i, closes[i]));
+        }
+        return candles;
+    }
+
+    private static CandleDto candle(int day, long close) {
+        return new CandleDto(TICKER, day(day), close, close, close, close, 100L);
+    }
+
+    private static String day(int day) {
+        return String.format("2025-06-%02d", day);
+    }
+}
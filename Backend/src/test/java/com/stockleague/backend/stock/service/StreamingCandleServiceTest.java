@@ -0,0 +1,280 @@
+package com.stockleague.backend.stock.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.stockleague.backend.infra.properties.CandleStreamingProperties;
+import com.stockleague.backend.infra.redis.StockPriceRedisService;
+import com.stockleague.backend.infra.webSocket.MarketDataWebSocketPublisher;
+import com.stockleague.backend.stock.cache.CandleReadCache;
+import com.stockleague.backend.stock.domain.Stock;
+import com.stockleague.backend.stock.domain.StockMinutePrice;
+import com.stockleague.backend.stock.dto.response.stock.StockPriceDto;
+import com.stockleague.backend.stock.repository.CandleBulkWriter;
+import com.stockleague.backend.stock.repository.StockRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class StreamingCandleServiceTest {
+
+    private static final String TICKER = "005930";
+
+    /** 마감 판단은 현재 시각 기준이므로, 충분히 지난 정시를 기준으로 틱을 만듦 */
+    private final LocalDateTime base = LocalDateTime.now(ZoneId.of("Asia/Seoul"))
+            .truncatedTo(ChronoUnit.HOURS).minusHours(2);
+
+    private CandleStreamingProperties properties;
+    private StockPriceRedisService redisService;
+    private StockRepository stockRepository;
+    private CandleBulkWriter candleBulkWriter;
+    private CandleReadCache candleReadCache;
+    private StreamingCandleService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CandleStreamingProperties();
+        properties.setIntervals(List.of(1, 5));
+        properties.setCloseGrace(Duration.ofSeconds(2));
+
+        redisService = mock(StockPriceRedisService.class);
+        stockRepository = mock(StockRepository.class);
+        candleBulkWriter = mock(CandleBulkWriter.class);
+        candleReadCache = mock(CandleReadCache.class);
+
+        Stock stock = Stock.builder().id(1L).stockTicker(TICKER).stockName("삼성전자").build();
+        when(redisService.findBetween(anyString(), any(), any())).thenReturn(List.of());
+        when(stockRepository.findAll()).thenReturn(List.of(stock));
+        when(stockRepository.getReferenceById(1L)).thenReturn(stock);
+        when(candleBulkWriter.insertMinuteCandles(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        service = new StreamingCandleService(properties, redisService, stockRepository, candleBulkWriter,
+                candleReadCache, mock(IndicatorService.class), mock(MarketDataWebSocketPublisher.class));
+    }
+
+    @Test
+    @DisplayName("구간 시작 시각은 정시 기준으로 정렬된다")
+    void alignsBucketStartToTheHour() {
+        LocalDateTime time = LocalDateTime.of(2025, 6, 25, 10, 7, 42, 500_000_000);
+
+        assertEquals(LocalDateTime.of(2025, 6, 25, 10, 7), StreamingCandleService.bucketStart(time, 1));
+        assertEquals(LocalDateTime.of(2025, 6, 25, 10, 6), StreamingCandleService.bucketStart(time, 3));
+        assertEquals(LocalDateTime.of(2025, 6, 25, 10, 5), StreamingCandleService.bucketStart(time, 5));
+        assertEquals(LocalDateTime.of(2025, 6, 25, 10, 0), StreamingCandleService.bucketStart(time, 15));
+        assertEquals(LocalDateTime.of(2025, 6, 25, 10, 0), StreamingCandleService.bucketStart(time, 60));
+        assertEquals(LocalDateTime.of(2025, 6, 25, 10, 30),
+                StreamingCandleService.bucketStart(LocalDateTime.of(2025, 6, 25, 10, 30), 30));
+    }
+
+    @Test
+    @DisplayName("1분봉 거래량은 직전 분 마지막 누적 거래량과의 차이이고, 상위 간격은 1분봉을 합성한다")
+    void buildsMinuteAndRolledUpBars() {
+        service.onTick(tick(base.plusSeconds(10), 100, 1_000));
+        service.onTick(tick(base.plusSeconds(40), 105, 1_200));
+        service.onTick(tick(base.plusSeconds(65), 98, 1_500));
+        service.onTick(tick(base.plusSeconds(110), 101, 1_600));
+        service.onTick(tick(base.plusMinutes(5), 110, 1_700));
+
+        service.closeAndFlush();
+
+        assertEquals(List.of(
+                bar(1, base, 100, 105, 100, 105, 200),
+                bar(1, base.plusMinutes(1), 98, 101, 98, 101, 400),
+                bar(1, base.plusMinutes(5), 110, 110, 110, 110, 100),
+                bar(5, base, 100, 105, 98, 101, 600),
+                bar(5, base.plusMinutes(5), 110, 110, 110, 110, 100)
+        ), savedBars());
+    }
+
+    @Test
+    @DisplayName("누적 거래량이 줄면(일자 변경) 구간 첫 틱을 기준으로 거래량을 계산한다")
+    void resetsVolumeBaseWhenAccumulatedVolumeDrops() {
+        service.onTick(tick(base.plusSeconds(10), 100, 5_000));
+        service.onTick(tick(base.plusSeconds(20), 100, 5_300));
+        service.onTick(tick(base.plusSeconds(70), 100, 100));
+        service.onTick(tick(base.plusSeconds(80), 100, 150));
+
+        service.closeAndFlush();
+
+        List<String> minuteBars = savedBars().stream().filter(bar -> bar.startsWith("1@")).toList();
+        assertEquals(List.of(
+                bar(1, base, 100, 100, 100, 100, 300),
+                bar(1, base.plusMinutes(1), 100, 100, 100, 100, 50)
+        ), minuteBars);
+    }
+
+    @Test
+    @DisplayName("첫 틱에 Redis 의 현재 구간 틱으로 시드하고, 첫 실시간 틱의 거래량은 시드한 직전 분을 기준으로 한다")
+    void seedsFromRedisBeforeTheFirstTick() {
+        LocalDateTime liveTime = base.plusSeconds(100);
+        StockPriceDto live = tick(liveTime, 103, 1_350);
+        when(redisService.findBetween(TICKER, base, liveTime)).thenReturn(List.of(
+                tick(base.plusSeconds(80), 102, 1_300),
+                tick(base.plusSeconds(10), 100, 1_000),
+                tick(base.plusSeconds(50), 99, 1_100),
+                live
+        ));
+
+        service.onTick(live);
+        service.closeAndFlush();
+
+        verify(redisService, times(1)).findBetween(eq(TICKER), any(), any());
+        assertEquals(List.of(
+                bar(1, base, 100, 100, 99, 99, 100),
+                bar(1, base.plusMinutes(1), 102, 103, 102, 103, 250),
+                bar(5, base, 100, 103, 99, 103, 350)
+        ), savedBars());
+    }
+
+    @Test
+    @DisplayName("구간 종료 후 close-grace 가 지나야 봉을 닫는다")
+    void closesOnlyAfterCloseGrace() {
+        properties.setCloseGrace(Duration.ofHours(3));
+        service.onTick(tick(base.plusSeconds(10), 100, 1_000));
+        service.onTick(tick(base.plusSeconds(20), 101, 1_100));
+
+        service.closeAndFlush();
+        verify(candleBulkWriter, never()).insertMinuteCandles(anyList());
+        assertNotNull(service.getFormingCandle(TICKER, 1));
+
+        properties.setCloseGrace(Duration.ofSeconds(2));
+        service.closeAndFlush();
+
+        assertEquals(List.of(
+                bar(1, base, 100, 101, 100, 101, 100),
+                bar(5, base, 100, 101, 100, 101, 100)
+        ), savedBars());
+        assertNull(service.getFormingCandle(TICKER, 1));
+    }
+
+    @Test
+    @DisplayName("이미 닫힌 구간에 늦게 도착한 틱은 반영하지 않는다")
+    void dropsLateTicksForClosedMinutes() {
+        service.onTick(tick(base.plusSeconds(10), 100, 1_000));
+        service.onTick(tick(base.plusSeconds(70), 101, 1_100));
+        service.onTick(tick(base.plusSeconds(30), 90, 1_050));
+
+        service.closeAndFlush();
+
+        assertEquals(bar(1, base, 100, 100, 100, 100, 0), savedBars().get(0));
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 봉은 다음 flush 에서 새로 닫힌 봉과 함께 다시 저장한다")
+    void retriesFailedBatchOnNextFlush() {
+        when(candleBulkWriter.insertMinuteCandles(anyList()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        service.onTick(tick(base.plusSeconds(10), 100, 1_000));
+        service.onTick(tick(base.plusSeconds(70), 101, 1_100));
+        service.closeAndFlush();
+        verify(candleReadCache, never()).appendClosed(anyString(), any());
+
+        service.onTick(tick(base.plusMinutes(5), 102, 1_200));
+        service.closeAndFlush();
+
+        List<String> failed = List.of(
+                bar(1, base, 100, 100, 100, 100, 0),
+                bar(1, base.plusMinutes(1), 101, 101, 101, 101, 100),
+                bar(5, base, 100, 101, 100, 101, 100)
+        );
+        List<List<StockMinutePrice>> batches = savedBatches(2);
+        assertEquals(failed, describe(batches.get(0)));
+        assertEquals(List.of(
+                failed.get(0),
+                failed.get(1),
+                failed.get(2),
+                bar(1, base.plusMinutes(5), 102, 102, 102, 102, 100),
+                bar(5, base.plusMinutes(5), 102, 102, 102, 102, 100)
+        ), describe(batches.get(1)));
+        verify(candleReadCache, times(5)).appendClosed(anyString(), any());
+        assertEquals(Map.of(), service.drainUnpersisted());
+    }
+
+    @Test
+    @DisplayName("재시도를 소진한 봉은 대조 대상으로 남기고 더 이상 저장하지 않는다")
+    void recordsUnpersistedBarsAfterRetriesAreExhausted() {
+        when(candleBulkWriter.insertMinuteCandles(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        service.onTick(tick(base.plusSeconds(10), 100, 1_000));
+        service.onTick(tick(base.plusSeconds(70), 101, 1_100));
+        for (int i = 0; i < 6; i++) {
+            service.closeAndFlush();
+        }
+
+        verify(candleBulkWriter, times(5)).insertMinuteCandles(anyList());
+        assertEquals(Map.of(TICKER, Set.of(base, base.plusMinutes(1))), service.drainUnpersisted());
+        assertEquals(Map.of(), service.drainUnpersisted());
+    }
+
+    @Test
+    @DisplayName("DB에 없는 종목은 저장하지 않고, 종목 목록도 flush 마다 다시 읽지 않는다")
+    void skipsUnknownTickersWithoutReloadingEveryFlush() {
+        service.onTick(tick("999999", base.plusSeconds(10), 100, 1_000));
+        service.onTick(tick("999999", base.plusSeconds(70), 100, 1_100));
+        service.closeAndFlush();
+        service.onTick(tick("999999", base.plusSeconds(130), 100, 1_200));
+        service.closeAndFlush();
+
+        verify(stockRepository, times(1)).findAll();
+        assertEquals(List.of(), savedBars());
+    }
+
+    private List<String> savedBars() {
+        ArgumentCaptor<List<StockMinutePrice>> captor = listCaptor();
+        verify(candleBulkWriter, atLeast(0)).insertMinuteCandles(captor.capture());
+        return captor.getAllValues().stream().flatMap(batch -> describe(batch).stream()).toList();
+    }
+
+    private List<List<StockMinutePrice>> savedBatches(int count) {
+        ArgumentCaptor<List<StockMinutePrice>> captor = listCaptor();
+        verify(candleBulkWriter, times(count)).insertMinuteCandles(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<StockMinutePrice>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static List<String> describe(List<StockMinutePrice> batch) {
+        return batch.stream()
+                .map(c -> bar(c.getInterval(), c.getCandleTime(), c.getOpenPrice(), c.getHighPrice(),
+                        c.getLowPrice(), c.getClosePrice(), c.getVolume()))
+                .toList();
+    }
+
+    private static String bar(int interval, LocalDateTime time, long open, long high, long low, long close,
+                              long volume) {
+        return interval + "@" + time + " O" + open + " H" + high + " L" + low + " C" + close + " V" + volume;
+    }
+
+    private static StockPriceDto tick(LocalDateTime time, int price, long accumulatedVolume) {
+        return tick(TICKER, time, price, accumulatedVolume);
+    }
+
+    private static StockPriceDto tick(String ticker, LocalDateTime time, int price, long accumulatedVolume) {
+        return new StockPriceDto(ticker, time, price, price, price, price, price, 0, 0.0, 3,
+                accumulatedVolume, true);
+    }
+}